@@ -0,0 +1,55 @@
+package com.scoring.core.scoring.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Pool used to score categories concurrently when scoring.execution.parallel is enabled
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool categoryScoringPool(ScoringConfig scoringConfig) {
+        return new ForkJoinPool(Math.max(1, scoringConfig.getExecution().getParallelism()));
+    }
+
+    /**
+     * Pool that parses and scores the specs of batch requests
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService batchScoringExecutor(ScoringConfig scoringConfig) {
+        return Executors.newFixedThreadPool(Math.max(1, scoringConfig.getBatch().getConcurrency()));
+    }
+
+    /**
+     * Threads that read batch requests and write their results, one per running batch
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService batchRequestExecutor() {
+        return Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Pool that runs scoring jobs; its queue is bounded and rejects submissions once full
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService scoringJobExecutor(ScoringConfig scoringConfig) {
+        ScoringConfig.JobSettings settings = scoringConfig.getJobs();
+        int threads = Math.max(1, settings.getConcurrency());
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -28,6 +28,51 @@ public class ScoringConfig {
      */
     private ValidationRules validation;
 
+    /**
+     * How category scoring is executed
+     */
+    private ExecutionSettings execution = new ExecutionSettings();
+
+    /**
+     * Caching of parsed specs and final scores
+     */
+    private CacheSettings cache = new CacheSettings();
+
+    /**
+     * Limits on submitted specs
+     */
+    private InputSettings input = new InputSettings();
+
+    /**
+     * Fetching of remote specs
+     */
+    private RemoteSettings remote = new RemoteSettings();
+
+    /**
+     * Resolution of $refs into other documents
+     */
+    private RefSettings refs = new RefSettings();
+
+    /**
+     * Complexity limits checked on raw specs before they are parsed
+     */
+    private GuardSettings guard = new GuardSettings();
+
+    /**
+     * Limits on the issues returned in a report
+     */
+    private ReportSettings report = new ReportSettings();
+
+    /**
+     * How batch requests are processed
+     */
+    private BatchSettings batch = new BatchSettings();
+
+    /**
+     * How asynchronous scoring jobs are queued and retained
+     */
+    private JobSettings jobs = new JobSettings();
+
     @Setter
     @Getter
     public static class CategoryWeights {
@@ -60,6 +105,116 @@ public class ScoringConfig {
         private int veryPoor;
     }
 
+    /**
+     * Category scoring execution settings
+     */
+    @Setter
+    @Getter
+    public static class ExecutionSettings {
+        private boolean parallel = false;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Cache settings
+     */
+    @Setter
+    @Getter
+    public static class CacheSettings {
+        private int parseCacheMaxEntries = 64;
+        private int scoreCacheMaxEntries = 256;
+        private String scoreCacheDirectory;
+        private long scoreCacheMaxBytes = 256L * 1024 * 1024;
+    }
+
+    /**
+     * Input settings
+     */
+    @Setter
+    @Getter
+    public static class InputSettings {
+        private long maxBodyBytes = 64L * 1024 * 1024;
+        private int maxInflationRatio = 100;
+        private long mappedFileThresholdBytes = 1024 * 1024;
+        private boolean pruneUnscoredSections = true;
+    }
+
+    /**
+     * Remote fetch settings
+     */
+    @Setter
+    @Getter
+    public static class RemoteSettings {
+        private long connectTimeoutMillis = 5000;
+        private long requestTimeoutMillis = 30000;
+        private int maxConnections = 8;
+        private int cacheMaxEntries = 64;
+    }
+
+    /**
+     * External $ref resolution settings; only specs loaded from a location resolve external refs, to files in the
+     * spec's directory and to http(s) documents on the spec's own host or an allowed host
+     */
+    @Setter
+    @Getter
+    public static class RefSettings {
+        private int parallelism = 8;
+        private int sharedCacheMaxEntries = 256;
+        private int maxDocuments = 64;
+        private List<String> allowedHosts = List.of();
+    }
+
+    /**
+     * Complexity limits (0 means unlimited); specs over a max-* limit are rejected, specs over a summary-only-* limit
+     * are scored without issues and strengths
+     */
+    @Setter
+    @Getter
+    public static class GuardSettings {
+        private int maxDepth = 128;
+        private long maxKeys = 5_000_000;
+        private long maxPaths = 50_000;
+        private long summaryOnlyBytes = 32L * 1024 * 1024;
+        private long summaryOnlyKeys = 1_000_000;
+        private long summaryOnlyPaths = 10_000;
+    }
+
+    /**
+     * Report size limits (0 means unlimited); issues over a limit are folded into one aggregated issue per rule
+     */
+    @Setter
+    @Getter
+    public static class ReportSettings {
+        private int maxIssuesPerCategory = 0;
+        private int maxIssuesPerRule = 0;
+        private int aggregateSampleLocations = 5;
+    }
+
+    /**
+     * Batch scoring settings
+     */
+    @Setter
+    @Getter
+    public static class BatchSettings {
+        private int concurrency = Runtime.getRuntime().availableProcessors();
+        private int maxInFlight = 4 * Runtime.getRuntime().availableProcessors();
+        private long maxRequestBytes = 256L * 1024 * 1024;
+        private int maxEntries = 10000;
+        private long responseTimeoutMillis = 30 * 60 * 1000;
+    }
+
+    /**
+     * Scoring job settings
+     */
+    @Setter
+    @Getter
+    public static class JobSettings {
+        private int concurrency = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 64;
+        private int maxRetainedJobs = 1024;
+        private long eventTimeoutMillis = 5 * 60 * 1000;
+    }
+
     /**
      * Validation rules configuration
      */
@@ -155,6 +310,7 @@ public class ScoringConfig {
         private boolean requireTags;
         private boolean requireComponentReuse;
         private boolean requireOperationIds;
+        private boolean requireValidReferences;
         private int minimumReusableComponents;
     }
 
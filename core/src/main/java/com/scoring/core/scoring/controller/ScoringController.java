@@ -1,18 +1,63 @@
 package com.scoring.core.scoring.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.BatchSpec;
 import com.scoring.core.scoring.model.ErrorResponse;
+import com.scoring.core.scoring.model.JobStatus;
+import com.scoring.core.scoring.model.ScoringMode;
 import com.scoring.core.scoring.model.SpecScore;
+import com.scoring.core.scoring.model.exception.InvalidSnapshotException;
 import com.scoring.core.scoring.model.exception.OpenAPILoadException;
+import com.scoring.core.scoring.model.exception.OpenAPIReadException;
+import com.scoring.core.scoring.model.exception.ScoringQueueFullException;
+import com.scoring.core.scoring.model.exception.SpecTooComplexException;
+import com.scoring.core.scoring.model.exception.SpecTooLargeException;
+import com.scoring.core.scoring.model.exception.UnsupportedContentEncodingException;
 import com.scoring.core.scoring.service.APIScoringService;
+import com.scoring.core.scoring.service.BatchScoringService;
+import com.scoring.core.scoring.service.ContentDecoding;
+import com.scoring.core.scoring.service.NdjsonBatchReader;
+import com.scoring.core.scoring.service.ParsedSpec;
 import com.scoring.core.scoring.service.SpecLoaderService;
+import com.scoring.core.scoring.service.SpecTree;
+import com.scoring.core.scoring.service.job.ScoringJob;
+import com.scoring.core.scoring.service.job.ScoringJobService;
 import io.swagger.v3.oas.models.OpenAPI;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 @RestController
 @RequiredArgsConstructor
@@ -25,34 +70,272 @@ public class ScoringController {
     @Autowired
     private final SpecLoaderService specLoaderService;
 
+    @Autowired
+    private final BatchScoringService batchScoringService;
+
+    @Autowired
+    private final ScoringJobService scoringJobService;
+
+    @Autowired
+    private final ScoringConfig scoringConfig;
+
+    @Autowired
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    private final ExecutorService batchRequestExecutor;
+
+    private static final String NDJSON = "application/x-ndjson";
+
     @PostMapping("/score-input")
-    public ResponseEntity<?> scoreInput(@RequestBody String raw) {
+    public ResponseEntity<SpecScore> scoreInput(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) throws IOException {
+        // The body is hashed as it arrives, so a cached score is returned without parsing it again
+        SpecScore score = apiScoringService.scoreStream(requestBody(request), summary ? ScoringMode.SUMMARY : ScoringMode.FULL);
+        return ResponseEntity.ok(score);
+    }
+
+    @PostMapping("/score-input/stream")
+    public ResponseEntity<StreamingResponseBody> scoreInputStream(HttpServletRequest request) throws IOException {
+        // Parse up front so an invalid spec still gets a regular error response
+        ParsedSpec parsed = specLoaderService.readStream(requestBody(request));
+        ScoringMode mode = parsed.summaryOnly() ? ScoringMode.SUMMARY : ScoringMode.FULL;
+        StreamingResponseBody body = out -> {
+            try {
+                apiScoringService.scoreStreaming(parsed.spec(), mode, ndjsonWriter(out));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    /**
+     * Parses a spec once and returns its compact binary snapshot for scoring again later without re-parsing
+     */
+    @PostMapping("/snapshot")
+    public ResponseEntity<byte[]> snapshot(HttpServletRequest request) throws IOException {
+        ParsedSpec parsed = specLoaderService.readStream(requestBody(request));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(specLoaderService.writeSnapshot(parsed.spec()));
+    }
+
+    @PostMapping(value = "/score-snapshot", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<SpecScore> scoreSnapshot(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) throws IOException {
+        OpenAPI spec = specLoaderService.readSnapshot(requestBody(request));
+        return ResponseEntity.ok(apiScoringService.score(spec, summary ? ScoringMode.SUMMARY : ScoringMode.FULL));
+    }
+
+    @PostMapping("/score-uri-or-local")
+    public ResponseEntity<SpecScore> scoreUriOrLocal(
+            @RequestBody String loc,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) {
+        ParsedSpec parsed = specLoaderService.loadSpec(loc);
+        // Specs over a summary-only complexity limit are scored without a report
+        ScoringMode mode = summary || parsed.summaryOnly() ? ScoringMode.SUMMARY : ScoringMode.FULL;
+        return ResponseEntity.ok(apiScoringService.score(parsed.spec(), mode));
+    }
+
+    @PostMapping(value = "/batch", consumes = NDJSON, produces = NDJSON)
+    public ResponseEntity<ResponseBodyEmitter> scoreBatchNdjson(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) throws IOException {
+        // Every entry is held to the size limit of a single spec body
+        NdjsonBatchReader specs = new NdjsonBatchReader(
+                requestBody(request),
+                objectMapper,
+                scoringConfig.getInput().getMaxBodyBytes(),
+                scoringConfig.getBatch().getMaxRequestBytes(),
+                scoringConfig.getBatch().getMaxEntries());
+        return streamBatch(specs, summary);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = NDJSON)
+    public ResponseEntity<ResponseBodyEmitter> scoreBatchMultipart(
+            MultipartHttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) {
+        // Every uploaded file is one spec, correlated by its file name or else its part name
+        List<MultipartFile> files = request.getMultiFileMap().values().stream()
+                .flatMap(List::stream)
+                .toList();
+        Iterator<BatchSpec> specs = files.stream()
+                .map(file -> readPart(
+                        file.getOriginalFilename() != null && !file.getOriginalFilename().isBlank() ?
+                                file.getOriginalFilename() :
+                                file.getName(),
+                        file))
+                .iterator();
+        return streamBatch(specs, summary);
+    }
+
+    @PostMapping("/jobs")
+    public ResponseEntity<JobStatus> submitJob(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) throws IOException {
+        // Read on the request thread, so queued jobs hold only bodies within the size and complexity limits
+        SpecTree body = specLoaderService.readBody(requestBody(request));
+        JobStatus status = scoringJobService.submit(body, summary ? ScoringMode.SUMMARY : ScoringMode.FULL);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/scoring/jobs/" + status.id()))
+                .body(status);
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<?> getJob(@PathVariable String id) {
+        ScoringJob job = scoringJobService.find(id);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponse("Job not found", "No scoring job with id " + id));
+        }
+        return ResponseEntity.ok(job.status());
+    }
+
+    @GetMapping("/jobs/{id}/events")
+    public ResponseEntity<?> streamJob(@PathVariable String id) {
+        ScoringJob job = scoringJobService.find(id);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponse("Job not found", "No scoring job with id " + id));
+        }
+
+        // Sends the current state right away and the final status once the job is done
+        SseEmitter emitter = new SseEmitter(scoringConfig.getJobs().getEventTimeoutMillis());
         try {
-            OpenAPI spec = specLoaderService.readJson(raw);
-            SpecScore score = apiScoringService.score(spec);
-            return ResponseEntity.ok(score);
-        } catch (OpenAPILoadException e) {
-            return ResponseEntity.badRequest()
-                    .body(new ErrorResponse("Invalid OpenAPI JSON or YAML", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(500)
-                    .body(new ErrorResponse("Internal Server Error", e.getMessage()));
+            emitter.send(SseEmitter.event().name("status").data(job.status()));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return ResponseEntity.ok(emitter);
         }
+        job.completion().whenComplete((status, failure) -> {
+            try {
+                emitter.send(SseEmitter.event().name("result").data(status));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok(emitter);
     }
 
-    @PostMapping("/score-uri-or-local")
-    public ResponseEntity<?> scoreUriOrLocal(@RequestBody String loc) {
+    @ExceptionHandler(InvalidSnapshotException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSnapshot(InvalidSnapshotException e) {
+        return error(HttpStatus.BAD_REQUEST, "Invalid spec snapshot", e);
+    }
+
+    @ExceptionHandler(OpenAPIReadException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSpec(OpenAPIReadException e) {
+        return error(HttpStatus.BAD_REQUEST, "Invalid OpenAPI JSON or YAML", e);
+    }
+
+    @ExceptionHandler(OpenAPILoadException.class)
+    public ResponseEntity<ErrorResponse> handleLoadFailure(OpenAPILoadException e) {
+        return error(HttpStatus.BAD_REQUEST, "Invalid URI or Local", e);
+    }
+
+    @ExceptionHandler(SpecTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleTooLarge(SpecTooLargeException e) {
+        return error(HttpStatus.PAYLOAD_TOO_LARGE, "Payload Too Large", e);
+    }
+
+    @ExceptionHandler(SpecTooComplexException.class)
+    public ResponseEntity<ErrorResponse> handleTooComplex(SpecTooComplexException e) {
+        return error(HttpStatus.UNPROCESSABLE_ENTITY, "Spec Too Complex", e);
+    }
+
+    @ExceptionHandler(UnsupportedContentEncodingException.class)
+    public ResponseEntity<ErrorResponse> handleUnsupportedEncoding(UnsupportedContentEncodingException e) {
+        return error(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported Media Type", e);
+    }
+
+    @ExceptionHandler(ScoringQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleQueueFull(ScoringQueueFullException e) {
+        return error(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", e);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleFailure(Exception e) throws Exception {
+        // Request binding and other MVC errors keep the status Spring gives them
+        if (e instanceof ServletException || e instanceof NestedRuntimeException) throw e;
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", e);
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String message, Exception e) {
+        // Always JSON, also for endpoints that otherwise produce NDJSON or binary snapshots
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse(message, e.getMessage()));
+    }
+
+    private InputStream requestBody(HttpServletRequest request) throws IOException {
+        // Compressed bodies are inflated while the parser reads them
+        return ContentDecoding.decode(
+                request.getInputStream(),
+                request.getHeader(HttpHeaders.CONTENT_ENCODING),
+                scoringConfig.getInput().getMaxInflationRatio());
+    }
+
+    private ResponseEntity<ResponseBodyEmitter> streamBatch(Iterator<BatchSpec> specs, boolean summary) {
+        ScoringMode mode = summary ? ScoringMode.SUMMARY : ScoringMode.FULL;
+        // Batch responses stream for as long as the batch takes, so only they get the long batch timeout
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(scoringConfig.getBatch().getResponseTimeoutMillis());
+        batchRequestExecutor.execute(() -> {
+            try {
+                batchScoringService.scoreAll(specs, mode, result -> sendLine(emitter, result));
+                emitter.complete();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.completeWithError(e);
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(emitter);
+    }
+
+    private void sendLine(ResponseBodyEmitter emitter, Object result) {
         try {
-            OpenAPI spec = specLoaderService.load(loc);
-            SpecScore score = apiScoringService.score(spec);
-            return ResponseEntity.ok(score);
-        } catch (OpenAPILoadException e) {
-            return ResponseEntity.badRequest()
-                    .body(new ErrorResponse("Invalid URI or Local", e.getMessage()));
-        } catch (Exception e) {
-            return ResponseEntity.status(500)
-                    .body(new ErrorResponse("Internal Server Error", e.getMessage()));
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            objectMapper.writeValue(line, result);
+            line.write('\n');
+            // Each send is flushed, so clients see results as soon as each spec is scored
+            emitter.send(line.toByteArray(), MediaType.parseMediaType(NDJSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
+    private <T> Consumer<T> ndjsonWriter(OutputStream out) {
+        return result -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(result));
+                out.write('\n');
+                // Flush per line so clients see results as soon as each spec is scored
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static BatchSpec readPart(String id, MultipartFile file) {
+        try {
+            return new BatchSpec(id, new String(file.getBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            return BatchSpec.failed(id, "Failed to read part: " + e.getMessage());
+        }
     }
 }
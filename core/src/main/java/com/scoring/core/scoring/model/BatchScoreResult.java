@@ -0,0 +1,21 @@
+package com.scoring.core.scoring.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of a batch response, correlated to its spec by id. Exactly one of score and error is set.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchScoreResult(
+        String id,
+        SpecScore score,
+        ErrorResponse error
+) {
+    public static BatchScoreResult success(String id, SpecScore score) {
+        return new BatchScoreResult(id, score, null);
+    }
+
+    public static BatchScoreResult failure(String id, String message, String details) {
+        return new BatchScoreResult(id, null, new ErrorResponse(message, details));
+    }
+}
@@ -0,0 +1,18 @@
+package com.scoring.core.scoring.model;
+
+/**
+ * One spec of a batch request; spec is null when the entry could not be read, with the reason in error if known
+ */
+public record BatchSpec(
+        String id,
+        String spec,
+        String error
+) {
+    public BatchSpec(String id, String spec) {
+        this(id, spec, null);
+    }
+
+    public static BatchSpec failed(String id, String error) {
+        return new BatchSpec(id, null, error);
+    }
+}
@@ -1,8 +1,15 @@
 package com.scoring.core.scoring.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.Builder;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 @Builder
 public record CategoryScore(
@@ -12,14 +19,209 @@ public record CategoryScore(
         List<Issue> issues,
         List<String> strengths
 ) {
-    @Builder
-    public record Issue(
-            String location,
-            String description,
-            Severity severity,
-            String suggestion
-    ) {
+    /**
+     * Returns the same scores without issues or strengths
+     */
+    public CategoryScore withoutDetails() {
+        return new CategoryScore(score, maxScore, categoryName, List.of(), List.of());
     }
+
+    /**
+     * Returns the same scores with the issues replaced
+     */
+    public CategoryScore withIssues(List<Issue> issues) {
+        return new CategoryScore(score, maxScore, categoryName, issues, strengths);
+    }
+
+    /**
+     * A reported problem. Issues created from an {@link IssueRule} only hold the rule and its arguments
+     * and format their texts when read; issues created with the builder hold their texts directly.
+     * Aggregated issues stand in for issues dropped by the report limits and carry their count and a few
+     * sample locations. The JSON form keeps the fields of the original record; the added fields are only
+     * written when set.
+     */
+    @JsonPropertyOrder({"location", "description", "severity", "suggestion", "ruleId", "occurrences", "sampleLocations"})
+    public static final class Issue {
+        private final IssueRule rule;
+        private final Severity severity;
+        private final Object[] arguments;
+        private final String[] texts;
+        private final Integer occurrences;
+        private final List<String> sampleLocations;
+
+        private Issue(
+                IssueRule rule,
+                Severity severity,
+                Object[] arguments,
+                String[] texts,
+                Integer occurrences,
+                List<String> sampleLocations
+        ) {
+            this.rule = rule;
+            this.severity = severity;
+            this.arguments = arguments;
+            this.texts = texts;
+            this.occurrences = occurrences;
+            this.sampleLocations = sampleLocations;
+        }
+
+        public static Issue of(IssueRule rule, Object... arguments) {
+            return new Issue(rule, rule.getSeverity(), arguments, null, null, null);
+        }
+
+        /**
+         * An issue summarising {@code occurrences} issues of the same rule that were left out of the report
+         */
+        public static Issue aggregate(
+                IssueRule rule,
+                Severity severity,
+                String suggestion,
+                int occurrences,
+                List<String> sampleLocations
+        ) {
+            String location = sampleLocations.isEmpty() ? null : sampleLocations.get(0);
+            String description = rule != null ?
+                    String.format("%d more issues of type %s", occurrences, rule) :
+                    String.format("%d more issues", occurrences);
+            return new Issue(
+                    rule,
+                    severity,
+                    null,
+                    new String[]{location, description, suggestion},
+                    occurrences,
+                    List.copyOf(sampleLocations));
+        }
+
+        public static IssueBuilder builder() {
+            return new IssueBuilder();
+        }
+
+        @JsonCreator
+        static Issue fromJson(
+                @JsonProperty("location") String location,
+                @JsonProperty("description") String description,
+                @JsonProperty("severity") Severity severity,
+                @JsonProperty("suggestion") String suggestion,
+                @JsonProperty("ruleId") IssueRule rule,
+                @JsonProperty("occurrences") Integer occurrences,
+                @JsonProperty("sampleLocations") List<String> sampleLocations
+        ) {
+            return new Issue(
+                    rule,
+                    severity,
+                    null,
+                    new String[]{location, description, suggestion},
+                    occurrences,
+                    sampleLocations);
+        }
+
+        @JsonProperty
+        public String location() {
+            return texts != null ? texts[0] : rule.renderLocation(arguments);
+        }
+
+        @JsonProperty
+        public String description() {
+            return texts != null ? texts[1] : rule.renderDescription(arguments);
+        }
+
+        @JsonProperty
+        public Severity severity() {
+            return severity;
+        }
+
+        @JsonProperty
+        public String suggestion() {
+            return texts != null ? texts[2] : rule.renderSuggestion(arguments);
+        }
+
+        @JsonProperty
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public IssueRule ruleId() {
+            return rule;
+        }
+
+        @JsonProperty
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public Integer occurrences() {
+            return occurrences;
+        }
+
+        @JsonProperty
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        public List<String> sampleLocations() {
+            return sampleLocations;
+        }
+
+        @JsonIgnore
+        public boolean isAggregated() {
+            return occurrences != null;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Issue issue)) return false;
+            if (texts == null && issue.texts == null) {
+                return rule == issue.rule && severity == issue.severity && Arrays.equals(arguments, issue.arguments);
+            }
+            return rule == issue.rule &&
+                    severity == issue.severity &&
+                    Objects.equals(location(), issue.location()) &&
+                    Objects.equals(description(), issue.description()) &&
+                    Objects.equals(suggestion(), issue.suggestion()) &&
+                    Objects.equals(occurrences, issue.occurrences) &&
+                    Objects.equals(sampleLocations, issue.sampleLocations);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rule, severity, location());
+        }
+
+        @Override
+        public String toString() {
+            return "Issue[location=" + location() +
+                    ", description=" + description() +
+                    ", severity=" + severity +
+                    ", suggestion=" + suggestion() + "]";
+        }
+
+        public static final class IssueBuilder {
+            private String location;
+            private String description;
+            private Severity severity;
+            private String suggestion;
+
+            private IssueBuilder() {
+            }
+
+            public IssueBuilder location(String location) {
+                this.location = location;
+                return this;
+            }
+
+            public IssueBuilder description(String description) {
+                this.description = description;
+                return this;
+            }
+
+            public IssueBuilder severity(Severity severity) {
+                this.severity = severity;
+                return this;
+            }
+
+            public IssueBuilder suggestion(String suggestion) {
+                this.suggestion = suggestion;
+                return this;
+            }
+
+            public Issue build() {
+                return new Issue(null, severity, null, new String[]{location, description, suggestion}, null, null);
+            }
+        }
+    }
+
     public enum Severity {
         LOW,
         MEDIUM,
@@ -1,17 +1,26 @@
 package com.scoring.core.scoring.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Getter
 @Setter
 public class CategoryScoreData {
     int points = 0;
+    // Issues and strengths are only collected for full reports
+    boolean detailed = true;
     List<CategoryScore.Issue> issues = new ArrayList<>();
     List<String> strengths = new ArrayList<>();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    Supplier<List<CategoryScore.Issue>> issueLists = ArrayList::new;
 
     public CategoryScore buildScore(int maxPoints, String name) {
         return CategoryScore.builder()
@@ -22,4 +31,52 @@ public class CategoryScoreData {
                 .strengths(this.getStrengths())
                 .build();
     }
+
+    /**
+     * Collects the issues, including those kept apart in {@link #newIssueList()}, in lists from the given factory,
+     * e.g. lists that cap the issues as they are added
+     */
+    public void collectIssuesIn(Supplier<List<CategoryScore.Issue>> issueLists) {
+        this.issueLists = issueLists;
+        issues = issueLists.get();
+    }
+
+    /**
+     * Hands every issue to the sink as soon as it is added instead of keeping it in the report
+     */
+    public void streamIssuesTo(Consumer<CategoryScore.Issue> sink) {
+        if (sink != null) issues = new ForwardingIssueList(sink);
+    }
+
+    /**
+     * A list for issues collected apart from the report, to be added to it later.
+     * While streaming this is the forwarding list itself, so those issues are not held back either.
+     */
+    public List<CategoryScore.Issue> newIssueList() {
+        return issues instanceof ForwardingIssueList ? issues : issueLists.get();
+    }
+
+    private static final class ForwardingIssueList extends AbstractList<CategoryScore.Issue> {
+        private final Consumer<CategoryScore.Issue> sink;
+
+        ForwardingIssueList(Consumer<CategoryScore.Issue> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public boolean add(CategoryScore.Issue issue) {
+            sink.accept(issue);
+            return true;
+        }
+
+        @Override
+        public CategoryScore.Issue get(int index) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+    }
 }
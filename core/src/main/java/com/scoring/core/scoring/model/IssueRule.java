@@ -0,0 +1,239 @@
+package com.scoring.core.scoring.model;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Templates for issues that can be reported once per spec element.
+ * Issues created from a rule only keep the rule and its arguments; the texts are formatted when they are read,
+ * which normally happens once while the score is serialised. Collection arguments are rendered as a comma
+ * separated list.
+ */
+public enum IssueRule {
+    // Schema & Types
+    SCHEMA_MISSING_TYPE(
+            CategoryScore.Severity.LOW,
+            "#/components/schemas/%1$s",
+            "Missing data type for schema (still infered as object)",
+            "Define an 'object' data type for the schema"),
+    SCHEMA_PROPERTY_MISSING_TYPE(
+            CategoryScore.Severity.HIGH,
+            "#/components/schemas/%1$s/properties/%2$s",
+            "Property '%2$s' in schema '%1$s' has no defined data type or reference",
+            "Define a proper data type or reference for the property"),
+    SCHEMA_PROPERTY_INVALID_TYPE(
+            CategoryScore.Severity.MEDIUM,
+            "#/components/schemas/%1$s/properties/%2$s",
+            "Property '%2$s' in schema '%1$s' has an invalid data type: %3$s",
+            "Use one of the required data types: %4$s",
+            "Use one of the required data types"),
+    SCHEMA_REQUEST_BODY_MISSING(
+            CategoryScore.Severity.HIGH,
+            "#/paths/%1$s/operations/%2$s/requestBody/%3$s",
+            "Missing schema definition",
+            "Define a proper schema for the request body"),
+    SCHEMA_REQUEST_BODY_GENERIC(
+            CategoryScore.Severity.MEDIUM,
+            "#/paths/%1$s/operations/%2$s/requestBody/%3$s",
+            "Generic object schema without properties",
+            "Define specific properties for the object schema or use a $ref to a component schema"),
+    SCHEMA_RESPONSE_BODY_MISSING(
+            CategoryScore.Severity.HIGH,
+            "#/paths/%1$s/operations/%2$s/responses/%3$s/%4$s",
+            "Missing schema definition",
+            "Define a proper schema for the response body"),
+    SCHEMA_RESPONSE_BODY_GENERIC(
+            CategoryScore.Severity.MEDIUM,
+            "#/paths/%1$s/operations/%2$s/responses/%3$s/%4$s",
+            "Generic object schema without properties",
+            "Define specific properties for the object schema or use a $ref to a component schema"),
+
+    // Descriptions & Documentation
+    DESCRIPTION_OPERATION_MISSING(
+            CategoryScore.Severity.MEDIUM,
+            "#/paths/%1$s/operations/%2$s",
+            "Operation '%2$s' on path '%1$s' lacks description",
+            "Add a description or summary explaining what this operation does"),
+    DESCRIPTION_PARAMETER_MISSING(
+            CategoryScore.Severity.LOW,
+            "#/paths/%1$s/operations/%2$s/parameters/%3$s",
+            "Parameter '%3$s' in operation '%2$s' on path '%1$s' lacks description",
+            "Add a description explaining the purpose and expected format of parameter '%3$s'",
+            "Add a description explaining the purpose and expected format of each parameter"),
+    DESCRIPTION_REQUEST_BODY_MISSING(
+            CategoryScore.Severity.LOW,
+            "#/paths/%1$s/operations/%2$s/requestBody",
+            "Request body in operation '%2$s' on path '%1$s' lacks description",
+            "Add a description explaining the expected request body structure and purpose"),
+    DESCRIPTION_RESPONSE_MISSING(
+            CategoryScore.Severity.LOW,
+            "#/paths/%1$s/operations/%2$s/responses/%3$s",
+            "Response '%3$s' lacks description",
+            "Add a description explaining what this response means and when it occurs"),
+    DESCRIPTION_SCHEMA_MISSING(
+            CategoryScore.Severity.LOW,
+            "#/components/schemas/%1$s",
+            "Schema '%1$s' lacks description",
+            "Add a description explaining the purpose and structure of this schema"),
+
+    // Paths & Operations
+    PATHS_INCONSISTENT_NAMING(
+            CategoryScore.Severity.LOW,
+            "#/paths/%1$s",
+            "Path uses inconsistent naming convention",
+            "Use consistent naming convention across all paths (detected dominant pattern: %2$s)",
+            "Use consistent naming convention across all paths"),
+    PATHS_POST_ON_ITEM(
+            CategoryScore.Severity.LOW,
+            "#/paths/%1$s",
+            "POST operation found on a path with parameters, which may not be suitable for resource creation",
+            "Consider using POST on a base resource path without parameters"),
+    PATHS_MODIFY_ON_COLLECTION(
+            CategoryScore.Severity.LOW,
+            "#/paths/%1$s",
+            "PUT, PATCH, or DELETE operation found on a path without parameters, which may not be suitable for resource management",
+            "Consider using these methods on a base resource path with parameters"),
+    PATHS_OVERLAP(
+            CategoryScore.Severity.MEDIUM,
+            "#/paths/%1$s - #/paths/%2$s",
+            "Path potentially overlaps with %2$s",
+            "Review path structure to ensure no ambiguous routing"),
+    PATHS_OVERLAPPING_PAIR(
+            CategoryScore.Severity.MEDIUM,
+            "#/paths/%1$s <-> %2$s",
+            "Path overlaps with another path, which may cause routing issues",
+            "Consider redesigning paths to avoid overlaps"),
+    PATHS_NEAR_DUPLICATE(
+            CategoryScore.Severity.LOW,
+            "#/paths/%1$s",
+            "Path is nearly identical to %2$s (%3$.0f%% similar)",
+            "Merge near-duplicate paths or give them clearly distinct names"),
+
+    // Response Codes
+    RESPONSE_MISSING_SUCCESS_CODE(
+            CategoryScore.Severity.MEDIUM,
+            "#/%1$s/%2$s/responses",
+            "Operation missing success (2xx) response code",
+            "Define appropriate success (2xx) response code"),
+    RESPONSE_MISSING_ERROR_CODES(
+            CategoryScore.Severity.MEDIUM,
+            "#/%1$s/%2$s/responses",
+            "Operation missing required error (4xx/5xx) response codes: %3$s",
+            "Define appropriate error (4xx/5xx) response codes"),
+    RESPONSE_MISSING_DEFAULT_CODE(
+            CategoryScore.Severity.MEDIUM,
+            "#/%1$s/%2$s/responses",
+            "Operation missing required default response code",
+            "Define a default response code for unexpected cases"),
+    RESPONSE_NO_CODES(
+            CategoryScore.Severity.HIGH,
+            "#/%1$s/%2$s/responses",
+            "Operation has no response codes defined",
+            "Define response codes including success (2xx) and error (4xx/5xx) codes"),
+
+    // Examples & Samples
+    EXAMPLE_REQUEST_MISSING(
+            CategoryScore.Severity.MEDIUM,
+            "#/paths/%1$s/operations/%2$s/requestBody/%3$s",
+            "Request body missing examples for content type: %3$s",
+            "Add example or examples property to request body media type"),
+    EXAMPLE_RESPONSE_MISSING(
+            CategoryScore.Severity.MEDIUM,
+            "#/paths/%1$s/operations/%2$s/responses/%3$s/content/%4$s",
+            "Response (%3$s) missing examples for content type: %4$s",
+            "Add example or examples property to response media type"),
+
+    // Security
+    SECURITY_SCHEME_NOT_RECOMMENDED(
+            CategoryScore.Severity.MEDIUM,
+            "#/components.securitySchemes/%1$s",
+            "Security scheme '%1$s' is defined but not configured with the recommended type: %2$s",
+            "Ensure security scheme is properly configured"),
+    SECURITY_OPERATION_SCHEME_UNDEFINED(
+            CategoryScore.Severity.HIGH,
+            "#/%1$s/%2$s/security",
+            "Security scheme '%3$s' not defined in components",
+            "Define security scheme in components section"),
+    SECURITY_SCHEME_UNUSED(
+            CategoryScore.Severity.LOW,
+            "#/components.securitySchemes/%1$s",
+            "Security scheme '%1$s' defined but not used in any operation",
+            "Consider removing unused security scheme or applying it to operations"),
+    SECURITY_GLOBAL_SCHEME_UNDEFINED(
+            CategoryScore.Severity.HIGH,
+            "#/security/%1$s",
+            "Global security requirement '%1$s' not defined in components",
+            "Define security scheme in components section"),
+
+    // Best Practices
+    BEST_PRACTICE_UNTAGGED_OPERATION(
+            CategoryScore.Severity.LOW,
+            "#/paths/%1$s",
+            "Operation missing tags",
+            "Add appropriate tags to this operation for better organization"),
+    BEST_PRACTICE_MISSING_OPERATION_ID(
+            CategoryScore.Severity.LOW,
+            "#/paths/%1$s",
+            "Operation missing operationId",
+            "Add unique operationId for better tooling support"),
+    BEST_PRACTICE_DANGLING_REFERENCE(
+            CategoryScore.Severity.HIGH,
+            "%1$s",
+            "Reference '%2$s' does not point to an existing component",
+            "Define the referenced component or fix the reference");
+
+    private final CategoryScore.Severity severity;
+    private final String location;
+    private final String description;
+    private final String suggestion;
+    private final String genericSuggestion;
+
+    IssueRule(CategoryScore.Severity severity, String location, String description, String suggestion) {
+        this(severity, location, description, suggestion, suggestion);
+    }
+
+    IssueRule(CategoryScore.Severity severity, String location, String description, String suggestion,
+              String genericSuggestion) {
+        this.severity = severity;
+        this.location = location;
+        this.description = description;
+        this.suggestion = suggestion;
+        this.genericSuggestion = genericSuggestion;
+    }
+
+    public CategoryScore.Severity getSeverity() {
+        return severity;
+    }
+
+    /**
+     * The suggestion without issue arguments, for reporting many issues of this rule at once
+     */
+    public String getGenericSuggestion() {
+        return genericSuggestion;
+    }
+
+    String renderLocation(Object[] arguments) {
+        return render(location, arguments);
+    }
+
+    String renderDescription(Object[] arguments) {
+        return render(description, arguments);
+    }
+
+    String renderSuggestion(Object[] arguments) {
+        return render(suggestion, arguments);
+    }
+
+    private static String render(String template, Object[] arguments) {
+        if (template.indexOf('%') < 0) return template;
+
+        Object[] formatted = arguments;
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] instanceof Collection<?> values) {
+                if (formatted == arguments) formatted = arguments.clone();
+                formatted[i] = values.stream().map(String::valueOf).collect(Collectors.joining(", "));
+            }
+        }
+        return String.format(template, formatted);
+    }
+}
@@ -0,0 +1,21 @@
+package com.scoring.core.scoring.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * State of a scoring job; score is set once it succeeded and error once it failed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobStatus(
+        String id,
+        State state,
+        SpecScore score,
+        ErrorResponse error
+) {
+    public enum State {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+}
@@ -0,0 +1,35 @@
+package com.scoring.core.scoring.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of a streamed score: an issue as soon as it is found, each category once it is finished
+ * (without its issues) and finally the total score and grade
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ScoreStreamEvent(
+        Type type,
+        String category,
+        CategoryScore.Issue issue,
+        CategoryScore categoryScore,
+        Integer totalScore,
+        String grade
+) {
+    public static ScoreStreamEvent issue(String category, CategoryScore.Issue issue) {
+        return new ScoreStreamEvent(Type.ISSUE, category, issue, null, null, null);
+    }
+
+    public static ScoreStreamEvent category(String category, CategoryScore categoryScore) {
+        return new ScoreStreamEvent(Type.CATEGORY, category, null, categoryScore, null, null);
+    }
+
+    public static ScoreStreamEvent total(int totalScore, String grade) {
+        return new ScoreStreamEvent(Type.TOTAL, null, null, null, totalScore, grade);
+    }
+
+    public enum Type {
+        ISSUE,
+        CATEGORY,
+        TOTAL
+    }
+}
@@ -0,0 +1,10 @@
+package com.scoring.core.scoring.model;
+
+/**
+ * How much of the report a scoring run produces. SUMMARY only updates the counters behind the numeric
+ * scores and skips building issues and strengths, so it yields the same scores and grade as FULL.
+ */
+public enum ScoringMode {
+    FULL,
+    SUMMARY
+}
@@ -14,4 +14,19 @@ public record SpecScore(
         CategoryScore securityScore,
         CategoryScore bestPracticesScore
 ) {
+    /**
+     * Returns the same scores and grade without any issues or strengths, as produced by summary scoring
+     */
+    public SpecScore withoutDetails() {
+        return new SpecScore(
+                totalScore,
+                grade,
+                schemaScore.withoutDetails(),
+                descriptionScore.withoutDetails(),
+                pathsScore.withoutDetails(),
+                responseScore.withoutDetails(),
+                exampleScore.withoutDetails(),
+                securityScore.withoutDetails(),
+                bestPracticesScore.withoutDetails());
+    }
 }
@@ -14,8 +14,10 @@ public class BestPracticeData extends CategoryScoreData {
     private int passed = 0;
 
     private boolean usesTags = false;
+    private int untaggedOperationCount = 0;
     private List<String> untaggedOperations = new ArrayList<>();
 
     private boolean hasOperationIds = false;
+    private int operationsWithoutIdsCount = 0;
     private List<String> operationsWithoutIds = new ArrayList<>();
 }
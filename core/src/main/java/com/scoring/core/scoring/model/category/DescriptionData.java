@@ -1,6 +1,7 @@
 package com.scoring.core.scoring.model.category;
 
 import com.scoring.core.scoring.model.CategoryScoreData;
+import com.scoring.core.scoring.service.ComponentReferenceIndex;
 import io.swagger.v3.oas.models.OpenAPI;
 import lombok.Getter;
 import lombok.Setter;
@@ -23,4 +24,5 @@ public class DescriptionData extends CategoryScoreData {
     private int totalSchemas = 0;
     private int schemasWithDescriptions = 0;
     private OpenAPI spec;
+    private ComponentReferenceIndex references;
 }
@@ -11,4 +11,5 @@ import java.util.List;
 @Setter
 public class PathsData extends CategoryScoreData {
     private List<String> pathNames = new ArrayList<>();
+    private boolean redundantPathsPenalized = false;
 }
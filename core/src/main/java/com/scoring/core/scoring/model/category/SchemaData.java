@@ -1,6 +1,7 @@
 package com.scoring.core.scoring.model.category;
 
 import com.scoring.core.scoring.model.CategoryScoreData;
+import com.scoring.core.scoring.service.ComponentReferenceIndex;
 import io.swagger.v3.oas.models.OpenAPI;
 import lombok.Getter;
 import lombok.Setter;
@@ -11,4 +12,5 @@ public class SchemaData extends CategoryScoreData {
     private int schemaIssues;
     private int totalSchemas;
     OpenAPI spec;
+    ComponentReferenceIndex references;
 }
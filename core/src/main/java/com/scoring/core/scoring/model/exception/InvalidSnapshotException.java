@@ -0,0 +1,7 @@
+package com.scoring.core.scoring.model.exception;
+
+public class InvalidSnapshotException extends OpenAPIReadException {
+    public InvalidSnapshotException(String message) {
+        super(message);
+    }
+}
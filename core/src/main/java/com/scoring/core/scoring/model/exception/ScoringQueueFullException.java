@@ -0,0 +1,7 @@
+package com.scoring.core.scoring.model.exception;
+
+public class ScoringQueueFullException extends RuntimeException {
+    public ScoringQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.scoring.core.scoring.model.exception;
+
+public class SpecTooComplexException extends RuntimeException {
+    public SpecTooComplexException(String message) {
+        super(message);
+    }
+}
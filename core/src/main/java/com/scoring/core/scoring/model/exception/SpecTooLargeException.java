@@ -0,0 +1,7 @@
+package com.scoring.core.scoring.model.exception;
+
+public class SpecTooLargeException extends RuntimeException {
+    public SpecTooLargeException(String message) {
+        super(message);
+    }
+}
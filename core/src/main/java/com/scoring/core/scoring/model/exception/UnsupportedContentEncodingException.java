@@ -0,0 +1,7 @@
+package com.scoring.core.scoring.model.exception;
+
+public class UnsupportedContentEncodingException extends RuntimeException {
+    public UnsupportedContentEncodingException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +0,0 @@
-package com.scoring.core.scoring.model.helper;
-
-@FunctionalInterface
-public interface DuoConsumer<A, B> {
-    void accept(A a, B b);
-}
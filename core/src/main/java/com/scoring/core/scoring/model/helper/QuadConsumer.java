@@ -1,6 +0,0 @@
-package com.scoring.core.scoring.model.helper;
-
-@FunctionalInterface
-public interface QuadConsumer<A, B, C, D> {
-    void accept(A a, B b, C c, D d);
-}
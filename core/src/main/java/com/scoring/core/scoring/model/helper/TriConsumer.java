@@ -1,6 +0,0 @@
-package com.scoring.core.scoring.model.helper;
-
-@FunctionalInterface
-public interface TriConsumer<A, B, C> {
-    void accept(A a, B b, C c);
-}
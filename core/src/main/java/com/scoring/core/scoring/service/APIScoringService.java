@@ -2,18 +2,32 @@ package com.scoring.core.scoring.service;
 
 import com.scoring.core.scoring.config.ScoringConfig;
 import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.ScoreStreamEvent;
+import com.scoring.core.scoring.model.ScoringMode;
 import com.scoring.core.scoring.model.SpecScore;
+import com.scoring.core.scoring.model.exception.OpenAPIReadException;
+import com.scoring.core.scoring.service.cache.ContentHash;
+import com.scoring.core.scoring.service.cache.ScoreCacheService;
 import com.scoring.core.scoring.service.category.*;
 import io.swagger.v3.oas.models.OpenAPI;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class APIScoringService {
     private final ScoringConfig scoringConfig;
 
+    private final SpecLoaderService specLoaderService;
+    private final ScoreCacheService scoreCacheService;
+
     private final SchemaScoringService schemaScoringService;
     private final DescriptionScoringService descriptionScoringService;
     private final PathsScoringService pathsScoringService;
@@ -22,14 +36,178 @@ public class APIScoringService {
     private final SecurityScoringService securityScoringService;
     private final BestPracticesScoringService bestPracticesScoringService;
 
+    private final ForkJoinPool categoryScoringPool;
+
+    // SpecScore field of each category, used to label streamed events
+    private static final List<String> CATEGORY_KEYS = List.of(
+            "schemaScore",
+            "descriptionScore",
+            "pathsScore",
+            "responseScore",
+            "exampleScore",
+            "securityScore",
+            "bestPracticesScore");
+
+    /**
+     * Parses and scores a raw spec, serving and storing full scores through the score cache
+     */
+    public SpecScore scoreRaw(String raw, ScoringMode mode) {
+        String specHash = ContentHash.sha256(raw);
+        SpecScore cached = cachedScore(specHash, mode);
+        if (cached != null) return cached;
+
+        ParsedSpec parsed = specLoaderService.readContent(raw, specHash);
+        if (parsed.spec() == null) {
+            throw new OpenAPIReadException("Failed to read OpenAPI spec");
+        }
+        return scoreAndCache(parsed.spec(), specHash, effectiveMode(parsed.summaryOnly(), mode));
+    }
+
+    /**
+     * Scores a spec read from a stream. The body is hashed while it is parsed into a tree, so a body whose score
+     * is cached skips building the model and scoring.
+     */
+    public SpecScore scoreStream(InputStream input, ScoringMode mode) {
+        return scoreTree(specLoaderService.readBody(input), mode);
+    }
+
+    /**
+     * Scores a body read by {@link SpecLoaderService#readBody}, serving and storing full scores through the score cache
+     */
+    public SpecScore scoreTree(SpecTree body, ScoringMode mode) {
+        mode = effectiveMode(body.summaryOnly(), mode);
+        SpecScore cached = cachedScore(body.contentHash(), mode);
+        if (cached != null) return cached;
+
+        ParsedSpec parsed = specLoaderService.parse(body);
+        return scoreAndCache(parsed.spec(), parsed.contentHash(), mode);
+    }
+
+    /**
+     * Specs over a summary-only complexity limit are downgraded to a summary score
+     */
+    private static ScoringMode effectiveMode(boolean summaryOnly, ScoringMode mode) {
+        return summaryOnly ? ScoringMode.SUMMARY : mode;
+    }
+
+    private SpecScore cachedScore(String specHash, ScoringMode mode) {
+        SpecScore score = scoreCacheService.get(specHash);
+        if (score == null) return null;
+        return mode == ScoringMode.SUMMARY ? score.withoutDetails() : score;
+    }
+
+    private SpecScore scoreAndCache(OpenAPI spec, String specHash, ScoringMode mode) {
+        if (mode == ScoringMode.SUMMARY) {
+            // Summary scores lack the report, so they are never cached
+            return score(spec, mode);
+        }
+
+        SpecScore score = score(spec);
+        scoreCacheService.put(specHash, score);
+        return score;
+    }
+
     public SpecScore score(OpenAPI spec) {
-        CategoryScore schemaScore = schemaScoringService.scoreCategory(spec);
-        CategoryScore descriptionScore = descriptionScoringService.scoreCategory(spec);
-        CategoryScore pathsScore = pathsScoringService.scoreCategory(spec);
-        CategoryScore responseScore = responseScoringService.scoreCategory(spec);
-        CategoryScore exampleScore = exampleScoringService.scoreCategory(spec);
-        CategoryScore securityScore = securityScoringService.scoreCategory(spec);
-        CategoryScore bestPracticesScore = bestPracticesScoringService.scoreCategory(spec);
+        return score(spec, ScoringMode.FULL);
+    }
+
+    /**
+     * Scores the spec; in summary mode the category scores carry no issues or strengths
+     */
+    public SpecScore score(OpenAPI spec, ScoringMode mode) {
+        List<CategoryScoringService> categories = categories();
+
+        // Flatten the spec once; every category reads the same immutable index
+        SpecIndex index = SpecIndex.of(spec);
+
+        List<CategoryScore> scores = scoringConfig.getExecution().isParallel() ?
+                scoreParallel(index, mode, categories) :
+                scoreSequential(index, mode, categories);
+
+        return buildSpecScore(scores);
+    }
+
+    /**
+     * Scores the spec in a single walk and hands the result to the sink piece by piece: every issue as soon as
+     * it is found, every category once finished and the total last. No issue list is held in memory.
+     */
+    public void scoreStreaming(OpenAPI spec, Consumer<ScoreStreamEvent> sink) {
+        scoreStreaming(spec, ScoringMode.FULL, sink);
+    }
+
+    /**
+     * Streams the score; in summary mode no issues are found, so only category and total events are sent
+     */
+    public void scoreStreaming(OpenAPI spec, ScoringMode mode, Consumer<ScoreStreamEvent> sink) {
+        List<CategoryScoringService> categories = categories();
+        SpecIndex index = SpecIndex.of(spec);
+
+        List<CategoryVisitor> visitors = new ArrayList<>(categories.size());
+        for (int i = 0; i < categories.size(); i++) {
+            String category = CATEGORY_KEYS.get(i);
+            visitors.add(categories.get(i).createVisitor(
+                    index,
+                    mode,
+                    issue -> sink.accept(ScoreStreamEvent.issue(category, issue))));
+        }
+
+        SpecWalker.walk(index, visitors);
+
+        List<CategoryScore> scores = new ArrayList<>(visitors.size());
+        for (int i = 0; i < visitors.size(); i++) {
+            CategoryScore score = visitors.get(i).finish().withIssues(List.of());
+            sink.accept(ScoreStreamEvent.category(CATEGORY_KEYS.get(i), score));
+            scores.add(score);
+        }
+
+        SpecScore total = buildSpecScore(scores);
+        sink.accept(ScoreStreamEvent.total(total.totalScore(), total.grade()));
+    }
+
+    private List<CategoryScoringService> categories() {
+        // Same order as CATEGORY_KEYS and buildSpecScore
+        return List.of(
+                schemaScoringService,
+                descriptionScoringService,
+                pathsScoringService,
+                responseScoringService,
+                exampleScoringService,
+                securityScoringService,
+                bestPracticesScoringService);
+    }
+
+    private List<CategoryScore> scoreSequential(SpecIndex index, ScoringMode mode, List<CategoryScoringService> categories) {
+        List<CategoryVisitor> visitors = categories.stream()
+                .map(category -> category.createVisitor(index, mode))
+                .toList();
+
+        // Walk the spec once and let every category collect what it needs
+        SpecWalker.walk(index, visitors);
+
+        return visitors.stream()
+                .map(CategoryVisitor::finish)
+                .toList();
+    }
+
+    private List<CategoryScore> scoreParallel(SpecIndex index, ScoringMode mode, List<CategoryScoringService> categories) {
+        // Categories only read the index and write their own data, so each one can walk it on its own thread
+        List<ForkJoinTask<CategoryScore>> tasks = categories.stream()
+                .map(category -> categoryScoringPool.submit(() -> category.scoreCategory(index, mode)))
+                .toList();
+
+        return tasks.stream()
+                .map(ForkJoinTask::join)
+                .toList();
+    }
+
+    private SpecScore buildSpecScore(List<CategoryScore> scores) {
+        CategoryScore schemaScore = scores.get(0);
+        CategoryScore descriptionScore = scores.get(1);
+        CategoryScore pathsScore = scores.get(2);
+        CategoryScore responseScore = scores.get(3);
+        CategoryScore exampleScore = scores.get(4);
+        CategoryScore securityScore = scores.get(5);
+        CategoryScore bestPracticesScore = scores.get(6);
 
         int totalScore = schemaScore.score() +
                 descriptionScore.score() +
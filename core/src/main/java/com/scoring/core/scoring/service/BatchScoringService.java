@@ -0,0 +1,89 @@
+package com.scoring.core.scoring.service;
+
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.BatchScoreResult;
+import com.scoring.core.scoring.model.BatchSpec;
+import com.scoring.core.scoring.model.ScoringMode;
+import com.scoring.core.scoring.model.exception.OpenAPILoadException;
+import com.scoring.core.scoring.model.exception.OpenAPIReadException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Scores many specs per request. Specs are read on the calling thread and parsed and scored on the batch pool,
+ * so reading the next spec overlaps with parsing and scoring the previous ones. At most max-in-flight specs are
+ * held at a time and results are handed to the sink in completion order.
+ */
+@Service
+@RequiredArgsConstructor
+public class BatchScoringService {
+    private final ScoringConfig scoringConfig;
+
+    private final APIScoringService apiScoringService;
+
+    private final ExecutorService batchScoringExecutor;
+
+    /**
+     * Scores every spec and returns once all results have been passed to the sink.
+     * The sink is never called concurrently; if it fails, no further specs are read and its exception is rethrown.
+     */
+    public void scoreAll(Iterator<BatchSpec> specs, ScoringMode mode, Consumer<BatchScoreResult> sink)
+            throws InterruptedException {
+        int maxInFlight = Math.max(1, scoringConfig.getBatch().getMaxInFlight());
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<RuntimeException> sinkFailure = new AtomicReference<>();
+
+        try {
+            while (sinkFailure.get() == null && specs.hasNext()) {
+                BatchSpec spec = specs.next();
+                inFlight.acquire();
+                try {
+                    batchScoringExecutor.execute(() -> {
+                        try {
+                            BatchScoreResult result = scoreOne(spec, mode);
+                            synchronized (sink) {
+                                if (sinkFailure.get() == null) sink.accept(result);
+                            }
+                        } catch (RuntimeException e) {
+                            sinkFailure.compareAndSet(null, e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            }
+        } finally {
+            // Wait for the submitted specs so the sink is not used after returning
+            inFlight.acquire(maxInFlight);
+        }
+
+        if (sinkFailure.get() != null) throw sinkFailure.get();
+    }
+
+    private BatchScoreResult scoreOne(BatchSpec batchSpec, ScoringMode mode) {
+        if (batchSpec.spec() == null) {
+            return BatchScoreResult.failure(
+                    batchSpec.id(),
+                    "Invalid batch entry",
+                    batchSpec.error() != null ? batchSpec.error() : "Entry has no readable spec");
+        }
+
+        try {
+            return BatchScoreResult.success(batchSpec.id(), apiScoringService.scoreRaw(batchSpec.spec(), mode));
+        } catch (OpenAPILoadException | OpenAPIReadException e) {
+            return BatchScoreResult.failure(batchSpec.id(), "Invalid OpenAPI JSON or YAML", e.getMessage());
+        } catch (Exception e) {
+            return BatchScoreResult.failure(batchSpec.id(), "Internal Server Error", e.getMessage());
+        }
+    }
+}
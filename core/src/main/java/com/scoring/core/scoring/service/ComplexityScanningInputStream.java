@@ -0,0 +1,50 @@
+package com.scoring.core.scoring.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Feeds every byte read through it to a {@link SpecComplexityScanner}, so the scanner's limits are enforced
+ * while the spec streams into the parser
+ */
+public class ComplexityScanningInputStream extends FilterInputStream {
+    private final SpecComplexityScanner scanner;
+
+    public ComplexityScanningInputStream(InputStream in, SpecComplexityScanner scanner) {
+        super(in);
+        this.scanner = scanner;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) scanner.update(b);
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = super.read(buffer, offset, length);
+        if (n > 0) scanner.update(buffer, offset, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes must still be scanned
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) break;
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
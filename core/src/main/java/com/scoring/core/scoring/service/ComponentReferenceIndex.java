@@ -0,0 +1,365 @@
+package com.scoring.core.scoring.service;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.callbacks.Callback;
+import io.swagger.v3.oas.models.examples.Example;
+import io.swagger.v3.oas.models.headers.Header;
+import io.swagger.v3.oas.models.links.Link;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+
+import java.util.*;
+
+/**
+ * Maps every "#/components/&lt;kind&gt;/&lt;name&gt;" pointer of a spec to its target and records every $ref usage.
+ * Built once per spec, so reference checks are a single hash lookup. Local component references that do not
+ * resolve are collected as dangling, and components whose $ref or allOf chain leads back to themselves are
+ * collected as cycles. References to other documents are recorded but never reported as dangling.
+ */
+public final class ComponentReferenceIndex {
+    private static final String COMPONENTS_PREFIX = "#/components/";
+
+    public record Reference(String location, String ref) {
+    }
+
+    private final Map<String, Object> targets = new HashMap<>();
+    private final List<Reference> references = new ArrayList<>();
+    private final List<Reference> danglingReferences = new ArrayList<>();
+    private final List<List<String>> cycles = new ArrayList<>();
+
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private ComponentReferenceIndex() {
+    }
+
+    public static ComponentReferenceIndex of(OpenAPI spec) {
+        ComponentReferenceIndex index = new ComponentReferenceIndex();
+        index.indexTargets(spec.getComponents());
+        index.collectComponents(spec.getComponents());
+        index.collectPaths(spec.getPaths());
+        index.visited.clear();
+
+        for (Reference reference : index.references) {
+            if (reference.ref().startsWith(COMPONENTS_PREFIX) && !index.targets.containsKey(reference.ref())) {
+                index.danglingReferences.add(reference);
+            }
+        }
+        index.findCycles();
+        return index;
+    }
+
+    public boolean exists(String ref) {
+        return ref != null && targets.containsKey(ref);
+    }
+
+    /**
+     * Returns the component the pointer refers to, or null when it does not resolve
+     */
+    public Object resolve(String ref) {
+        return ref != null ? targets.get(ref) : null;
+    }
+
+    /**
+     * Returns the component the pointer refers to when it is of the given kind, otherwise null
+     */
+    public <T> T resolve(String ref, Class<T> kind) {
+        Object target = resolve(ref);
+        return kind.isInstance(target) ? kind.cast(target) : null;
+    }
+
+    public List<Reference> getReferences() {
+        return Collections.unmodifiableList(references);
+    }
+
+    public List<Reference> getDanglingReferences() {
+        return Collections.unmodifiableList(danglingReferences);
+    }
+
+    /**
+     * Each cycle lists the pointers in the order they reference each other, starting with the first one defined
+     */
+    public List<List<String>> getCycles() {
+        return Collections.unmodifiableList(cycles);
+    }
+
+    private void indexTargets(Components components) {
+        if (components == null) return;
+
+        addTargets("schemas", components.getSchemas());
+        addTargets("responses", components.getResponses());
+        addTargets("parameters", components.getParameters());
+        addTargets("examples", components.getExamples());
+        addTargets("requestBodies", components.getRequestBodies());
+        addTargets("headers", components.getHeaders());
+        addTargets("securitySchemes", components.getSecuritySchemes());
+        addTargets("links", components.getLinks());
+        addTargets("callbacks", components.getCallbacks());
+        addTargets("pathItems", components.getPathItems());
+    }
+
+    private void addTargets(String kind, Map<String, ?> components) {
+        if (components == null) return;
+
+        for (Map.Entry<String, ?> entry : components.entrySet()) {
+            targets.put(COMPONENTS_PREFIX + kind + "/" + entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void collectComponents(Components components) {
+        if (components == null) return;
+
+        String location = "#/components/";
+        if (components.getSchemas() != null) {
+            components.getSchemas().forEach((name, schema) -> collectSchema(location + "schemas/" + name, schema));
+        }
+        if (components.getResponses() != null) {
+            components.getResponses().forEach((name, response) -> collectResponse(location + "responses/" + name, response));
+        }
+        if (components.getParameters() != null) {
+            components.getParameters().forEach((name, parameter) -> collectParameter(location + "parameters/" + name, parameter));
+        }
+        if (components.getExamples() != null) {
+            components.getExamples().forEach((name, example) -> collectExample(location + "examples/" + name, example));
+        }
+        if (components.getRequestBodies() != null) {
+            components.getRequestBodies().forEach((name, body) -> collectRequestBody(location + "requestBodies/" + name, body));
+        }
+        if (components.getHeaders() != null) {
+            components.getHeaders().forEach((name, header) -> collectHeader(location + "headers/" + name, header));
+        }
+        if (components.getSecuritySchemes() != null) {
+            components.getSecuritySchemes().forEach((name, scheme) -> collectSecurityScheme(location + "securitySchemes/" + name, scheme));
+        }
+        if (components.getLinks() != null) {
+            components.getLinks().forEach((name, link) -> collectLink(location + "links/" + name, link));
+        }
+        if (components.getCallbacks() != null) {
+            components.getCallbacks().forEach((name, callback) -> collectCallback(location + "callbacks/" + name, callback));
+        }
+        if (components.getPathItems() != null) {
+            components.getPathItems().forEach((name, pathItem) -> collectPathItem(location + "pathItems/" + name, pathItem));
+        }
+    }
+
+    private void collectPaths(Map<String, PathItem> paths) {
+        if (paths == null) return;
+
+        paths.forEach((path, pathItem) -> collectPathItem("#/paths/" + path, pathItem));
+    }
+
+    private void collectPathItem(String location, PathItem pathItem) {
+        if (pathItem == null || !visited.add(pathItem)) return;
+        addReference(location, pathItem.get$ref());
+
+        if (pathItem.getParameters() != null) {
+            for (int i = 0; i < pathItem.getParameters().size(); i++) {
+                collectParameter(location + "/parameters/" + i, pathItem.getParameters().get(i));
+            }
+        }
+
+        if (pathItem.readOperationsMap() != null) {
+            pathItem.readOperationsMap().forEach((method, operation) ->
+                    collectOperation(location + "/" + method.toString().toLowerCase(Locale.ROOT), operation));
+        }
+    }
+
+    private void collectOperation(String location, Operation operation) {
+        if (operation.getParameters() != null) {
+            for (int i = 0; i < operation.getParameters().size(); i++) {
+                collectParameter(location + "/parameters/" + i, operation.getParameters().get(i));
+            }
+        }
+
+        collectRequestBody(location + "/requestBody", operation.getRequestBody());
+
+        if (operation.getResponses() != null) {
+            operation.getResponses().forEach((code, response) -> collectResponse(location + "/responses/" + code, response));
+        }
+
+        if (operation.getCallbacks() != null) {
+            operation.getCallbacks().forEach((name, callback) -> collectCallback(location + "/callbacks/" + name, callback));
+        }
+    }
+
+    private void collectParameter(String location, Parameter parameter) {
+        if (parameter == null || !visited.add(parameter)) return;
+        addReference(location, parameter.get$ref());
+
+        collectSchema(location + "/schema", parameter.getSchema());
+        collectExamples(location + "/examples", parameter.getExamples());
+        collectContent(location + "/content", parameter.getContent());
+    }
+
+    private void collectRequestBody(String location, RequestBody requestBody) {
+        if (requestBody == null || !visited.add(requestBody)) return;
+        addReference(location, requestBody.get$ref());
+
+        collectContent(location + "/content", requestBody.getContent());
+    }
+
+    private void collectResponse(String location, ApiResponse response) {
+        if (response == null || !visited.add(response)) return;
+        addReference(location, response.get$ref());
+
+        if (response.getHeaders() != null) {
+            response.getHeaders().forEach((name, header) -> collectHeader(location + "/headers/" + name, header));
+        }
+        collectContent(location + "/content", response.getContent());
+        if (response.getLinks() != null) {
+            response.getLinks().forEach((name, link) -> collectLink(location + "/links/" + name, link));
+        }
+    }
+
+    private void collectHeader(String location, Header header) {
+        if (header == null || !visited.add(header)) return;
+        addReference(location, header.get$ref());
+
+        collectSchema(location + "/schema", header.getSchema());
+        collectExamples(location + "/examples", header.getExamples());
+        collectContent(location + "/content", header.getContent());
+    }
+
+    private void collectContent(String location, Content content) {
+        if (content == null) return;
+
+        for (Map.Entry<String, MediaType> entry : content.entrySet()) {
+            MediaType mediaType = entry.getValue();
+            if (mediaType == null) continue;
+
+            String mediaTypeLocation = location + "/" + entry.getKey();
+            collectSchema(mediaTypeLocation + "/schema", mediaType.getSchema());
+            collectExamples(mediaTypeLocation + "/examples", mediaType.getExamples());
+        }
+    }
+
+    private void collectExamples(String location, Map<String, Example> examples) {
+        if (examples == null) return;
+
+        examples.forEach((name, example) -> collectExample(location + "/" + name, example));
+    }
+
+    private void collectExample(String location, Example example) {
+        if (example == null) return;
+        addReference(location, example.get$ref());
+    }
+
+    private void collectSecurityScheme(String location, SecurityScheme scheme) {
+        if (scheme == null) return;
+        addReference(location, scheme.get$ref());
+    }
+
+    private void collectLink(String location, Link link) {
+        if (link == null) return;
+        addReference(location, link.get$ref());
+    }
+
+    private void collectCallback(String location, Callback callback) {
+        if (callback == null || !visited.add(callback)) return;
+        addReference(location, callback.get$ref());
+
+        callback.forEach((expression, pathItem) -> collectPathItem(location + "/" + expression, pathItem));
+    }
+
+    private void collectSchema(String location, Schema<?> schema) {
+        if (schema == null || !visited.add(schema)) return;
+        addReference(location, schema.get$ref());
+
+        if (schema.getProperties() != null) {
+            schema.getProperties().forEach((name, property) -> collectSchema(location + "/properties/" + name, property));
+        }
+        collectSchema(location + "/items", schema.getItems());
+        collectSchema(location + "/not", schema.getNot());
+        collectSchemas(location + "/allOf/", schema.getAllOf());
+        collectSchemas(location + "/oneOf/", schema.getOneOf());
+        collectSchemas(location + "/anyOf/", schema.getAnyOf());
+        if (schema.getAdditionalProperties() instanceof Schema<?> additionalProperties) {
+            collectSchema(location + "/additionalProperties", additionalProperties);
+        }
+    }
+
+    private void collectSchemas(String location, List<Schema> schemas) {
+        if (schemas == null) return;
+
+        for (int i = 0; i < schemas.size(); i++) {
+            collectSchema(location + i, schemas.get(i));
+        }
+    }
+
+    private void addReference(String location, String ref) {
+        if (ref != null) references.add(new Reference(location, ref));
+    }
+
+    /**
+     * A component that only aliases another component, or inherits from one through allOf, can never be
+     * materialised when the chain leads back to itself. Plain property recursion is valid and not followed.
+     */
+    private void findCycles() {
+        Map<String, Integer> state = new HashMap<>();
+        for (String pointer : targets.keySet().stream().sorted().toList()) {
+            if (!state.containsKey(pointer)) {
+                findCycles(pointer, state, new ArrayDeque<>());
+            }
+        }
+    }
+
+    private void findCycles(String pointer, Map<String, Integer> state, Deque<String> stack) {
+        state.put(pointer, 1);
+        stack.addLast(pointer);
+
+        for (String next : structuralReferences(targets.get(pointer))) {
+            if (!targets.containsKey(next)) continue;
+
+            Integer nextState = state.get(next);
+            if (nextState == null) {
+                findCycles(next, state, stack);
+            } else if (nextState == 1) {
+                List<String> cycle = new ArrayList<>();
+                boolean inCycle = false;
+                for (String element : stack) {
+                    if (element.equals(next)) inCycle = true;
+                    if (inCycle) cycle.add(element);
+                }
+                cycle.add(next);
+                cycles.add(cycle);
+            }
+        }
+
+        stack.removeLast();
+        state.put(pointer, 2);
+    }
+
+    private static List<String> structuralReferences(Object component) {
+        List<String> refs = new ArrayList<>();
+        String ref = refOf(component);
+        if (ref != null) refs.add(ref);
+
+        if (component instanceof Schema<?> schema && schema.getAllOf() != null) {
+            for (Schema<?> member : schema.getAllOf()) {
+                if (member != null && member.get$ref() != null) refs.add(member.get$ref());
+            }
+        }
+        return refs;
+    }
+
+    private static String refOf(Object component) {
+        if (component instanceof Schema<?> schema) return schema.get$ref();
+        if (component instanceof Parameter parameter) return parameter.get$ref();
+        if (component instanceof ApiResponse response) return response.get$ref();
+        if (component instanceof RequestBody requestBody) return requestBody.get$ref();
+        if (component instanceof Header header) return header.get$ref();
+        if (component instanceof SecurityScheme scheme) return scheme.get$ref();
+        if (component instanceof Example example) return example.get$ref();
+        if (component instanceof Link link) return link.get$ref();
+        if (component instanceof Callback callback) return callback.get$ref();
+        if (component instanceof PathItem pathItem) return pathItem.get$ref();
+        return null;
+    }
+}
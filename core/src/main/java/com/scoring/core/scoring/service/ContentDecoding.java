@@ -0,0 +1,157 @@
+package com.scoring.core.scoring.service;
+
+import com.scoring.core.scoring.model.exception.OpenAPIReadException;
+import com.scoring.core.scoring.model.exception.SpecTooLargeException;
+import com.scoring.core.scoring.model.exception.UnsupportedContentEncodingException;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Decodes request bodies sent with Content-Encoding gzip or deflate while they are read.
+ * Inflation is guarded against decompression bombs: reading fails once the inflated size exceeds
+ * maxRatio times the compressed bytes read so far.
+ */
+public class ContentDecoding {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Small bodies may legitimately compress very well, so the ratio is only enforced past this size
+    private static final long RATIO_GRACE_BYTES = 1024 * 1024;
+
+    public static InputStream decode(InputStream body, String contentEncoding, int maxRatio) {
+        if (contentEncoding == null || contentEncoding.isBlank()) return body;
+
+        // Encodings are listed in the order they were applied, so they are undone from the last one
+        String[] encodings = contentEncoding.split(",");
+        InputStream decoded = body;
+        for (int i = encodings.length - 1; i >= 0; i--) {
+            decoded = decodeOne(decoded, encodings[i].trim().toLowerCase(), maxRatio);
+        }
+        return decoded;
+    }
+
+    private static InputStream decodeOne(InputStream body, String encoding, int maxRatio) {
+        try {
+            return switch (encoding) {
+                case "", "identity" -> body;
+                case "gzip", "x-gzip" -> {
+                    CountingInputStream compressed = new CountingInputStream(body);
+                    yield new RatioGuardInputStream(new GZIPInputStream(compressed, BUFFER_SIZE), compressed, maxRatio);
+                }
+                case "deflate" -> {
+                    CountingInputStream compressed = new CountingInputStream(new BufferedInputStream(body, BUFFER_SIZE));
+                    Inflater inflater = new Inflater(!hasZlibHeader(compressed));
+                    yield new RatioGuardInputStream(new InflaterInputStream(compressed, inflater, BUFFER_SIZE), compressed, maxRatio);
+                }
+                default -> throw new UnsupportedContentEncodingException("Unsupported Content-Encoding: " + encoding);
+            };
+        } catch (ZipException e) {
+            throw new OpenAPIReadException("Invalid compressed body: " + e.getMessage());
+        } catch (IOException e) {
+            throw new OpenAPIReadException("Failed to read compressed body: " + e.getMessage());
+        }
+    }
+
+    private static boolean hasZlibHeader(CountingInputStream input) throws IOException {
+        // "deflate" should be zlib wrapped, but some clients send a raw deflate stream
+        input.mark(2);
+        int cmf = input.read();
+        int flg = input.read();
+        input.reset();
+        return cmf >= 0 && flg >= 0 && (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private long count = 0;
+        private long mark = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public synchronized void mark(int readLimit) {
+            super.mark(readLimit);
+            mark = count;
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            super.reset();
+            count = mark;
+        }
+    }
+
+    private static class RatioGuardInputStream extends FilterInputStream {
+        private final CountingInputStream compressed;
+        private final int maxRatio;
+        private long inflated = 0;
+
+        RatioGuardInputStream(InputStream in, CountingInputStream compressed, int maxRatio) {
+            super(in);
+            this.compressed = compressed;
+            this.maxRatio = maxRatio;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) advance(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) advance(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            advance(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void advance(long n) {
+            inflated += n;
+            if (maxRatio > 0 && inflated > RATIO_GRACE_BYTES && inflated > maxRatio * Math.max(1, compressed.count)) {
+                throw new SpecTooLargeException(
+                        "Compressed body inflates more than " + maxRatio + " times its size");
+            }
+        }
+    }
+}
@@ -0,0 +1,510 @@
+package com.scoring.core.scoring.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.exception.OpenAPILoadException;
+import com.scoring.core.scoring.service.cache.LruCache;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves $refs that point into other documents before the spec tree is turned into the model.
+ * All documents reachable from the spec are fetched level by level in parallel, each canonical URI once per
+ * request. Like swagger-parser's resolver, every referenced target that is a component (a schema, parameter,
+ * response, ...) is then registered once under the spec's components and referenced from there, so shared
+ * definitions stay shared; a root component that is itself an external reference takes the target's content.
+ * Targets of any other kind, such as path items, are inlined. Local references of the spec itself are left
+ * for the model.
+ * <p>
+ * Only specs read from a location have their external references resolved. Files must lie in the directory of
+ * the spec file, http(s) documents on the spec's own host or an allowed host, and at most max-documents are
+ * read per spec; anything else fails the load.
+ */
+public class ExternalRefResolver {
+    private static final String REF = "$ref";
+
+    // Fields holding a map or list of one kind of component; references among their members are registered as that kind
+    private static final Map<String, String> MEMBER_KINDS = Map.ofEntries(
+            Map.entry("schemas", "schemas"),
+            Map.entry("properties", "schemas"),
+            Map.entry("patternProperties", "schemas"),
+            Map.entry("allOf", "schemas"),
+            Map.entry("anyOf", "schemas"),
+            Map.entry("oneOf", "schemas"),
+            Map.entry("prefixItems", "schemas"),
+            Map.entry("parameters", "parameters"),
+            Map.entry("responses", "responses"),
+            Map.entry("requestBodies", "requestBodies"),
+            Map.entry("headers", "headers"),
+            Map.entry("examples", "examples"),
+            Map.entry("links", "links"),
+            Map.entry("callbacks", "callbacks"),
+            Map.entry("securitySchemes", "securitySchemes"));
+
+    // Fields holding a single component
+    private static final Map<String, String> VALUE_KINDS = Map.of(
+            "schema", "schemas",
+            "items", "schemas",
+            "additionalProperties", "schemas",
+            "not", "schemas",
+            "requestBody", "requestBodies");
+
+    private static final Set<String> COMPONENT_KINDS = Set.copyOf(MEMBER_KINDS.values());
+
+    private static final Pattern INVALID_NAME_CHARS = Pattern.compile("[^A-Za-z0-9._-]");
+
+    private final DocumentLoader loader;
+    private final Executor fetchPool;
+    private final int maxDocuments;
+    private final Set<String> allowedHosts;
+
+    // Documents shared across requests; keys carry a version so changed documents are not served
+    private final LruCache<String, JsonNode> sharedDocuments;
+
+    /**
+     * Reads one referenced document into a tree
+     */
+    public interface DocumentLoader {
+        /**
+         * Loads the document; a remote document may only be redirected to locations accepted by allowed
+         */
+        JsonNode load(URI uri, Predicate<URI> allowed) throws IOException;
+
+        /**
+         * Returns a key identifying the current content of the document, or null when it should not be shared
+         */
+        String version(URI uri);
+    }
+
+    public ExternalRefResolver(DocumentLoader loader, Executor fetchPool, ScoringConfig.RefSettings settings) {
+        this.loader = loader;
+        this.fetchPool = fetchPool;
+        this.maxDocuments = settings.getMaxDocuments();
+        this.allowedHosts = settings.getAllowedHosts().stream()
+                .map(host -> host.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.sharedDocuments = new LruCache<>(settings.getSharedCacheMaxEntries());
+    }
+
+    /**
+     * Returns true when the tree references any other document
+     */
+    public static boolean hasExternalRefs(JsonNode root) {
+        Deque<JsonNode> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            JsonNode node = pending.pop();
+            if (node.isObject()) {
+                JsonNode ref = node.get(REF);
+                if (ref != null && ref.isTextual() && !ref.asText().startsWith("#")) return true;
+            }
+            if (node.isContainerNode()) node.elements().forEachRemaining(pending::push);
+        }
+        return false;
+    }
+
+    /**
+     * Resolves the external references of the spec read from base. Submitted content has no base and is not
+     * trusted to make the server read files or URLs, so it is returned as it is. Otherwise the tree is modified
+     * in place and returned.
+     */
+    public JsonNode resolve(JsonNode root, URI base) {
+        if (base == null || !(root instanceof ObjectNode spec) || !hasExternalRefs(root)) return root;
+
+        URI rootUri = document(base);
+        Resolution resolution = new Resolution(rootUri, spec);
+        resolution.documents.put(rootUri, root);
+
+        fetchAll(root, rootUri, resolution);
+        resolution.registerRootComponents();
+        resolution.resolveValue(root, rootUri, null);
+        resolution.addComponents();
+        return root;
+    }
+
+    private void fetchAll(JsonNode root, URI rootUri, Resolution resolution) {
+        Set<URI> pending = referencedDocuments(root, rootUri);
+        pending.removeAll(resolution.documents.keySet());
+
+        int fetched = 0;
+        while (!pending.isEmpty()) {
+            // Every level adds at least one new document, so this also bounds how deep references nest
+            fetched += pending.size();
+            if (maxDocuments > 0 && fetched > maxDocuments) {
+                throw new OpenAPILoadException("Spec references more than " + maxDocuments + " documents");
+            }
+            for (URI uri : pending) {
+                if (!isAllowed(uri, rootUri)) {
+                    throw new OpenAPILoadException("Reference to " + uri + " is not allowed");
+                }
+            }
+
+            Map<URI, CompletableFuture<JsonNode>> fetches = new LinkedHashMap<>();
+            for (URI uri : pending) {
+                fetches.put(uri, CompletableFuture.supplyAsync(() -> loadDocument(uri, rootUri), fetchPool));
+            }
+
+            Set<URI> next = new HashSet<>();
+            for (Map.Entry<URI, CompletableFuture<JsonNode>> fetch : fetches.entrySet()) {
+                JsonNode document = join(fetch.getKey(), fetch.getValue());
+                resolution.documents.put(fetch.getKey(), document);
+                next.addAll(referencedDocuments(document, fetch.getKey()));
+            }
+
+            next.removeAll(resolution.documents.keySet());
+            pending = next;
+        }
+    }
+
+    /**
+     * Files must lie below the directory of a spec file; http(s) documents must be on the host of a remote spec
+     * or on an allowed host. Any other scheme is refused. Redirects of remote documents are held to the same rules.
+     */
+    private boolean isAllowed(URI uri, URI rootUri) {
+        String scheme = uri.getScheme();
+        if ("file".equalsIgnoreCase(scheme)) {
+            return "file".equalsIgnoreCase(rootUri.getScheme()) && isWithinDirectory(uri, rootUri);
+        }
+        if (isHttp(uri) && uri.getHost() != null) {
+            boolean sameOrigin = isHttp(rootUri) &&
+                    uri.getHost().equalsIgnoreCase(rootUri.getHost()) &&
+                    uri.getPort() == rootUri.getPort();
+            return sameOrigin || allowedHosts.contains(uri.getHost().toLowerCase(Locale.ROOT));
+        }
+        return false;
+    }
+
+    private static boolean isHttp(URI uri) {
+        return "http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme());
+    }
+
+    private static boolean isWithinDirectory(URI uri, URI rootUri) {
+        try {
+            Path directory = Path.of(rootUri).getParent();
+            return directory != null && realPath(Path.of(uri)).startsWith(realPath(directory));
+        } catch (IllegalArgumentException | FileSystemNotFoundException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Follows symbolic links, so a link inside the directory cannot point outside it
+     */
+    private static Path realPath(Path path) {
+        try {
+            return path.toRealPath();
+        } catch (IOException e) {
+            // Missing files are reported by the loader
+            return path.toAbsolutePath().normalize();
+        }
+    }
+
+    private JsonNode loadDocument(URI uri, URI rootUri) {
+        String version = loader.version(uri);
+        String key = version != null ? uri + "@" + version : null;
+        if (key != null) {
+            JsonNode shared = sharedDocuments.get(key);
+            // Documents are resolved in place, so every request works on its own copy
+            if (shared != null) return shared.deepCopy();
+        }
+
+        try {
+            JsonNode document = loader.load(uri, location -> isAllowed(location, rootUri));
+            if (key != null) sharedDocuments.put(key, document.deepCopy());
+            return document;
+        } catch (IOException e) {
+            throw new OpenAPILoadException("Failed to resolve reference to " + uri + ": " + e.getMessage());
+        }
+    }
+
+    private static JsonNode join(URI uri, CompletableFuture<JsonNode> fetch) {
+        try {
+            return fetch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new OpenAPILoadException("Failed to resolve reference to " + uri + ": " + e.getMessage());
+        }
+    }
+
+    private static Set<URI> referencedDocuments(JsonNode root, URI documentUri) {
+        Set<URI> documents = new HashSet<>();
+        Deque<JsonNode> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            JsonNode node = pending.pop();
+            if (node.isObject()) {
+                JsonNode ref = node.get(REF);
+                if (ref != null && ref.isTextual() && !ref.asText().startsWith("#")) {
+                    URI target = target(ref.asText(), documentUri);
+                    if (target != null) documents.add(document(target));
+                }
+            }
+            if (node.isContainerNode()) node.elements().forEachRemaining(pending::push);
+        }
+        return documents;
+    }
+
+    private static URI target(String ref, URI documentUri) {
+        try {
+            return documentUri.resolve(new URI(ref)).normalize();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static URI document(URI uri) {
+        try {
+            return new URI(uri.getScheme(), uri.getSchemeSpecificPart(), null).normalize();
+        } catch (URISyntaxException e) {
+            return uri;
+        }
+    }
+
+    private static final class Resolution {
+        private final URI rootUri;
+        private final ObjectNode root;
+        private final Map<URI, JsonNode> documents = new HashMap<>();
+        // Component references of targets, keyed by document URI and JSON pointer
+        private final Map<String, String> registered = new HashMap<>();
+        // Root components that are external references themselves; they take the content of their target
+        private final Set<JsonNode> rootComponents = Collections.newSetFromMap(new IdentityHashMap<>());
+        // Components of referenced targets by kind, added to the spec once everything else is resolved
+        private final Map<String, ObjectNode> added = new LinkedHashMap<>();
+        // Targets inlined where no component kind applies
+        private final Map<String, JsonNode> inlined = new HashMap<>();
+        private final Set<String> inProgress = new HashSet<>();
+
+        Resolution(URI rootUri, ObjectNode root) {
+            this.rootUri = rootUri;
+            this.root = root;
+        }
+
+        /**
+         * Registers the targets of root components first, so references to them from anywhere keep their name
+         */
+        void registerRootComponents() {
+            JsonNode components = root.path("components");
+            for (String kind : COMPONENT_KINDS) {
+                for (Iterator<Map.Entry<String, JsonNode>> fields = components.path(kind).fields(); fields.hasNext(); ) {
+                    Map.Entry<String, JsonNode> component = fields.next();
+                    String key = externalKey(component.getValue());
+                    if (key != null && registered.putIfAbsent(key, componentRef(kind, component.getKey())) == null) {
+                        rootComponents.add(component.getValue());
+                    }
+                }
+            }
+        }
+
+        void addComponents() {
+            if (added.isEmpty()) return;
+
+            ObjectNode components = root.get("components") instanceof ObjectNode existing
+                    ? existing
+                    : root.putObject("components");
+            for (Map.Entry<String, ObjectNode> section : added.entrySet()) {
+                JsonNode existing = components.get(section.getKey());
+                if (existing instanceof ObjectNode named) {
+                    named.setAll(section.getValue());
+                } else {
+                    components.set(section.getKey(), section.getValue());
+                }
+            }
+        }
+
+        /**
+         * Resolves the references in node, which sits where a component of the given kind (or none) is expected
+         */
+        JsonNode resolveValue(JsonNode node, URI documentUri, String kind) {
+            if (node.isObject()) {
+                JsonNode ref = node.get(REF);
+                if (ref != null && ref.isTextual()) {
+                    JsonNode replaced = resolveRef(node, ref.asText(), documentUri, kind);
+                    return replaced != null ? replaced : node;
+                }
+
+                ObjectNode object = (ObjectNode) node;
+                List<String> names = new ArrayList<>();
+                object.fieldNames().forEachRemaining(names::add);
+                for (String name : names) {
+                    JsonNode child = object.get(name);
+                    String memberKind = MEMBER_KINDS.get(name);
+                    JsonNode replaced = memberKind != null && child.isContainerNode() && !child.has(REF)
+                            ? resolveMembers(child, documentUri, memberKind)
+                            : resolveValue(child, documentUri, VALUE_KINDS.get(name));
+                    if (replaced != child) object.set(name, replaced);
+                }
+            } else if (node.isArray()) {
+                resolveMembers(node, documentUri, null);
+            }
+            return node;
+        }
+
+        private JsonNode resolveMembers(JsonNode container, URI documentUri, String kind) {
+            if (container instanceof ObjectNode object) {
+                List<String> names = new ArrayList<>();
+                object.fieldNames().forEachRemaining(names::add);
+                for (String name : names) {
+                    JsonNode child = object.get(name);
+                    JsonNode replaced = resolveValue(child, documentUri, kind);
+                    if (replaced != child) object.set(name, replaced);
+                }
+            } else if (container instanceof ArrayNode array) {
+                for (int i = 0; i < array.size(); i++) {
+                    JsonNode child = array.get(i);
+                    JsonNode replaced = resolveValue(child, documentUri, kind);
+                    if (replaced != child) array.set(i, replaced);
+                }
+            }
+            return container;
+        }
+
+        private JsonNode resolveRef(JsonNode node, String ref, URI documentUri, String kind) {
+            boolean local = ref.startsWith("#");
+            // The spec's own local references are kept so the model still sees its components
+            if (local && Objects.equals(documentUri, rootUri)) return null;
+
+            URI target = local ? withFragment(documentUri, ref.substring(1)) : target(ref, documentUri);
+            if (target == null) return null;
+
+            URI targetDocument = document(target);
+            String pointer = target.getFragment() != null ? target.getFragment() : "";
+            // A reference back into the spec becomes a local one
+            if (Objects.equals(targetDocument, rootUri)) return pointer.isEmpty() ? null : refNode("#" + pointer);
+
+            String key = targetDocument + "#" + pointer;
+            if (rootComponents.remove(node)) {
+                JsonNode targetNode = node(targetDocument, pointer);
+                return targetNode != null ? resolveValue(targetNode, targetDocument, kind) : null;
+            }
+
+            String componentRef = registered.get(key);
+            if (componentRef != null) return refNode(componentRef);
+            return kind != null ? register(key, targetDocument, pointer, kind) : inline(key, targetDocument, pointer);
+        }
+
+        private JsonNode register(String key, URI targetDocument, String pointer, String kind) {
+            JsonNode targetNode = node(targetDocument, pointer);
+            if (targetNode == null) return null;
+
+            ObjectNode section = added.computeIfAbsent(kind, k -> root.objectNode());
+            String name = uniqueName(kind, section, componentName(targetDocument, pointer));
+            String componentRef = componentRef(kind, name);
+            // Registered before its content is resolved, so references back to the target become local ones
+            registered.put(key, componentRef);
+            section.set(name, targetNode);
+
+            JsonNode resolved = resolveValue(targetNode, targetDocument, kind);
+            if (resolved != targetNode) section.set(name, resolved);
+            return refNode(componentRef);
+        }
+
+        private JsonNode inline(String key, URI targetDocument, String pointer) {
+            JsonNode done = inlined.get(key);
+            if (done != null) return done;
+            // Cycles through inlined targets are left unresolved
+            if (!inProgress.add(key)) return null;
+
+            try {
+                JsonNode targetNode = node(targetDocument, pointer);
+                if (targetNode == null) return null;
+
+                JsonNode result = resolveValue(targetNode, targetDocument, null);
+                inlined.put(key, result);
+                return result;
+            } finally {
+                inProgress.remove(key);
+            }
+        }
+
+        /**
+         * Key of the target of an external reference in the spec itself, or null when node is no such reference
+         */
+        private String externalKey(JsonNode node) {
+            JsonNode ref = node.get(REF);
+            if (ref == null || !ref.isTextual() || ref.asText().startsWith("#")) return null;
+
+            URI target = target(ref.asText(), rootUri);
+            if (target == null || Objects.equals(document(target), rootUri)) return null;
+            return document(target) + "#" + (target.getFragment() != null ? target.getFragment() : "");
+        }
+
+        private JsonNode node(URI documentUri, String pointer) {
+            JsonNode document = documents.get(documentUri);
+            if (document == null) return null;
+
+            try {
+                JsonNode node = pointer.isEmpty() ? document : document.at(pointer);
+                return node.isMissingNode() ? null : node;
+            } catch (IllegalArgumentException e) {
+                // Malformed JSON pointer; the reference is left as it is
+                return null;
+            }
+        }
+
+        private String uniqueName(String kind, ObjectNode section, String name) {
+            JsonNode existing = root.path("components").path(kind);
+            String unique = name;
+            for (int i = 1; existing.has(unique) || section.has(unique); i++) {
+                unique = name + "_" + i;
+            }
+            return unique;
+        }
+
+        /**
+         * Names a component after the last segment of the pointer, or after the document for whole documents
+         */
+        private static String componentName(URI documentUri, String pointer) {
+            String name = pointer.substring(pointer.lastIndexOf('/') + 1).replace("~1", "/").replace("~0", "~");
+            if (name.isEmpty()) {
+                String path = documentUri.getPath() != null ? documentUri.getPath() : "";
+                name = path.substring(path.lastIndexOf('/') + 1);
+                int extension = name.lastIndexOf('.');
+                if (extension > 0) name = name.substring(0, extension);
+            }
+            name = INVALID_NAME_CHARS.matcher(name).replaceAll("_");
+            return name.isEmpty() ? "component" : name;
+        }
+
+        private static String componentRef(String kind, String name) {
+            return "#/components/" + kind + "/" + name.replace("~", "~0").replace("/", "~1");
+        }
+
+        private JsonNode refNode(String ref) {
+            return root.objectNode().put(REF, ref);
+        }
+
+        private static URI withFragment(URI documentUri, String fragment) {
+            try {
+                return new URI(documentUri.getScheme(), documentUri.getSchemeSpecificPart(), fragment);
+            } catch (URISyntaxException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.scoring.core.scoring.service;
+
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.IssueRule;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caps the issues of a category score while they are recorded. Issues are kept in report order until their rule
+ * or the category reaches its limit; the rest are only counted per rule, with a few sample locations, and read
+ * back as one aggregated issue each after the kept ones. Issues built without a rule are one-off summaries
+ * (missing info, no servers, reference cycles) and are always kept without counting towards the limits.
+ * Scores are left untouched, only the issue list is capped.
+ */
+public final class IssueAggregator {
+    private final int maxIssuesPerCategory;
+    private final int maxIssuesPerRule;
+    private final int sampleLocations;
+
+    public IssueAggregator(ScoringConfig.ReportSettings settings) {
+        this.maxIssuesPerCategory = settings.getMaxIssuesPerCategory();
+        this.maxIssuesPerRule = settings.getMaxIssuesPerRule();
+        this.sampleLocations = Math.max(0, settings.getAggregateSampleLocations());
+    }
+
+    public boolean isLimited() {
+        return maxIssuesPerCategory > 0 || maxIssuesPerRule > 0;
+    }
+
+    /**
+     * A list that applies the caps on every add. Adding an aggregated issue, e.g. from another capped list,
+     * merges its count and samples into this list's aggregate for the rule.
+     */
+    public List<CategoryScore.Issue> newIssueList() {
+        return isLimited() ? new CappedIssueList() : new ArrayList<>();
+    }
+
+    private final class CappedIssueList extends AbstractList<CategoryScore.Issue> {
+        private final List<CategoryScore.Issue> kept = new ArrayList<>();
+        private final Map<IssueRule, Integer> keptPerRule = new HashMap<>();
+        private int keptWithRule = 0;
+        private final Map<IssueRule, Overflow> overflows = new LinkedHashMap<>();
+
+        @Override
+        public boolean add(CategoryScore.Issue issue) {
+            IssueRule rule = issue.ruleId();
+            if (rule == null) {
+                kept.add(issue);
+                return true;
+            }
+            if (issue.isAggregated()) {
+                overflow(issue).merge(issue, sampleLocations);
+                return true;
+            }
+
+            int keptForRule = keptPerRule.getOrDefault(rule, 0);
+            boolean ruleFull = maxIssuesPerRule > 0 && keptForRule >= maxIssuesPerRule;
+            boolean categoryFull = maxIssuesPerCategory > 0 && keptWithRule >= maxIssuesPerCategory;
+
+            if (!ruleFull && !categoryFull) {
+                kept.add(issue);
+                keptPerRule.put(rule, keptForRule + 1);
+                keptWithRule++;
+            } else {
+                overflow(issue).add(issue, sampleLocations);
+            }
+            return true;
+        }
+
+        @Override
+        public CategoryScore.Issue get(int index) {
+            if (index < kept.size()) return kept.get(index);
+
+            int skip = index - kept.size();
+            for (Map.Entry<IssueRule, Overflow> entry : overflows.entrySet()) {
+                if (skip-- == 0) return entry.getValue().toIssue(entry.getKey());
+            }
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        @Override
+        public int size() {
+            return kept.size() + overflows.size();
+        }
+
+        private Overflow overflow(CategoryScore.Issue issue) {
+            return overflows.computeIfAbsent(issue.ruleId(), rule -> new Overflow(issue.severity()));
+        }
+    }
+
+    private static final class Overflow {
+        private final CategoryScore.Severity severity;
+        private final List<String> locations = new ArrayList<>();
+        private int count = 0;
+
+        Overflow(CategoryScore.Severity severity) {
+            this.severity = severity;
+        }
+
+        void add(CategoryScore.Issue issue, int maxSamples) {
+            count++;
+            // Only sampled issues have their location rendered
+            if (locations.size() < maxSamples) locations.add(issue.location());
+        }
+
+        void merge(CategoryScore.Issue aggregate, int maxSamples) {
+            count += aggregate.occurrences();
+            for (String location : aggregate.sampleLocations()) {
+                if (locations.size() >= maxSamples) break;
+                locations.add(location);
+            }
+        }
+
+        CategoryScore.Issue toIssue(IssueRule rule) {
+            // The folded issues differ in their arguments, so only the rule's generic suggestion fits them all
+            return CategoryScore.Issue.aggregate(rule, severity, rule.getGenericSuggestion(), count, List.copyOf(locations));
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.scoring.core.scoring.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scoring.core.scoring.model.BatchSpec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads batch entries from NDJSON, one {"id": ..., "spec": ...} object per line.
+ * The spec can be the raw document as a string or an embedded JSON object. Entries without an id are named
+ * after their line number, and unreadable lines become entries without a spec so they are reported, not skipped.
+ * A line longer than maxEntryBytes is skipped without being held and reported as an oversized entry. Once the
+ * batch exceeds maxBatchBytes or maxEntries, reading stops with a final entry reporting the limit. Limits of 0
+ * are unlimited.
+ */
+public final class NdjsonBatchReader implements Iterator<BatchSpec> {
+    private final InputStream input;
+    private final ObjectMapper objectMapper;
+    private final long maxEntryBytes;
+    private final long maxBatchBytes;
+    private final int maxEntries;
+
+    private final byte[] buffer = new byte[8192];
+    private int position = 0;
+    private int limit = 0;
+
+    private long batchBytes = 0;
+    private int entries = 0;
+    private int lineNumber = 0;
+    private boolean done = false;
+    private BatchSpec next;
+
+    public NdjsonBatchReader(InputStream input, ObjectMapper objectMapper) {
+        this(input, objectMapper, 0, 0, 0);
+    }
+
+    public NdjsonBatchReader(
+            InputStream input,
+            ObjectMapper objectMapper,
+            long maxEntryBytes,
+            long maxBatchBytes,
+            int maxEntries
+    ) {
+        this.input = input;
+        this.objectMapper = objectMapper;
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxBatchBytes = maxBatchBytes;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) next = readNext();
+        return next != null;
+    }
+
+    @Override
+    public BatchSpec next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        BatchSpec spec = next;
+        next = null;
+        return spec;
+    }
+
+    private BatchSpec readNext() {
+        try {
+            Line line;
+            do {
+                line = readLine();
+                lineNumber++;
+            } while (line != null && line.isBlank() && !isOverBatchLimit());
+
+            if (line == null) {
+                done = true;
+                return null;
+            }
+            if (isOverBatchLimit()) {
+                done = true;
+                return BatchSpec.failed("line-" + lineNumber, "Batch exceeds the maximum size of " + maxBatchBytes + " bytes");
+            }
+            if (maxEntries > 0 && ++entries > maxEntries) {
+                done = true;
+                return BatchSpec.failed("line-" + lineNumber, "Batch exceeds the maximum of " + maxEntries + " entries");
+            }
+            if (line.oversized()) {
+                return BatchSpec.failed("line-" + lineNumber, "Entry exceeds the maximum size of " + maxEntryBytes + " bytes");
+            }
+            return parse(line.content());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads up to the next line feed, keeping at most maxEntryBytes of it. A line that takes the batch over its
+     * size limit is not read any further. Returns null at the end of the input.
+     */
+    private Line readLine() throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        long length = 0;
+        boolean read = false;
+
+        while (true) {
+            if (position == limit) {
+                limit = input.read(buffer);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    break;
+                }
+            }
+            read = true;
+
+            int end = position;
+            while (end < limit && buffer[end] != '\n') end++;
+            boolean lineEnd = end < limit;
+
+            long kept = maxEntryBytes > 0 ? Math.max(0, Math.min(end - position, maxEntryBytes - length)) : end - position;
+            content.write(buffer, position, (int) kept);
+            length += end - position;
+            batchBytes += end - position + (lineEnd ? 1 : 0);
+            position = lineEnd ? end + 1 : limit;
+
+            if (lineEnd || isOverBatchLimit()) break;
+        }
+        return read ? new Line(content.toByteArray(), maxEntryBytes > 0 && length > maxEntryBytes) : null;
+    }
+
+    private boolean isOverBatchLimit() {
+        return maxBatchBytes > 0 && batchBytes > maxBatchBytes;
+    }
+
+    private BatchSpec parse(byte[] line) {
+        String fallbackId = "line-" + lineNumber;
+        try {
+            JsonNode entry = objectMapper.readTree(line);
+            JsonNode id = entry.path("id");
+            JsonNode spec = entry.path("spec");
+
+            return new BatchSpec(
+                    id.isValueNode() && !id.isNull() ? id.asText() : fallbackId,
+                    spec.isTextual() ? spec.asText() : spec.isContainerNode() ? spec.toString() : null);
+        } catch (JsonProcessingException e) {
+            return new BatchSpec(fallbackId, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Line(byte[] content, boolean oversized) {
+        boolean isBlank() {
+            if (oversized) return false;
+            for (byte b : content) {
+                if (b != ' ' && b != '\t' && b != '\r') return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.scoring.core.scoring.service;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+/**
+ * A parsed spec together with the SHA-256 of the content it was parsed from, which is null for specs loaded
+ * from a location. Specs over a summary-only complexity limit are flagged so they are scored without a report.
+ */
+public record ParsedSpec(
+        OpenAPI spec,
+        String contentHash,
+        boolean summaryOnly
+) {
+}
@@ -0,0 +1,220 @@
+package com.scoring.core.scoring.service;
+
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.exception.OpenAPILoadException;
+import com.scoring.core.scoring.service.cache.CacheStats;
+import com.scoring.core.scoring.service.cache.LruCache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.function.Predicate;
+
+/**
+ * Fetches remote specs over HTTP with timeouts and a bounded number of concurrent connections.
+ * Responses carrying an ETag or Last-Modified are cached as their unresolved tree and revalidated with
+ * If-None-Match / If-Modified-Since, so an unchanged document is neither transferred nor parsed again.
+ * The validators only cover the document itself, so its external refs are resolved again and a model of its own
+ * is built on every fetch; the cached tree is shared and never modified.
+ */
+public class RemoteSpecFetcher {
+    // Redirects are followed by hand, so every hop is checked before it is requested
+    private static final int MAX_REDIRECTS = 5;
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final Semaphore connections;
+    private final long maxBodyBytes;
+    private final int maxInflationRatio;
+    private final DocumentReader<SpecTree> reader;
+    private final SpecParser parser;
+
+    private final LruCache<URI, CachedSpec> cache;
+
+    private long notModified = 0;
+
+    /**
+     * Builds the model of a fetched tree without modifying it; invalid documents are reported with
+     * {@link OpenAPILoadException}
+     */
+    @FunctionalInterface
+    public interface SpecParser {
+        ParsedSpec parse(URI uri, SpecTree tree);
+    }
+
+    /**
+     * Reads a fetched document that is not cached, such as one referenced by another spec
+     */
+    @FunctionalInterface
+    public interface DocumentReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    private record CachedSpec(String etag, String lastModified, SpecTree tree) {
+    }
+
+    public RemoteSpecFetcher(
+            ScoringConfig.RemoteSettings remote,
+            ScoringConfig.InputSettings input,
+            DocumentReader<SpecTree> reader,
+            SpecParser parser
+    ) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(remote.getConnectTimeoutMillis()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.requestTimeout = Duration.ofMillis(remote.getRequestTimeoutMillis());
+        this.connections = new Semaphore(Math.max(1, remote.getMaxConnections()));
+        this.maxBodyBytes = input.getMaxBodyBytes();
+        this.maxInflationRatio = input.getMaxInflationRatio();
+        this.reader = reader;
+        this.parser = parser;
+        this.cache = new LruCache<>(remote.getCacheMaxEntries());
+    }
+
+    public ParsedSpec fetch(URI uri) {
+        CachedSpec cached = cache.get(uri);
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Accept-Encoding", "gzip")
+                .GET();
+        if (cached != null && cached.etag() != null) request.header("If-None-Match", cached.etag());
+        if (cached != null && cached.lastModified() != null) request.header("If-Modified-Since", cached.lastModified());
+
+        try {
+            SpecTree tree;
+            URI base;
+            connections.acquire();
+            try {
+                // The spec location itself is chosen by the caller, so its redirects may go to any http(s) URL
+                HttpResponse<InputStream> response = send(request, uri, location -> true);
+                base = response.uri();
+                try (InputStream body = response.body()) {
+                    if (response.statusCode() == 304 && cached != null) {
+                        countNotModified();
+                        tree = cached.tree();
+                    } else if (response.statusCode() / 100 != 2) {
+                        throw new OpenAPILoadException(
+                                "Failed to load OpenAPI spec: " + uri + " returned HTTP " + response.statusCode());
+                    } else {
+                        tree = reader.read(decodedBody(response));
+                        String etag = response.headers().firstValue("ETag").orElse(null);
+                        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+                        // Without a validator the document could not be revalidated, so it is not cached
+                        if (etag != null || lastModified != null) {
+                            cache.put(uri, new CachedSpec(etag, lastModified, tree));
+                        }
+                    }
+                }
+            } finally {
+                // Resolving fetches referenced documents through the same limit, so the permit is not held meanwhile
+                connections.release();
+            }
+
+            // Relative refs are resolved against the location the spec was finally read from
+            return parser.parse(base, tree);
+        } catch (IOException e) {
+            throw new OpenAPILoadException("Failed to load OpenAPI spec: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OpenAPILoadException("Failed to load OpenAPI spec: interrupted");
+        }
+    }
+
+    /**
+     * Fetches a document without revalidation caching, following only redirects to locations accepted by allowed;
+     * failures are thrown as IOException for the caller to report
+     */
+    public <T> T fetchDocument(URI uri, Predicate<URI> allowed, DocumentReader<T> reader) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Accept-Encoding", "gzip")
+                .GET();
+
+        try {
+            connections.acquire();
+            try {
+                HttpResponse<InputStream> response = send(request, uri, allowed);
+                try (InputStream body = response.body()) {
+                    if (response.statusCode() / 100 != 2) {
+                        throw new IOException(uri + " returned HTTP " + response.statusCode());
+                    }
+                    return reader.read(decodedBody(response));
+                }
+            } finally {
+                connections.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted");
+        }
+    }
+
+    /**
+     * Sends the request and follows up to MAX_REDIRECTS redirects to http(s) locations accepted by allowed.
+     * The final response tells the location it came from.
+     */
+    private HttpResponse<InputStream> send(HttpRequest.Builder request, URI uri, Predicate<URI> allowed)
+            throws IOException, InterruptedException {
+        URI location = uri;
+        for (int redirects = 0; ; redirects++) {
+            HttpResponse<InputStream> response = client.send(request.uri(location).build(), HttpResponse.BodyHandlers.ofInputStream());
+            if (!isRedirect(response.statusCode())) return response;
+
+            response.body().close();
+            if (redirects == MAX_REDIRECTS) {
+                throw new IOException(uri + " redirected more than " + MAX_REDIRECTS + " times");
+            }
+            URI next = redirectTarget(location, response);
+            if (!isHttp(next) || !allowed.test(next)) {
+                throw new IOException(location + " redirected to " + next + ", which is not allowed");
+            }
+            location = next;
+        }
+    }
+
+    private static boolean isRedirect(int status) {
+        return status == 301 || status == 302 || status == 303 || status == 307 || status == 308;
+    }
+
+    private static URI redirectTarget(URI location, HttpResponse<?> response) throws IOException {
+        String target = response.headers().firstValue("Location")
+                .orElseThrow(() -> new IOException(location + " returned HTTP " + response.statusCode() + " without a Location"));
+        try {
+            return location.resolve(new URI(target)).normalize();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new IOException(location + " redirected to an invalid location " + target);
+        }
+    }
+
+    private static boolean isHttp(URI uri) {
+        return ("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme())) && uri.getHost() != null;
+    }
+
+    private InputStream decodedBody(HttpResponse<InputStream> response) {
+        InputStream decoded = ContentDecoding.decode(
+                response.body(),
+                response.headers().firstValue("Content-Encoding").orElse(null),
+                maxInflationRatio);
+        return new SizeLimitedInputStream(decoded, maxBodyBytes);
+    }
+
+    public CacheStats getCacheStats() {
+        return cache.stats();
+    }
+
+    public synchronized long getNotModifiedCount() {
+        return notModified;
+    }
+
+    private synchronized void countNotModified() {
+        notModified++;
+    }
+}
@@ -0,0 +1,71 @@
+package com.scoring.core.scoring.service;
+
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the data type of schemas within a single spec.
+ * Reads type (OAS 3.0) or types (OAS 3.1) directly and follows local component $refs when a schema
+ * declares no type itself. Results are cached per Schema instance, so an instance must not be shared
+ * between threads or outlive the spec it was created for.
+ */
+public class SchemaTypeResolver {
+    private static final String NO_TYPE = "";
+
+    private final ComponentReferenceIndex references;
+    private final Map<Schema<?>, String> typeCache = new IdentityHashMap<>();
+
+    public SchemaTypeResolver(ComponentReferenceIndex references) {
+        this.references = references;
+    }
+
+    /**
+     * Returns the schema type, following $refs when needed, or null when no type is declared
+     */
+    public String resolveType(Schema<?> schema) {
+        if (schema == null) return null;
+
+        String type = typeCache.get(schema);
+        if (type == null) {
+            Schema<?> target = dereference(schema);
+            type = declaredType(target);
+            typeCache.put(schema, type != null ? type : NO_TYPE);
+            return type;
+        }
+        return type.equals(NO_TYPE) ? null : type;
+    }
+
+    /**
+     * Follows the chain of local component $refs and returns the first schema that declares something
+     * other than a $ref. Unresolvable or cyclic references return the last schema reached.
+     */
+    public Schema<?> dereference(Schema<?> schema) {
+        Schema<?> current = schema;
+        Set<Schema<?>> seen = null;
+        while (current != null && current.get$ref() != null && declaredType(current) == null) {
+            Schema<?> target = references.resolve(current.get$ref(), Schema.class);
+            if (target == null) break;
+
+            if (seen == null) seen = Collections.newSetFromMap(new IdentityHashMap<>());
+            if (!seen.add(current)) break;
+            current = target;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the type declared on the schema itself without following $refs
+     */
+    public static String declaredType(Schema<?> schema) {
+        if (schema == null) return null;
+        if (schema.getType() != null) return schema.getType();
+
+        Set<String> types = schema.getTypes();
+        if (types == null || types.isEmpty()) return null;
+        return types.size() == 1 ? types.iterator().next() : String.join(", ", types);
+    }
+}
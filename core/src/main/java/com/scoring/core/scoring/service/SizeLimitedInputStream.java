@@ -0,0 +1,54 @@
+package com.scoring.core.scoring.service;
+
+import com.scoring.core.scoring.model.exception.SpecTooLargeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Fails with {@link SpecTooLargeException} as soon as more than maxBytes have been read, so oversized bodies are
+ * rejected while streaming instead of after buffering them. A maximum of zero or less disables the check.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+    private final long maxBytes;
+    private long count = 0;
+
+    public SizeLimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) advance(1);
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = super.read(buffer, offset, length);
+        if (n > 0) advance(n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        advance(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void advance(long n) {
+        count += n;
+        if (maxBytes > 0 && count > maxBytes) {
+            throw new SpecTooLargeException("Spec exceeds the maximum size of " + maxBytes + " bytes");
+        }
+    }
+}
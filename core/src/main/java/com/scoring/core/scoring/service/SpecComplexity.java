@@ -0,0 +1,12 @@
+package com.scoring.core.scoring.service;
+
+/**
+ * Size and shape of a raw spec as estimated by {@link SpecComplexityScanner}
+ */
+public record SpecComplexity(
+        long bytes,
+        int maxDepth,
+        long keys,
+        long paths
+) {
+}
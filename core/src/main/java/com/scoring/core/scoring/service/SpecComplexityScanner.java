@@ -0,0 +1,342 @@
+package com.scoring.core.scoring.service;
+
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.exception.SpecTooComplexException;
+
+import java.util.Arrays;
+
+/**
+ * Estimates the size and shape of a raw JSON or YAML spec in a single pass over its bytes without building
+ * anything. JSON is measured by its brackets and colons. YAML is measured by indentation, with a key being a
+ * "key:" at the start of a line and block scalars skipped. Crossing a max-* limit throws
+ * {@link SpecTooComplexException} right away, so a pathological document is rejected before it is parsed.
+ */
+public class SpecComplexityScanner {
+    private static final byte[] PATHS = {'p', 'a', 't', 'h', 's'};
+
+    private final ScoringConfig.GuardSettings limits;
+
+    private long bytes = 0;
+    private int maxDepth = 0;
+    private long keys = 0;
+    private long paths = 0;
+
+    private boolean started = false;
+    private boolean json = false;
+
+    // Up to the first five bytes of the current JSON string or YAML key, to recognise "paths"
+    private final byte[] name = new byte[PATHS.length];
+    private int nameLength = 0;
+
+    // JSON state
+    private int depth = 0;
+    private boolean inString = false;
+    private boolean escaped = false;
+    private boolean pathsNext = false;
+    private int pathsDepth = -1;
+
+    // YAML state
+    private int[] indents = new int[16];
+    private int indentCount = 0;
+    private int indent = 0;
+    private int lineIndent = 0;
+    private boolean lineStarted = false;
+    private boolean skipLine = false;
+    private boolean dashPending = false;
+    private boolean colonPending = false;
+    private boolean afterColon = false;
+    private boolean keyOnLine = false;
+    private int quote = 0;
+    private int previous = 0;
+    private int lastSignificant = 0;
+    private int flowDepth = 0;
+    private int blockScalarIndent = -1;
+    private boolean inPaths = false;
+    private int pathIndent = -1;
+
+    public SpecComplexityScanner(ScoringConfig.GuardSettings limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Scans a whole spec held as a String; characters outside ASCII count as one byte each
+     */
+    public static SpecComplexity scan(String content, ScoringConfig.GuardSettings limits) {
+        SpecComplexityScanner scanner = new SpecComplexityScanner(limits);
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (i == 0 && c == '\uFEFF') continue;
+            scanner.update(c < 0x80 ? c : 0x80);
+        }
+        return scanner.complexity();
+    }
+
+    public void update(byte[] buffer, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            update(buffer[i] & 0xFF);
+        }
+    }
+
+    public void update(int b) {
+        bytes++;
+        if (!started) {
+            // Whitespace and a byte order mark come before the first significant byte in both formats
+            if (b == 0xEF || b == 0xBB || b == 0xBF) return;
+            if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+                started = true;
+                json = b == '{' || b == '[';
+            }
+        }
+
+        if (json) {
+            updateJson(b);
+        } else {
+            updateYaml(b);
+        }
+    }
+
+    public SpecComplexity complexity() {
+        return new SpecComplexity(bytes, maxDepth, keys, paths);
+    }
+
+    /**
+     * Returns true when the spec crossed a summary-only limit and should be scored without a report
+     */
+    public static boolean isSummaryOnly(SpecComplexity complexity, ScoringConfig.GuardSettings limits) {
+        return exceeds(complexity.bytes(), limits.getSummaryOnlyBytes()) ||
+                exceeds(complexity.keys(), limits.getSummaryOnlyKeys()) ||
+                exceeds(complexity.paths(), limits.getSummaryOnlyPaths());
+    }
+
+    private void updateJson(int b) {
+        if (inString) {
+            if (escaped) {
+                escaped = false;
+            } else if (b == '\\') {
+                escaped = true;
+            } else if (b == '"') {
+                inString = false;
+            } else {
+                capture(b);
+            }
+            return;
+        }
+
+        switch (b) {
+            case '"' -> {
+                inString = true;
+                nameLength = 0;
+            }
+            case '{', '[' -> {
+                depth(++depth);
+                // The object after a top-level "paths" key holds one member per path
+                if (b == '{' && pathsNext && depth == 2) pathsDepth = depth;
+                pathsNext = false;
+            }
+            case '}', ']' -> {
+                if (depth == pathsDepth) pathsDepth = -1;
+                depth--;
+            }
+            case ':' -> {
+                key();
+                if (depth == 1) pathsNext = isPaths();
+                else if (depth == pathsDepth) path();
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void updateYaml(int b) {
+        if (b == '\n') {
+            endLine();
+            return;
+        }
+        if (skipLine) return;
+
+        if (!lineStarted) {
+            if (dashPending) {
+                dashPending = false;
+                if (b == ' ' || b == '\t') {
+                    // A sequence entry nests its content below the dash
+                    indent += 2;
+                    return;
+                }
+                if (!startLine()) return;
+                contentYaml(b);
+                return;
+            }
+            switch (b) {
+                case ' ', '\t', '\r' -> indent++;
+                case '-' -> dashPending = true;
+                case '#' -> skipLine = true;
+                default -> {
+                    if (startLine()) contentYaml(b);
+                }
+            }
+            return;
+        }
+
+        contentYaml(b);
+    }
+
+    private boolean startLine() {
+        lineStarted = true;
+        if (blockScalarIndent >= 0) {
+            if (indent > blockScalarIndent) {
+                skipLine = true;
+                return false;
+            }
+            blockScalarIndent = -1;
+        }
+
+        lineIndent = indent;
+        if (flowDepth == 0) {
+            while (indentCount > 0 && indents[indentCount - 1] >= indent) indentCount--;
+            if (indentCount == indents.length) indents = Arrays.copyOf(indents, indents.length * 2);
+            indents[indentCount++] = indent;
+            depth(indentCount);
+
+            if (inPaths && indent == 0) inPaths = false;
+        }
+        return true;
+    }
+
+    private void contentYaml(int b) {
+        if (quote != 0) {
+            if (escaped) {
+                escaped = false;
+            } else if (b == '\\' && quote == '"') {
+                escaped = true;
+            } else if (b == quote) {
+                quote = 0;
+                lastSignificant = b;
+            } else if (!keyOnLine) {
+                capture(b);
+            }
+            previous = b;
+            return;
+        }
+
+        if (afterColon) {
+            if (b == ' ' || b == '\t') return;
+            afterColon = false;
+            if ((b == '|' || b == '>') && flowDepth == 0) {
+                // The block scalar's lines are text, whatever colons they contain
+                blockScalarIndent = lineIndent;
+                skipLine = true;
+                return;
+            }
+        }
+
+        if (colonPending) {
+            colonPending = false;
+            if (flowDepth > 0 || b == ' ' || b == '\t' || b == '\r') {
+                yamlKey();
+                afterColon = true;
+                if (b == ' ' || b == '\t' || b == '\r') {
+                    previous = b;
+                    return;
+                }
+                afterColon = false;
+            }
+        }
+
+        boolean valueStart = lastSignificant == 0 || lastSignificant == ':' || lastSignificant == '-' ||
+                lastSignificant == ',' || lastSignificant == '[' || lastSignificant == '{' || lastSignificant == '?';
+        switch (b) {
+            case '"', '\'' -> {
+                if (valueStart) quote = b;
+            }
+            case ':' -> colonPending = true;
+            case '#' -> {
+                if (previous == ' ' || previous == '\t') {
+                    skipLine = true;
+                    return;
+                }
+            }
+            case '{', '[' -> {
+                if (valueStart) depth(indentCount + ++flowDepth);
+            }
+            case '}', ']' -> {
+                if (flowDepth > 0) flowDepth--;
+            }
+            default -> {
+                if (!keyOnLine && b != ' ' && b != '\t') capture(b);
+            }
+        }
+        previous = b;
+        if (b != ' ' && b != '\t' && b != '\r') lastSignificant = b;
+    }
+
+    private void endLine() {
+        if (colonPending && !skipLine) yamlKey();
+
+        indent = 0;
+        lineStarted = false;
+        skipLine = false;
+        dashPending = false;
+        colonPending = false;
+        afterColon = false;
+        keyOnLine = false;
+        nameLength = 0;
+        previous = 0;
+        lastSignificant = 0;
+        escaped = false;
+        // Quoted scalars rarely span lines, so an unbalanced quote is not carried over
+        if (flowDepth == 0) quote = 0;
+    }
+
+    private void yamlKey() {
+        key();
+        if (flowDepth > 0 || keyOnLine) return;
+        keyOnLine = true;
+
+        if (lineIndent == 0) {
+            inPaths = isPaths();
+            pathIndent = -1;
+        } else if (inPaths) {
+            if (pathIndent < 0) pathIndent = lineIndent;
+            if (lineIndent == pathIndent) path();
+        }
+    }
+
+    private void capture(int b) {
+        if (nameLength < name.length) name[nameLength] = (byte) b;
+        nameLength++;
+    }
+
+    private boolean isPaths() {
+        if (nameLength != PATHS.length) return false;
+        for (int i = 0; i < PATHS.length; i++) {
+            if (name[i] != PATHS[i]) return false;
+        }
+        return true;
+    }
+
+    private void depth(int current) {
+        if (current <= maxDepth) return;
+        maxDepth = current;
+        if (exceeds(maxDepth, limits.getMaxDepth())) {
+            throw new SpecTooComplexException("Spec exceeds the maximum nesting depth of " + limits.getMaxDepth());
+        }
+    }
+
+    private void key() {
+        keys++;
+        if (exceeds(keys, limits.getMaxKeys())) {
+            throw new SpecTooComplexException("Spec exceeds the maximum of " + limits.getMaxKeys() + " keys");
+        }
+    }
+
+    private void path() {
+        paths++;
+        if (exceeds(paths, limits.getMaxPaths())) {
+            throw new SpecTooComplexException("Spec exceeds the maximum of " + limits.getMaxPaths() + " paths");
+        }
+    }
+
+    private static boolean exceeds(long value, long limit) {
+        return limit > 0 && value > limit;
+    }
+}
@@ -0,0 +1,408 @@
+package com.scoring.core.scoring.service;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+
+import java.util.*;
+
+/**
+ * Immutable, flattened view of a spec built in a single pass.
+ * Every kind of element lives in its own array in document order. Parents refer to their children
+ * through a {@link Range} into the child array, and children refer back to their parent by index.
+ * Once built, an index can be shared between threads as long as the underlying model is not modified.
+ */
+public final class SpecIndex {
+    private static final int[] NONE = new int[0];
+
+    public record Range(int start, int end) {
+        public int size() {
+            return end - start;
+        }
+    }
+
+    public record PathEntry(String path, PathItem pathItem, Range operations) {
+    }
+
+    public record OperationEntry(
+            int pathIndex,
+            String path,
+            PathItem.HttpMethod method,
+            String operationId,
+            Operation operation,
+            Range parameters,
+            Range requestMediaTypes,
+            Range responses,
+            Range securityRequirements
+    ) {
+    }
+
+    public record ParameterEntry(int operationIndex, Parameter parameter) {
+    }
+
+    public record ResponseEntry(int operationIndex, String responseCode, ApiResponse response, Range mediaTypes) {
+    }
+
+    /**
+     * Request body media types have a null response code
+     */
+    public record MediaTypeEntry(int operationIndex, String responseCode, String name, MediaType mediaType) {
+    }
+
+    public record SchemaEntry(String name, Schema<?> schema, Range properties) {
+    }
+
+    public record PropertyEntry(int schemaIndex, String name, Schema<?> schema) {
+    }
+
+    public record SecuritySchemeEntry(String name, SecurityScheme scheme) {
+    }
+
+    /**
+     * Global requirements have an operation index of -1
+     */
+    public record SecurityRequirementEntry(int operationIndex, String schemeName) {
+    }
+
+    private final OpenAPI spec;
+    private final ComponentReferenceIndex references;
+
+    private final PathEntry[] paths;
+    private final OperationEntry[] operations;
+    private final ParameterEntry[] parameters;
+    private final ResponseEntry[] responses;
+    private final MediaTypeEntry[] requestMediaTypes;
+    private final MediaTypeEntry[] responseMediaTypes;
+    private final SchemaEntry[] schemas;
+    private final PropertyEntry[] properties;
+    private final SecuritySchemeEntry[] securitySchemes;
+    private final SecurityRequirementEntry[] securityRequirements;
+    private final Range globalSecurityRequirements;
+
+    private final Map<String, Integer> pathIndexByPath;
+    private final Map<String, int[]> operationIndicesById;
+    private final Map<String, Integer> schemaIndexByName;
+    private final Map<String, Integer> securitySchemeIndexByName;
+    private final Map<String, int[]> securityRequirementIndicesByScheme;
+
+    private SpecIndex(Builder builder) {
+        this.spec = builder.spec;
+        this.references = ComponentReferenceIndex.of(builder.spec);
+        this.paths = builder.paths.toArray(new PathEntry[0]);
+        this.operations = builder.operations.toArray(new OperationEntry[0]);
+        this.parameters = builder.parameters.toArray(new ParameterEntry[0]);
+        this.responses = builder.responses.toArray(new ResponseEntry[0]);
+        this.requestMediaTypes = builder.requestMediaTypes.toArray(new MediaTypeEntry[0]);
+        this.responseMediaTypes = builder.responseMediaTypes.toArray(new MediaTypeEntry[0]);
+        this.schemas = builder.schemas.toArray(new SchemaEntry[0]);
+        this.properties = builder.properties.toArray(new PropertyEntry[0]);
+        this.securitySchemes = builder.securitySchemes.toArray(new SecuritySchemeEntry[0]);
+        this.securityRequirements = builder.securityRequirements.toArray(new SecurityRequirementEntry[0]);
+        this.globalSecurityRequirements = builder.globalSecurityRequirements;
+
+        this.pathIndexByPath = new HashMap<>();
+        for (int i = 0; i < paths.length; i++) pathIndexByPath.putIfAbsent(paths[i].path(), i);
+
+        this.operationIndicesById = groupIndices(operations, OperationEntry::operationId);
+
+        this.schemaIndexByName = new HashMap<>();
+        for (int i = 0; i < schemas.length; i++) schemaIndexByName.putIfAbsent(schemas[i].name(), i);
+
+        this.securitySchemeIndexByName = new HashMap<>();
+        for (int i = 0; i < securitySchemes.length; i++) securitySchemeIndexByName.putIfAbsent(securitySchemes[i].name(), i);
+
+        this.securityRequirementIndicesByScheme = groupIndices(securityRequirements, SecurityRequirementEntry::schemeName);
+    }
+
+    public static SpecIndex of(OpenAPI spec) {
+        Builder builder = new Builder(spec);
+        builder.indexComponents();
+        builder.indexGlobalSecurity();
+        builder.indexPaths();
+        return new SpecIndex(builder);
+    }
+
+    public OpenAPI spec() {
+        return spec;
+    }
+
+    public ComponentReferenceIndex references() {
+        return references;
+    }
+
+    public List<PathEntry> paths() {
+        return view(paths);
+    }
+
+    public List<OperationEntry> operations() {
+        return view(operations);
+    }
+
+    public List<ParameterEntry> parameters() {
+        return view(parameters);
+    }
+
+    public List<ResponseEntry> responses() {
+        return view(responses);
+    }
+
+    public List<MediaTypeEntry> requestMediaTypes() {
+        return view(requestMediaTypes);
+    }
+
+    public List<MediaTypeEntry> responseMediaTypes() {
+        return view(responseMediaTypes);
+    }
+
+    public List<SchemaEntry> schemas() {
+        return view(schemas);
+    }
+
+    public List<PropertyEntry> properties() {
+        return view(properties);
+    }
+
+    public List<SecuritySchemeEntry> securitySchemes() {
+        return view(securitySchemes);
+    }
+
+    public List<SecurityRequirementEntry> securityRequirements() {
+        return view(securityRequirements);
+    }
+
+    public PathEntry path(int index) {
+        return paths[index];
+    }
+
+    public OperationEntry operation(int index) {
+        return operations[index];
+    }
+
+    public ParameterEntry parameter(int index) {
+        return parameters[index];
+    }
+
+    public ResponseEntry response(int index) {
+        return responses[index];
+    }
+
+    public MediaTypeEntry requestMediaType(int index) {
+        return requestMediaTypes[index];
+    }
+
+    public MediaTypeEntry responseMediaType(int index) {
+        return responseMediaTypes[index];
+    }
+
+    public SchemaEntry schema(int index) {
+        return schemas[index];
+    }
+
+    public PropertyEntry property(int index) {
+        return properties[index];
+    }
+
+    public SecuritySchemeEntry securityScheme(int index) {
+        return securitySchemes[index];
+    }
+
+    public SecurityRequirementEntry securityRequirement(int index) {
+        return securityRequirements[index];
+    }
+
+    public Range globalSecurityRequirements() {
+        return globalSecurityRequirements;
+    }
+
+    public int operationCount() {
+        return operations.length;
+    }
+
+    /**
+     * Returns the index of the path, or -1 when the spec does not define it
+     */
+    public int pathIndex(String path) {
+        return pathIndexByPath.getOrDefault(path, -1);
+    }
+
+    /**
+     * Returns the indices of all operations with the given id; several when ids are duplicated
+     */
+    public int[] operationIndices(String operationId) {
+        return operationIndicesById.getOrDefault(operationId, NONE).clone();
+    }
+
+    /**
+     * Returns the index of the component schema, or -1 when the spec does not define it
+     */
+    public int schemaIndex(String schemaName) {
+        return schemaIndexByName.getOrDefault(schemaName, -1);
+    }
+
+    /**
+     * Returns the index of the security scheme, or -1 when the spec does not define it
+     */
+    public int securitySchemeIndex(String schemeName) {
+        return securitySchemeIndexByName.getOrDefault(schemeName, -1);
+    }
+
+    /**
+     * Returns the indices of all global and operation requirements that reference the scheme
+     */
+    public int[] securityRequirementIndices(String schemeName) {
+        return securityRequirementIndicesByScheme.getOrDefault(schemeName, NONE).clone();
+    }
+
+    private static <T> List<T> view(T[] entries) {
+        return Collections.unmodifiableList(Arrays.asList(entries));
+    }
+
+    private static <T> Map<String, int[]> groupIndices(T[] entries, java.util.function.Function<T, String> key) {
+        Map<String, List<Integer>> grouped = new HashMap<>();
+        for (int i = 0; i < entries.length; i++) {
+            grouped.computeIfAbsent(key.apply(entries[i]), k -> new ArrayList<>()).add(i);
+        }
+
+        Map<String, int[]> indices = new HashMap<>();
+        grouped.forEach((k, list) -> indices.put(k, list.stream().mapToInt(Integer::intValue).toArray()));
+        return indices;
+    }
+
+    private static class Builder {
+        private final OpenAPI spec;
+
+        private final List<PathEntry> paths = new ArrayList<>();
+        private final List<OperationEntry> operations = new ArrayList<>();
+        private final List<ParameterEntry> parameters = new ArrayList<>();
+        private final List<ResponseEntry> responses = new ArrayList<>();
+        private final List<MediaTypeEntry> requestMediaTypes = new ArrayList<>();
+        private final List<MediaTypeEntry> responseMediaTypes = new ArrayList<>();
+        private final List<SchemaEntry> schemas = new ArrayList<>();
+        private final List<PropertyEntry> properties = new ArrayList<>();
+        private final List<SecuritySchemeEntry> securitySchemes = new ArrayList<>();
+        private final List<SecurityRequirementEntry> securityRequirements = new ArrayList<>();
+        private Range globalSecurityRequirements = new Range(0, 0);
+
+        private Builder(OpenAPI spec) {
+            this.spec = spec;
+        }
+
+        private void indexComponents() {
+            if (spec.getComponents() == null) return;
+
+            if (spec.getComponents().getSchemas() != null) {
+                for (Map.Entry<String, Schema> schemaEntry : spec.getComponents().getSchemas().entrySet()) {
+                    Schema<?> schema = schemaEntry.getValue();
+                    int schemaIndex = schemas.size();
+                    int firstProperty = properties.size();
+
+                    if (schema.getProperties() != null) {
+                        for (Map.Entry<String, Schema> propertyEntry : schema.getProperties().entrySet()) {
+                            properties.add(new PropertyEntry(schemaIndex, propertyEntry.getKey(), propertyEntry.getValue()));
+                        }
+                    }
+
+                    schemas.add(new SchemaEntry(schemaEntry.getKey(), schema, new Range(firstProperty, properties.size())));
+                }
+            }
+
+            if (spec.getComponents().getSecuritySchemes() != null) {
+                for (Map.Entry<String, SecurityScheme> schemeEntry : spec.getComponents().getSecuritySchemes().entrySet()) {
+                    securitySchemes.add(new SecuritySchemeEntry(schemeEntry.getKey(), schemeEntry.getValue()));
+                }
+            }
+        }
+
+        private void indexGlobalSecurity() {
+            int first = securityRequirements.size();
+            addSecurityRequirements(-1, spec.getSecurity());
+            globalSecurityRequirements = new Range(first, securityRequirements.size());
+        }
+
+        private void indexPaths() {
+            if (spec.getPaths() == null) return;
+
+            for (Map.Entry<String, PathItem> pathEntry : spec.getPaths().entrySet()) {
+                String path = pathEntry.getKey();
+                PathItem pathItem = pathEntry.getValue();
+                int pathIndex = paths.size();
+                int firstOperation = operations.size();
+
+                for (Map.Entry<PathItem.HttpMethod, Operation> operationEntry : pathItem.readOperationsMap().entrySet()) {
+                    indexOperation(pathIndex, path, operationEntry.getKey(), operationEntry.getValue());
+                }
+
+                paths.add(new PathEntry(path, pathItem, new Range(firstOperation, operations.size())));
+            }
+        }
+
+        private void indexOperation(int pathIndex, String path, PathItem.HttpMethod method, Operation operation) {
+            int operationIndex = operations.size();
+            String operationId = operation.getOperationId() != null ? operation.getOperationId() : method.toString();
+
+            int firstParameter = parameters.size();
+            if (operation.getParameters() != null) {
+                for (Parameter parameter : operation.getParameters()) {
+                    parameters.add(new ParameterEntry(operationIndex, parameter));
+                }
+            }
+
+            int firstRequestMediaType = requestMediaTypes.size();
+            if (operation.getRequestBody() != null && operation.getRequestBody().getContent() != null) {
+                for (Map.Entry<String, MediaType> mediaTypeEntry : operation.getRequestBody().getContent().entrySet()) {
+                    requestMediaTypes.add(new MediaTypeEntry(
+                            operationIndex, null, mediaTypeEntry.getKey(), mediaTypeEntry.getValue()));
+                }
+            }
+
+            int firstResponse = responses.size();
+            if (operation.getResponses() != null) {
+                for (Map.Entry<String, ApiResponse> responseEntry : operation.getResponses().entrySet()) {
+                    String responseCode = responseEntry.getKey();
+                    ApiResponse response = responseEntry.getValue();
+                    int firstMediaType = responseMediaTypes.size();
+
+                    if (response.getContent() != null) {
+                        for (Map.Entry<String, MediaType> mediaTypeEntry : response.getContent().entrySet()) {
+                            responseMediaTypes.add(new MediaTypeEntry(
+                                    operationIndex, responseCode, mediaTypeEntry.getKey(), mediaTypeEntry.getValue()));
+                        }
+                    }
+
+                    responses.add(new ResponseEntry(
+                            operationIndex, responseCode, response, new Range(firstMediaType, responseMediaTypes.size())));
+                }
+            }
+
+            int firstSecurityRequirement = securityRequirements.size();
+            addSecurityRequirements(operationIndex, operation.getSecurity());
+
+            operations.add(new OperationEntry(
+                    pathIndex,
+                    path,
+                    method,
+                    operationId,
+                    operation,
+                    new Range(firstParameter, parameters.size()),
+                    new Range(firstRequestMediaType, requestMediaTypes.size()),
+                    new Range(firstResponse, responses.size()),
+                    new Range(firstSecurityRequirement, securityRequirements.size())));
+        }
+
+        private void addSecurityRequirements(int operationIndex, List<SecurityRequirement> requirements) {
+            if (requirements == null) return;
+
+            for (SecurityRequirement securityRequirement : requirements) {
+                for (String schemeName : securityRequirement.keySet()) {
+                    securityRequirements.add(new SecurityRequirementEntry(operationIndex, schemeName));
+                }
+            }
+        }
+    }
+}
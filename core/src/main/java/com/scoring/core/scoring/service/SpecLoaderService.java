@@ -1,46 +1,500 @@
 package com.scoring.core.scoring.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.exception.InvalidSnapshotException;
 import com.scoring.core.scoring.model.exception.OpenAPILoadException;
 import com.scoring.core.scoring.model.exception.OpenAPIReadException;
+import com.scoring.core.scoring.model.exception.SpecTooComplexException;
+import com.scoring.core.scoring.service.cache.CacheStats;
+import com.scoring.core.scoring.service.cache.ContentHash;
+import com.scoring.core.scoring.service.cache.LruCache;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
 import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
 import io.swagger.v3.parser.core.models.SwaggerParseResult;
-import io.swagger.v3.parser.exception.ReadContentException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.yaml.snakeyaml.LoaderOptions;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.zip.ZipException;
 
 @Service
 public class SpecLoaderService {
-    private final OpenAPIV3Parser parser;
+    // Content that needs no resolution by the parser: external refs of located specs are resolved by ExternalRefResolver
+    // beforehand, those of submitted content are left as they are, and local refs are scored as they are
+    private static final ParseOptions PLAIN_OPTIONS = plainOptions();
+
+    // One parser per request thread, so concurrent requests never share parser state
+    private final ThreadLocal<OpenAPIV3Parser> parsers = ThreadLocal.withInitial(OpenAPIV3Parser::new);
+
+    // Spec trees keyed by the SHA-256 of their raw content; shared between requests, so they are never modified
+    private final LruCache<String, JsonNode> parseCache;
+
+    // Tree mappers for streamed input; sizes are limited by the callers, not by SnakeYAML's code point limit
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper yamlMapper;
+    private final long maxBodyBytes;
+    private final long mappedFileThresholdBytes;
+    private final boolean pruneUnscoredSections;
+    private final ScoringConfig.GuardSettings guardSettings;
+
+    private final RemoteSpecFetcher remoteFetcher;
+    private final ExternalRefResolver refResolver;
+
+    // Started by the first spec with external refs, so loaders that never resolve any hold no threads
+    private final int fetchParallelism;
+    private ExecutorService fetchPool;
 
     public SpecLoaderService() {
-        this.parser = new OpenAPIV3Parser();
+        this(new ScoringConfig());
+    }
+
+    @Autowired
+    public SpecLoaderService(ScoringConfig scoringConfig) {
+        this(
+                scoringConfig.getCache(),
+                scoringConfig.getInput(),
+                scoringConfig.getRemote(),
+                scoringConfig.getRefs(),
+                scoringConfig.getGuard());
+    }
+
+    private SpecLoaderService(
+            ScoringConfig.CacheSettings cacheSettings,
+            ScoringConfig.InputSettings inputSettings,
+            ScoringConfig.RemoteSettings remoteSettings,
+            ScoringConfig.RefSettings refSettings,
+            ScoringConfig.GuardSettings guardSettings
+    ) {
+        this.parseCache = new LruCache<>(cacheSettings.getParseCacheMaxEntries());
+        this.maxBodyBytes = inputSettings.getMaxBodyBytes();
+        this.mappedFileThresholdBytes = inputSettings.getMappedFileThresholdBytes();
+        this.pruneUnscoredSections = inputSettings.isPruneUnscoredSections();
+        this.guardSettings = guardSettings;
+
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setCodePointLimit(Integer.MAX_VALUE);
+        // Callers own the streams they hand in and close them themselves
+        this.jsonMapper = new ObjectMapper().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        this.yamlMapper = new ObjectMapper(YAMLFactory.builder().loaderOptions(loaderOptions).build())
+                .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+        this.remoteFetcher = new RemoteSpecFetcher(remoteSettings, inputSettings, this::readRemote, this::parseRemote);
+
+        this.fetchParallelism = Math.max(1, refSettings.getParallelism());
+        this.refResolver = new ExternalRefResolver(
+                new RefDocumentLoader(),
+                task -> fetchPool().execute(task),
+                refSettings);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (fetchPool != null) fetchPool.shutdownNow();
+    }
+
+    private synchronized ExecutorService fetchPool() {
+        if (fetchPool == null) {
+            fetchPool = Executors.newFixedThreadPool(
+                    fetchParallelism,
+                    Thread.ofPlatform().name("spec-ref-", 0).daemon().factory());
+        }
+        return fetchPool;
     }
 
     public OpenAPI load(String specLocation) {
+        return loadSpec(specLocation).spec();
+    }
+
+    /**
+     * Loads a spec from a URL or local file. Remote and local specs are scanned while they are read: specs over
+     * a max-* limit are rejected with {@link SpecTooComplexException}, specs over a summary-only-* limit come back
+     * flagged. Locations have no content hash.
+     */
+    public ParsedSpec loadSpec(String specLocation) {
+        URI remote = remoteUri(specLocation);
+        if (remote != null) {
+            return remoteFetcher.fetch(remote);
+        }
+
+        Path localFile = localFile(specLocation);
+        if (localFile != null) {
+            return loadLocal(localFile);
+        }
+
+        // Anything else would be read by swagger-parser, which resolves external refs without the location checks
+        throw new OpenAPILoadException(
+                "Failed to load OpenAPI spec: " + specLocation + " is neither an http(s) URL nor a readable file");
+    }
+
+    public OpenAPI readJson(String rawJson) {
+        return readJson(rawJson, rawJson != null ? ContentHash.sha256(rawJson) : null);
+    }
+
+    public OpenAPI readJson(String rawJson, String contentHash) {
+        return readContent(rawJson, contentHash).spec();
+    }
+
+    /**
+     * Reads raw content after scanning it against the complexity limits: specs over a max-* limit are rejected
+     * with {@link SpecTooComplexException} before parsing, specs over a summary-only-* limit come back flagged
+     */
+    public ParsedSpec readContent(String rawContent, String contentHash) {
+        if (rawContent == null) {
+            return new ParsedSpec(null, contentHash, false);
+        }
+        boolean summaryOnly =
+                SpecComplexityScanner.isSummaryOnly(SpecComplexityScanner.scan(rawContent, guardSettings), guardSettings);
+
+        JsonNode tree = contentHash != null ? parseCache.get(contentHash) : null;
+        if (tree != null) {
+            return new ParsedSpec(readModel(tree), contentHash, summaryOnly);
+        }
+
+        tree = readTree(rawContent);
+        OpenAPI spec = readModel(tree);
+        if (contentHash != null) {
+            parseCache.put(contentHash, tree);
+        }
+        return new ParsedSpec(spec, contentHash, summaryOnly);
+    }
+
+    /**
+     * Parses a spec read from a stream
+     */
+    public ParsedSpec readStream(InputStream input) {
+        return parse(readBody(input));
+    }
+
+    /**
+     * Parses a body into a tree as it arrives, hashing and scanning the bytes on the way, so the body is never
+     * held as a whole. JSON or YAML is chosen from the first non-blank byte; reading fails once max-body-bytes or
+     * a max-* complexity limit is exceeded. The hash covers the whole body, including anything after the document.
+     */
+    public SpecTree readBody(InputStream input) {
+        MessageDigest digest = ContentHash.newDigest();
+        SpecComplexityScanner scanner = new SpecComplexityScanner(guardSettings);
+        try (InputStream scanned = new DigestInputStream(
+                new ComplexityScanningInputStream(new SizeLimitedInputStream(input, maxBodyBytes), scanner),
+                digest)) {
+            BufferedInputStream buffered = new BufferedInputStream(scanned);
+            JsonNode tree = readTree(buffered, SpecSectionFilter.forSpec());
+            buffered.transferTo(OutputStream.nullOutputStream());
+            return new SpecTree(tree, ContentHash.hex(digest), isSummaryOnly(scanner));
+        } catch (ZipException e) {
+            throw new OpenAPIReadException("Invalid compressed body: " + e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds the model of a body read by {@link #readBody}. The tree is not shared, so the parser works on it as is.
+     */
+    public ParsedSpec parse(SpecTree body) {
+        return new ParsedSpec(buildModel(body.tree()), body.contentHash(), body.summaryOnly());
+    }
+
+    /**
+     * Encodes a parsed spec as a compact binary snapshot that {@link #readSnapshot} reloads without parsing text
+     */
+    public byte[] writeSnapshot(OpenAPI spec) {
+        ObjectMapper modelMapper = spec.getSpecVersion() == SpecVersion.V31 ? Json31.mapper() : Json.mapper();
+        return SpecSnapshotCodec.encode(modelMapper.valueToTree(spec));
+    }
+
+    public OpenAPI readSnapshot(InputStream input) {
         try {
-            SwaggerParseResult result = parser.readLocation(specLocation, null, null);
+            JsonNode tree = SpecSnapshotCodec.decode(
+                    new BufferedInputStream(new SizeLimitedInputStream(input, maxBodyBytes)),
+                    maxBodyBytes,
+                    guardSettings.getMaxDepth());
+            SwaggerParseResult result = parsers.get().parseJsonNode(null, tree, PLAIN_OPTIONS);
 
             if (result.getMessages() != null && !result.getMessages().isEmpty()) {
-                throw new OpenAPILoadException("Failed to load OpenAPI spec: " + String.join(", ", result.getMessages()));
+                throw new InvalidSnapshotException("Invalid spec snapshot: " + String.join(", ", result.getMessages()));
             }
 
             return result.getOpenAPI();
-        } catch (ReadContentException e) {
-            return null;
+        } catch (ZipException e) {
+            throw new OpenAPIReadException("Invalid compressed body: " + e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
-    public OpenAPI readJson(String rawJson) {
+    private static URI remoteUri(String specLocation) {
+        if (specLocation == null) return null;
+
+        String location = specLocation.trim();
+        if (!location.startsWith("http://") && !location.startsWith("https://")) return null;
+        try {
+            return URI.create(location);
+        } catch (IllegalArgumentException e) {
+            throw new OpenAPILoadException("Failed to load OpenAPI spec: invalid URI " + location);
+        }
+    }
+
+    private SpecTree readRemote(InputStream body) throws IOException {
+        try {
+            SpecComplexityScanner scanner = new SpecComplexityScanner(guardSettings);
+            JsonNode tree = readTree(
+                    new BufferedInputStream(new ComplexityScanningInputStream(body, scanner)), SpecSectionFilter.forSpec());
+            return new SpecTree(tree, null, isSummaryOnly(scanner));
+        } catch (OpenAPIReadException e) {
+            throw new OpenAPILoadException("Failed to load OpenAPI spec: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Resolves the refs of a fetched tree, which may be cached, on a copy of it
+     */
+    private ParsedSpec parseRemote(URI uri, SpecTree body) {
+        SwaggerParseResult result = resolveAndParse(body.tree().deepCopy(), uri);
+        if (result.getMessages() != null && !result.getMessages().isEmpty()) {
+            throw new OpenAPILoadException("Failed to load OpenAPI spec: " + String.join(", ", result.getMessages()));
+        }
+        return new ParsedSpec(result.getOpenAPI(), null, body.summaryOnly());
+    }
+
+    /**
+     * Returns the path of a readable local file, or null for URLs and anything the parser should report itself
+     */
+    private static Path localFile(String specLocation) {
+        if (specLocation == null) return null;
+
+        String location = specLocation.trim();
+        if (location.startsWith("http://") || location.startsWith("https://")) return null;
+
         try {
-            SwaggerParseResult result = parser.readContents(rawJson, null, null);
+            Path file = location.startsWith("file:") ? Path.of(URI.create(location)) : Path.of(location);
+            return Files.isRegularFile(file) ? file : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private ParsedSpec loadLocal(Path file) {
+        try (InputStream input = openLocal(file)) {
+            SpecComplexityScanner scanner = new SpecComplexityScanner(guardSettings);
+            // External references are resolved relative to the file itself
+            JsonNode tree = readTree(
+                    new BufferedInputStream(new ComplexityScanningInputStream(input, scanner)), SpecSectionFilter.forSpec());
+            SwaggerParseResult result = resolveAndParse(tree, file.toUri());
 
             if (result.getMessages() != null && !result.getMessages().isEmpty()) {
-                throw new OpenAPIReadException("Invalid OpenAPI specification: " + String.join(", ", result.getMessages()));
+                throw new OpenAPILoadException("Failed to load OpenAPI spec: " + String.join(", ", result.getMessages()));
             }
 
-            return result.getOpenAPI();
-        } catch (ReadContentException e) {
-            return null;
+            return new ParsedSpec(result.getOpenAPI(), null, isSummaryOnly(scanner));
+        } catch (OpenAPIReadException | IOException e) {
+            throw new OpenAPILoadException("Failed to load OpenAPI spec: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens a local file, memory-mapping it when it is large enough so it is read straight from the page cache
+     */
+    private InputStream openLocal(Path file) throws IOException {
+        long size = Files.size(file);
+        // A single mapping is limited to 2 GB; larger files are streamed
+        if (mappedFileThresholdBytes <= 0 || size < mappedFileThresholdBytes || size > Integer.MAX_VALUE) {
+            return Files.newInputStream(file);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new ByteBufferInputStream(buffer);
+        }
+    }
+
+    /**
+     * Returns true when the bytes scanned so far crossed a summary-only limit
+     */
+    private boolean isSummaryOnly(SpecComplexityScanner scanner) {
+        return SpecComplexityScanner.isSummaryOnly(scanner.complexity(), guardSettings);
+    }
+
+    private SwaggerParseResult resolveAndParse(JsonNode tree, URI base) {
+        return parsers.get().parseJsonNode(null, refResolver.resolve(tree, base), PLAIN_OPTIONS);
+    }
+
+    /**
+     * Builds the model of submitted content from a tree that may be shared through the parse cache. The parser
+     * works on its own copy, so every request gets a model of its own and the cached tree is never modified.
+     */
+    private OpenAPI readModel(JsonNode tree) {
+        return buildModel(tree.deepCopy());
+    }
+
+    private OpenAPI buildModel(JsonNode tree) {
+        // Submitted content is not trusted to make the parser read files or URLs
+        SwaggerParseResult result = parsers.get().parseJsonNode(null, tree, PLAIN_OPTIONS);
+
+        if (result.getMessages() != null && !result.getMessages().isEmpty()) {
+            throw new OpenAPIReadException("Invalid OpenAPI specification: " + String.join(", ", result.getMessages()));
+        }
+        return result.getOpenAPI();
+    }
+
+    private static ParseOptions plainOptions() {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(false);
+        options.setResolveFully(false);
+        options.setFlatten(false);
+        options.setResolveCombinators(false);
+        return options;
+    }
+
+    private JsonNode readTree(BufferedInputStream input, TokenFilter sections) throws IOException {
+        ObjectMapper mapper = isJson(input) ? jsonMapper : yamlMapper;
+        return readTree(mapper, mapper.createParser(input), sections);
+    }
+
+    /**
+     * Content is read with a streaming Jackson parser straight into a tree, skipping the parser's own sniffing
+     */
+    private JsonNode readTree(String content) {
+        ObjectMapper mapper = isJson(content) ? jsonMapper : yamlMapper;
+        try {
+            return readTree(mapper, mapper.createParser(content), SpecSectionFilter.forSpec());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
+
+    private JsonNode readTree(ObjectMapper mapper, JsonParser jsonParser, TokenFilter sections) throws IOException {
+        try (jsonParser) {
+            JsonNode tree = filteredTree(mapper, jsonParser, sections);
+            if (tree == null || tree.isMissingNode() || tree.isNull()) {
+                throw new OpenAPIReadException("Invalid OpenAPI specification: empty input");
+            }
+            return tree;
+        } catch (JsonProcessingException e) {
+            throw new OpenAPIReadException("Invalid OpenAPI specification: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Reads the tree through the section filter so skipped sections are passed over token by token
+     */
+    private JsonNode filteredTree(ObjectMapper mapper, JsonParser jsonParser, TokenFilter sections) throws IOException {
+        if (!pruneUnscoredSections) return mapper.readTree(jsonParser);
+        return mapper.readTree(new FilteringParserDelegate(
+                jsonParser, sections, TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true));
+    }
+
+    /**
+     * Reads documents referenced from a spec, local files keyed by their modification time for cross-request reuse
+     */
+    private final class RefDocumentLoader implements ExternalRefResolver.DocumentLoader {
+        @Override
+        public JsonNode load(URI uri, Predicate<URI> allowed) throws IOException {
+            try {
+                if ("file".equalsIgnoreCase(uri.getScheme())) {
+                    try (InputStream input = openLocal(Path.of(uri))) {
+                        return readTree(new BufferedInputStream(input), SpecSectionFilter.forDocument());
+                    }
+                }
+                if ("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme())) {
+                    return remoteFetcher.fetchDocument(
+                            uri,
+                            allowed,
+                            body -> readTree(new BufferedInputStream(body), SpecSectionFilter.forDocument()));
+                }
+                throw new IOException("unsupported location");
+            } catch (OpenAPIReadException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public String version(URI uri) {
+            if (!"file".equalsIgnoreCase(uri.getScheme())) return null;
+            try {
+                Path file = Path.of(uri);
+                return Files.getLastModifiedTime(file).toMillis() + ":" + Files.size(file);
+            } catch (IllegalArgumentException | IOException e) {
+                return null;
+            }
+        }
+    }
+
+    private static boolean isJson(String content) {
+        if (content == null) return false;
+
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            // Skip whitespace and a byte order mark
+            if (isBlank(c) || c == '\uFEFF') continue;
+            return isJsonStart(c);
+        }
+        return false;
+    }
+
+    private static boolean isJson(BufferedInputStream input) throws IOException {
+        int lookahead = 4096;
+        input.mark(lookahead);
+        try {
+            for (int i = 0; i < lookahead; i++) {
+                int b = input.read();
+                // Skip whitespace and a UTF-8 byte order mark
+                if (isBlank(b) || b == 0xEF || b == 0xBB || b == 0xBF) continue;
+                return isJsonStart(b);
+            }
+            return false;
+        } finally {
+            input.reset();
+        }
+    }
+
+    private static boolean isBlank(int c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+
+    /**
+     * The same check for Strings and streams, so a body goes to the same parser whichever endpoint it came through
+     */
+    private static boolean isJsonStart(int c) {
+        return c == '{' || c == '[';
+    }
+
+    public CacheStats getParseCacheStats() {
+        return parseCache.stats();
+    }
+
+    public CacheStats getRemoteCacheStats() {
+        return remoteFetcher.getCacheStats();
+    }
+
+    public long getRemoteNotModifiedCount() {
+        return remoteFetcher.getNotModifiedCount();
+    }
 }
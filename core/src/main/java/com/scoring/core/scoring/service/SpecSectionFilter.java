@@ -0,0 +1,151 @@
+package com.scoring.core.scoring.service;
+
+import com.fasterxml.jackson.core.filter.TokenFilter;
+
+import java.util.Set;
+
+/**
+ * Skips the parts of a spec no scoring rule reads while its tree is being read, so they are never materialised.
+ * Extensions (x-*) and externalDocs are read by no rule and are dropped. Example payloads are only ever checked
+ * for presence, so each one is kept as an empty value of the same type. The pruned model scores the same under
+ * any configuration, which keeps the parse caches independent of the enabled rules.
+ */
+public final class SpecSectionFilter {
+    // Members whose keys are names (paths, properties, components, ...) rather than fields of a spec object
+    private static final Set<String> NAME_MAPS = Set.of(
+            "paths", "webhooks", "schemas", "responses", "parameters", "requestBodies", "headers",
+            "securitySchemes", "links", "callbacks", "pathItems", "properties", "patternProperties",
+            "definitions", "$defs", "dependentSchemas", "content", "encoding", "variables", "scopes", "mapping");
+
+    // Members holding literal data that is kept as it is
+    private static final Set<String> LITERALS = Set.of("default", "enum", "const");
+
+    private static final TokenFilter OBJECT = new ObjectFilter();
+    private static final TokenFilter NAME_MAP = new NameMapFilter();
+    private static final TokenFilter SECURITY = new SecurityFilter();
+    private static final TokenFilter EXAMPLES = new ExamplesFilter();
+    private static final TokenFilter EXAMPLE_OBJECT = new ExampleObjectFilter();
+    private static final TokenFilter EMPTY = new EmptyFilter();
+
+    private SpecSectionFilter() {
+    }
+
+    /**
+     * Filter for a whole spec, whose root is an OpenAPI object
+     */
+    public static TokenFilter forSpec() {
+        return OBJECT;
+    }
+
+    /**
+     * Filter for a document referenced from a spec, whose root keys may be names of the definitions it holds
+     */
+    public static TokenFilter forDocument() {
+        return NAME_MAP;
+    }
+
+    /**
+     * Returns true for members whose keys are names rather than fields of a spec object
+     */
+    static boolean isNameMap(String member) {
+        return NAME_MAPS.contains(member);
+    }
+
+    /**
+     * Keeps empty objects and arrays, which are meaningful in a spec ("schema: {}", "paths: {}")
+     */
+    private abstract static class SectionFilter extends TokenFilter {
+        @Override
+        public boolean includeEmptyObject(boolean contentsFiltered) {
+            return true;
+        }
+
+        @Override
+        public boolean includeEmptyArray(boolean contentsFiltered) {
+            return true;
+        }
+    }
+
+    private static final class ObjectFilter extends SectionFilter {
+        @Override
+        public TokenFilter includeProperty(String name) {
+            if (name.startsWith("x-") || name.equals("externalDocs")) return null;
+            if (name.equals("example")) return EMPTY;
+            if (name.equals("examples")) return EXAMPLES;
+            if (name.equals("security")) return SECURITY;
+            if (LITERALS.contains(name)) return TokenFilter.INCLUDE_ALL;
+            if (NAME_MAPS.contains(name)) return NAME_MAP;
+            return this;
+        }
+
+        @Override
+        public TokenFilter includeElement(int index) {
+            return this;
+        }
+    }
+
+    private static final class NameMapFilter extends SectionFilter {
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return OBJECT;
+        }
+
+        @Override
+        public TokenFilter includeElement(int index) {
+            return OBJECT;
+        }
+    }
+
+    /**
+     * Security requirements are lists of maps from scheme names to scopes
+     */
+    private static final class SecurityFilter extends SectionFilter {
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return OBJECT;
+        }
+
+        @Override
+        public TokenFilter includeElement(int index) {
+            return NAME_MAP;
+        }
+    }
+
+    /**
+     * Named Example objects, or the literal examples array of a JSON schema
+     */
+    private static final class ExamplesFilter extends SectionFilter {
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return EXAMPLE_OBJECT;
+        }
+
+        @Override
+        public TokenFilter includeElement(int index) {
+            return null;
+        }
+    }
+
+    private static final class ExampleObjectFilter extends SectionFilter {
+        @Override
+        public TokenFilter includeProperty(String name) {
+            if (name.startsWith("x-")) return null;
+            return name.equals("value") ? EMPTY : TokenFilter.INCLUDE_ALL;
+        }
+    }
+
+    /**
+     * Keeps a value only as an empty object or array; scalars are small and kept as they are
+     */
+    private static final class EmptyFilter extends SectionFilter {
+        @Override
+        public TokenFilter includeProperty(String name) {
+            return null;
+        }
+
+        @Override
+        public TokenFilter includeElement(int index) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.scoring.core.scoring.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.scoring.core.scoring.model.exception.InvalidSnapshotException;
+import com.scoring.core.scoring.model.exception.SpecTooComplexException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary form of a spec tree. Every field name and string value is stored once in a string table and
+ * referenced by index. Descriptions and summaries are only ever checked for blankness and length, so they are
+ * stored as just that and restored as filler text of the same shape. Layout: magic, version, string table, then
+ * the root node; counts and indexes are unsigned varints and integers zigzag varints.
+ */
+public final class SpecSnapshotCodec {
+    private static final byte[] MAGIC = {'O', 'A', 'S', 'S'};
+    private static final int VERSION = 1;
+
+    private static final int NULL = 0;
+    private static final int TRUE = 1;
+    private static final int FALSE = 2;
+    private static final int INTEGER = 3;
+    private static final int DOUBLE = 4;
+    private static final int STRING = 5;
+    private static final int ARRAY = 6;
+    private static final int OBJECT = 7;
+    private static final int BIG_INTEGER = 8;
+    private static final int DECIMAL = 9;
+    private static final int TEXT_SHAPE = 10;
+
+    // Strings are read in chunks of this size, so a forged length fails on the missing input instead of allocating
+    private static final int CHUNK_BYTES = 8192;
+
+    private SpecSnapshotCodec() {
+    }
+
+    public static byte[] encode(JsonNode root) {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        collectStrings(root, false, strings);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            writeVarLong(out, strings.size());
+            for (String string : strings.keySet()) {
+                byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(out, utf8.length);
+                out.write(utf8);
+            }
+            writeNode(out, root, false, strings);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a snapshot; malformed input is reported with {@link InvalidSnapshotException}, nesting deeper than
+     * maxDepth with {@link SpecTooComplexException}. Restored filler text is limited to maxTextLength characters
+     * in total. Limits of 0 are unlimited.
+     */
+    public static JsonNode decode(InputStream input, long maxTextLength, int maxDepth) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        try {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new InvalidSnapshotException("Invalid spec snapshot: unknown format");
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new InvalidSnapshotException("Invalid spec snapshot: unsupported version " + version);
+            }
+
+            int count = readCount(in);
+            // The table is filled as it is read, so a forged count cannot allocate more than the input holds
+            List<String> strings = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                strings.add(new String(readBytes(in, readCount(in)), StandardCharsets.UTF_8));
+            }
+            return new Reader(in, strings, maxTextLength, maxDepth).readNode(1);
+        } catch (EOFException e) {
+            throw new InvalidSnapshotException("Invalid spec snapshot: truncated");
+        }
+    }
+
+    private static void collectStrings(JsonNode node, boolean nameMap, Map<String, Integer> strings) {
+        if (node.isTextual()) {
+            intern(node.textValue(), strings);
+        } else if (node.isBigInteger() || node.isBigDecimal()) {
+            intern(node.asText(), strings);
+        } else if (node.isArray()) {
+            for (JsonNode element : node) collectStrings(element, false, strings);
+        } else if (node.isObject()) {
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                intern(field.getKey(), strings);
+                if (isShapeOnly(field.getKey(), field.getValue(), nameMap)) continue;
+                collectStrings(field.getValue(), childNameMap(field.getKey(), nameMap), strings);
+            }
+        }
+    }
+
+    private static void writeNode(DataOutputStream out, JsonNode node, boolean nameMap, Map<String, Integer> strings)
+            throws IOException {
+        if (node.isNull() || node.isMissingNode()) {
+            out.writeByte(NULL);
+        } else if (node.isBoolean()) {
+            out.writeByte(node.booleanValue() ? TRUE : FALSE);
+        } else if (node.isBigInteger()) {
+            out.writeByte(BIG_INTEGER);
+            writeVarLong(out, strings.get(node.asText()));
+        } else if (node.isBigDecimal()) {
+            out.writeByte(DECIMAL);
+            writeVarLong(out, strings.get(node.asText()));
+        } else if (node.isIntegralNumber()) {
+            out.writeByte(INTEGER);
+            long value = node.longValue();
+            writeVarLong(out, (value << 1) ^ (value >> 63));
+        } else if (node.isNumber()) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(node.doubleValue());
+        } else if (node.isTextual()) {
+            out.writeByte(STRING);
+            writeVarLong(out, strings.get(node.textValue()));
+        } else if (node.isArray()) {
+            out.writeByte(ARRAY);
+            writeVarLong(out, node.size());
+            for (JsonNode element : node) writeNode(out, element, false, strings);
+        } else if (node.isObject()) {
+            out.writeByte(OBJECT);
+            writeVarLong(out, node.size());
+            for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                writeVarLong(out, strings.get(field.getKey()));
+                if (isShapeOnly(field.getKey(), field.getValue(), nameMap)) {
+                    String text = field.getValue().textValue();
+                    out.writeByte(TEXT_SHAPE);
+                    writeVarLong(out, text.length());
+                    out.writeBoolean(text.isBlank());
+                } else {
+                    writeNode(out, field.getValue(), childNameMap(field.getKey(), nameMap), strings);
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported node in spec tree: " + node.getNodeType());
+        }
+    }
+
+    /**
+     * Descriptions and summaries of spec objects; the same keys inside a name map (scopes, mapping, ...) are names
+     */
+    private static boolean isShapeOnly(String name, JsonNode value, boolean nameMap) {
+        return !nameMap && value.isTextual() && (name.equals("description") || name.equals("summary"));
+    }
+
+    private static boolean childNameMap(String name, boolean nameMap) {
+        return !nameMap && SpecSectionFilter.isNameMap(name);
+    }
+
+    private static void intern(String string, Map<String, Integer> strings) {
+        strings.putIfAbsent(string, strings.size());
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new InvalidSnapshotException("Invalid spec snapshot: malformed number");
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        long count = readVarLong(in);
+        if (count < 0 || count > Integer.MAX_VALUE - 8) {
+            throw new InvalidSnapshotException("Invalid spec snapshot: malformed length");
+        }
+        return (int) count;
+    }
+
+    private static byte[] readBytes(DataInputStream in, int length) throws IOException {
+        if (length <= CHUNK_BYTES) {
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return bytes;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(CHUNK_BYTES);
+        byte[] chunk = new byte[CHUNK_BYTES];
+        for (int remaining = length; remaining > 0; ) {
+            int read = Math.min(remaining, CHUNK_BYTES);
+            in.readFully(chunk, 0, read);
+            bytes.write(chunk, 0, read);
+            remaining -= read;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static final class Reader {
+        private final DataInputStream in;
+        private final List<String> strings;
+        private final long maxTextLength;
+        private final int maxDepth;
+        private final JsonNodeFactory nodes = JsonNodeFactory.instance;
+
+        // Filler text is shared between descriptions of the same shape
+        private final Map<Long, String> fillers = new HashMap<>();
+        private long fillerLength = 0;
+
+        Reader(DataInputStream in, List<String> strings, long maxTextLength, int maxDepth) {
+            this.in = in;
+            this.strings = strings;
+            this.maxTextLength = maxTextLength;
+            this.maxDepth = maxDepth;
+        }
+
+        JsonNode readNode(int depth) throws IOException {
+            int tag = in.readUnsignedByte();
+            return switch (tag) {
+                case NULL -> nodes.nullNode();
+                case TRUE -> nodes.booleanNode(true);
+                case FALSE -> nodes.booleanNode(false);
+                case INTEGER -> {
+                    long zigzag = readVarLong(in);
+                    long value = (zigzag >>> 1) ^ -(zigzag & 1);
+                    yield value == (int) value ? nodes.numberNode((int) value) : nodes.numberNode(value);
+                }
+                case DOUBLE -> nodes.numberNode(in.readDouble());
+                case STRING -> nodes.textNode(string());
+                case BIG_INTEGER -> nodes.numberNode(new BigInteger(string()));
+                case DECIMAL -> nodes.numberNode(new BigDecimal(string()));
+                case ARRAY -> {
+                    checkDepth(depth);
+                    int size = readCount(in);
+                    ArrayNode array = nodes.arrayNode();
+                    for (int i = 0; i < size; i++) array.add(readNode(depth + 1));
+                    yield array;
+                }
+                case OBJECT -> {
+                    checkDepth(depth);
+                    int size = readCount(in);
+                    ObjectNode object = nodes.objectNode();
+                    for (int i = 0; i < size; i++) {
+                        String name = string();
+                        object.set(name, readNode(depth + 1));
+                    }
+                    yield object;
+                }
+                case TEXT_SHAPE -> {
+                    int length = readCount(in);
+                    boolean blank = in.readBoolean();
+                    yield nodes.textNode(filler(length, blank));
+                }
+                default -> throw new InvalidSnapshotException("Invalid spec snapshot: unknown tag " + tag);
+            };
+        }
+
+        private String string() throws IOException {
+            int index = readCount(in);
+            if (index >= strings.size()) {
+                throw new InvalidSnapshotException("Invalid spec snapshot: string index out of range");
+            }
+            return strings.get(index);
+        }
+
+        private void checkDepth(int depth) {
+            if (maxDepth > 0 && depth > maxDepth) {
+                throw new SpecTooComplexException("Spec exceeds the maximum nesting depth of " + maxDepth);
+            }
+        }
+
+        private String filler(int length, boolean blank) {
+            long key = ((long) length << 1) | (blank ? 1 : 0);
+            String filler = fillers.get(key);
+            if (filler == null) {
+                // Only text that could have come from a spec within the size limit is restored
+                fillerLength += length;
+                if (maxTextLength > 0 && fillerLength > maxTextLength) {
+                    throw new InvalidSnapshotException("Invalid spec snapshot: text longer than " + maxTextLength + " characters");
+                }
+                filler = (blank ? " " : "x").repeat(length);
+                fillers.put(key, filler);
+            }
+            return filler;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.scoring.core.scoring.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A spec body parsed into a tree but not yet into a model, with the SHA-256 of its bytes. Bodies over a
+ * summary-only complexity limit are flagged so they are scored without a report.
+ */
+public record SpecTree(
+        JsonNode tree,
+        String contentHash,
+        boolean summaryOnly
+) {
+}
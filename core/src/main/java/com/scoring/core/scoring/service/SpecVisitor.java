@@ -0,0 +1,55 @@
+package com.scoring.core.scoring.service;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+
+/**
+ * Callbacks invoked by {@link SpecWalker} while it traverses a spec.
+ * Every callback is a no-op by default so visitors only override what they inspect.
+ */
+public interface SpecVisitor {
+
+    default void onSchema(String schemaName, Schema<?> schema) {
+    }
+
+    default void onSchemaProperty(String schemaName, String propertyName, Schema<?> property) {
+    }
+
+    default void onSecurityScheme(String schemeName, SecurityScheme scheme) {
+    }
+
+    default void onGlobalSecurityRequirement(String schemeName) {
+    }
+
+    default void onPathItem(String path, PathItem pathItem) {
+    }
+
+    default void onOperation(String path, String operationId, Operation operation) {
+    }
+
+    default void onParameter(String path, String operationId, Parameter parameter) {
+    }
+
+    default void onRequestMediaType(String path, String operationId, String mediaTypeName, MediaType mediaType) {
+    }
+
+    default void onResponse(String path, String operationId, String responseCode, ApiResponse response) {
+    }
+
+    default void onResponseMediaType(
+            String path,
+            String operationId,
+            String responseCode,
+            String mediaTypeName,
+            MediaType mediaType
+    ) {
+    }
+
+    default void onSecurityRequirement(String path, String operationId, String schemeName) {
+    }
+}
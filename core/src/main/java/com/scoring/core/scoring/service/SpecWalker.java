@@ -0,0 +1,103 @@
+package com.scoring.core.scoring.service;
+
+import io.swagger.v3.oas.models.OpenAPI;
+
+import java.util.List;
+
+/**
+ * Walks a spec exactly once and dispatches every element to all registered visitors.
+ * Elements of the same kind are visited in the order they appear in the spec.
+ */
+public class SpecWalker {
+
+    public static void walk(OpenAPI spec, List<? extends SpecVisitor> visitors) {
+        walk(SpecIndex.of(spec), visitors);
+    }
+
+    public static void walk(SpecIndex index, List<? extends SpecVisitor> visitors) {
+        SpecVisitor[] targets = visitors.toArray(new SpecVisitor[0]);
+        if (targets.length == 0) return;
+
+        walkComponents(index, targets);
+        walkGlobalSecurity(index, targets);
+        walkPaths(index, targets);
+    }
+
+    private static void walkComponents(SpecIndex index, SpecVisitor[] targets) {
+        for (SpecIndex.SchemaEntry schema : index.schemas()) {
+            for (SpecVisitor visitor : targets) visitor.onSchema(schema.name(), schema.schema());
+
+            for (int i = schema.properties().start(); i < schema.properties().end(); i++) {
+                SpecIndex.PropertyEntry property = index.property(i);
+                for (SpecVisitor visitor : targets) {
+                    visitor.onSchemaProperty(schema.name(), property.name(), property.schema());
+                }
+            }
+        }
+
+        for (SpecIndex.SecuritySchemeEntry scheme : index.securitySchemes()) {
+            for (SpecVisitor visitor : targets) visitor.onSecurityScheme(scheme.name(), scheme.scheme());
+        }
+    }
+
+    private static void walkGlobalSecurity(SpecIndex index, SpecVisitor[] targets) {
+        SpecIndex.Range global = index.globalSecurityRequirements();
+        for (int i = global.start(); i < global.end(); i++) {
+            String schemeName = index.securityRequirement(i).schemeName();
+            for (SpecVisitor visitor : targets) visitor.onGlobalSecurityRequirement(schemeName);
+        }
+    }
+
+    private static void walkPaths(SpecIndex index, SpecVisitor[] targets) {
+        for (SpecIndex.PathEntry path : index.paths()) {
+            for (SpecVisitor visitor : targets) visitor.onPathItem(path.path(), path.pathItem());
+
+            for (int i = path.operations().start(); i < path.operations().end(); i++) {
+                walkOperation(index, index.operation(i), targets);
+            }
+        }
+    }
+
+    private static void walkOperation(SpecIndex index, SpecIndex.OperationEntry operation, SpecVisitor[] targets) {
+        String path = operation.path();
+        String operationId = operation.operationId();
+
+        for (SpecVisitor visitor : targets) visitor.onOperation(path, operationId, operation.operation());
+
+        for (int i = operation.parameters().start(); i < operation.parameters().end(); i++) {
+            SpecIndex.ParameterEntry parameter = index.parameter(i);
+            for (SpecVisitor visitor : targets) visitor.onParameter(path, operationId, parameter.parameter());
+        }
+
+        for (int i = operation.requestMediaTypes().start(); i < operation.requestMediaTypes().end(); i++) {
+            SpecIndex.MediaTypeEntry mediaType = index.requestMediaType(i);
+            for (SpecVisitor visitor : targets) {
+                visitor.onRequestMediaType(path, operationId, mediaType.name(), mediaType.mediaType());
+            }
+        }
+
+        for (int i = operation.responses().start(); i < operation.responses().end(); i++) {
+            SpecIndex.ResponseEntry response = index.response(i);
+            for (SpecVisitor visitor : targets) {
+                visitor.onResponse(path, operationId, response.responseCode(), response.response());
+            }
+
+            for (int j = response.mediaTypes().start(); j < response.mediaTypes().end(); j++) {
+                SpecIndex.MediaTypeEntry mediaType = index.responseMediaType(j);
+                for (SpecVisitor visitor : targets) {
+                    visitor.onResponseMediaType(
+                            path,
+                            operationId,
+                            response.responseCode(),
+                            mediaType.name(),
+                            mediaType.mediaType());
+                }
+            }
+        }
+
+        for (int i = operation.securityRequirements().start(); i < operation.securityRequirements().end(); i++) {
+            String schemeName = index.securityRequirement(i).schemeName();
+            for (SpecVisitor visitor : targets) visitor.onSecurityRequirement(path, operationId, schemeName);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.scoring.core.scoring.service.cache;
+
+public record CacheStats(
+        long hits,
+        long misses,
+        long evictions,
+        int size,
+        int maxSize
+) {
+}
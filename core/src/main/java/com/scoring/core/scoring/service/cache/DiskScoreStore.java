@@ -0,0 +1,89 @@
+package com.scoring.core.scoring.service.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store of serialized scores on local disk.
+ * Entries are evicted least-recently-used first once the total size exceeds the byte budget.
+ */
+public class DiskScoreStore {
+    private static final String EXTENSION = ".json";
+
+    private final Path directory;
+    private final long maxBytes;
+    private long totalBytes;
+
+    public DiskScoreStore(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(directory);
+            this.totalBytes = listEntries().stream().mapToLong(Entry::size).sum();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open score cache directory " + directory, e);
+        }
+    }
+
+    public synchronized byte[] read(String key) throws IOException {
+        Path file = directory.resolve(key + EXTENSION);
+        if (!Files.exists(file)) return null;
+
+        byte[] content = Files.readAllBytes(file);
+        // Reads refresh the entry so eviction follows access order
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        return content;
+    }
+
+    public synchronized void write(String key, byte[] content) throws IOException {
+        if (content.length > maxBytes) return;
+
+        Path file = directory.resolve(key + EXTENSION);
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        Files.write(temp, content);
+
+        long previousSize = Files.exists(file) ? Files.size(file) : 0;
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        totalBytes += content.length - previousSize;
+
+        evict();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private void evict() throws IOException {
+        if (totalBytes <= maxBytes) return;
+
+        List<Entry> entries = listEntries();
+        entries.sort(Comparator.comparing(Entry::lastModified));
+        for (Entry entry : entries) {
+            if (totalBytes <= maxBytes) break;
+            Files.deleteIfExists(entry.file());
+            totalBytes -= entry.size();
+        }
+    }
+
+    private List<Entry> listEntries() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!file.getFileName().toString().endsWith(EXTENSION)) continue;
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                entries.add(new Entry(file, attributes.size(), attributes.lastModifiedTime()));
+            }
+        }
+        return entries;
+    }
+
+    private record Entry(Path file, long size, FileTime lastModified) {
+    }
+}
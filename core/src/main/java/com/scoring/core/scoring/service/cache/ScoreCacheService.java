@@ -0,0 +1,90 @@
+package com.scoring.core.scoring.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.SpecScore;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Two-tier cache of final scores: an in-heap LRU in front of an optional on-disk store that survives restarts.
+ * Entries are keyed by the spec content hash combined with a fingerprint of the active scoring configuration.
+ */
+@Service
+public class ScoreCacheService {
+    private final ScoringConfig scoringConfig;
+    private final ObjectMapper objectMapper;
+
+    private final LruCache<String, SpecScore> memoryCache;
+    private final DiskScoreStore diskStore;
+
+    public ScoreCacheService(ScoringConfig scoringConfig, ObjectMapper objectMapper) {
+        this.scoringConfig = scoringConfig;
+        this.objectMapper = objectMapper;
+
+        ScoringConfig.CacheSettings settings = scoringConfig.getCache();
+        this.memoryCache = new LruCache<>(settings.getScoreCacheMaxEntries());
+        this.diskStore = settings.getScoreCacheDirectory() == null || settings.getScoreCacheDirectory().isBlank() ?
+                null :
+                new DiskScoreStore(Path.of(settings.getScoreCacheDirectory()), settings.getScoreCacheMaxBytes());
+    }
+
+    public SpecScore get(String specHash) {
+        String key = key(specHash);
+
+        SpecScore score = memoryCache.get(key);
+        if (score != null || diskStore == null) {
+            return score;
+        }
+
+        try {
+            byte[] content = diskStore.read(key);
+            if (content == null) return null;
+
+            score = objectMapper.readValue(content, SpecScore.class);
+            memoryCache.put(key, score);
+            return score;
+        } catch (IOException e) {
+            // An unreadable entry is treated as a miss and rewritten on the next put
+            return null;
+        }
+    }
+
+    public void put(String specHash, SpecScore score) {
+        String key = key(specHash);
+        memoryCache.put(key, score);
+
+        if (diskStore == null) return;
+        try {
+            diskStore.write(key, objectMapper.writeValueAsBytes(score));
+        } catch (IOException e) {
+            // The disk tier is best effort, the in-heap entry is still served
+        }
+    }
+
+    public CacheStats getMemoryStats() {
+        return memoryCache.stats();
+    }
+
+    private String key(String specHash) {
+        return ContentHash.sha256(specHash + configFingerprint());
+    }
+
+    private String configFingerprint() {
+        // The configuration can change at runtime, so it is fingerprinted on every lookup
+        try {
+            return ContentHash.sha256(objectMapper.writeValueAsBytes(Arrays.asList(
+                    scoringConfig.getWeights(),
+                    scoringConfig.getThresholds(),
+                    scoringConfig.getValidation(),
+                    scoringConfig.getReport(),
+                    scoringConfig.getGuard())));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to fingerprint scoring configuration", e);
+        }
+    }
+}
@@ -2,11 +2,18 @@ package com.scoring.core.scoring.service.category;
 
 import com.scoring.core.scoring.config.ScoringConfig;
 import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.IssueRule;
+import com.scoring.core.scoring.model.ScoringMode;
 import com.scoring.core.scoring.model.category.BestPracticeData;
+import com.scoring.core.scoring.service.ComponentReferenceIndex;
+import com.scoring.core.scoring.service.IssueAggregator;
+import com.scoring.core.scoring.service.SpecIndex;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
 import org.springframework.stereotype.Service;
 
-import static com.scoring.core.scoring.service.APIParserHelper.goOverOperations;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class BestPracticesScoringService implements CategoryScoringService {
@@ -17,49 +24,83 @@ public class BestPracticesScoringService implements CategoryScoringService {
     }
 
     @Override
-    public CategoryScore scoreCategory(OpenAPI spec) {
-        int maxPoints = scoringConfig.getWeights().getBestPractices();
-        BestPracticeData data = new BestPracticeData();
-        data.setPoints(maxPoints);
-
-        // Check versioning (in info or paths)
-        if(scoringConfig.getValidation().getBestPractice().isRequireVersioning()) {
-            checkVersioning(spec, data);
-        }
+    public CategoryVisitor createVisitor(SpecIndex index, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+        return new BestPracticeVisitor(index, mode, issueSink);
+    }
 
-        // Check servers array
-        if(scoringConfig.getValidation().getBestPractice().isRequireServersArray()) {
-            checkServersArray(spec, data);
+    private class BestPracticeVisitor implements CategoryVisitor {
+        private final OpenAPI spec;
+        private final ComponentReferenceIndex references;
+        private final int maxPoints;
+        private final BestPracticeData data = new BestPracticeData();
+        private final boolean checkTags;
+        private final boolean checkOperationIds;
+
+        BestPracticeVisitor(SpecIndex index, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+            this.spec = index.spec();
+            this.references = index.references();
+            this.maxPoints = scoringConfig.getWeights().getBestPractices();
+            data.setPoints(maxPoints);
+            data.setDetailed(mode == ScoringMode.FULL);
+            data.collectIssuesIn(new IssueAggregator(scoringConfig.getReport())::newIssueList);
+            data.streamIssuesTo(issueSink);
+
+            checkTags = scoringConfig.getValidation().getBestPractice().isRequireTags();
+            checkOperationIds = scoringConfig.getValidation().getBestPractice().isRequireOperationIds();
         }
 
-        // Check tags usage
-        if(scoringConfig.getValidation().getBestPractice().isRequireTags()) {
-            checkTagUsage(spec, data);
+        @Override
+        public void onOperation(String path, String operationId, Operation operation) {
+            if (checkTags) collectTagUsage(path, operationId, operation, data);
+            if (checkOperationIds) collectOperationId(path, operation, data);
         }
 
-        // Check component reuse
-        if(scoringConfig.getValidation().getBestPractice().isRequireComponentReuse()) {
-            checkComponentReuse(spec, data);
-        }
+        @Override
+        public CategoryScore finish() {
+            // Check versioning (in info or paths)
+            if(scoringConfig.getValidation().getBestPractice().isRequireVersioning()) {
+                checkVersioning(spec, data);
+            }
 
-        // Check operation IDs
-        if(scoringConfig.getValidation().getBestPractice().isRequireOperationIds()) {
-            checkOperationIds(spec, data);
-        }
+            // Check servers array
+            if(scoringConfig.getValidation().getBestPractice().isRequireServersArray()) {
+                checkServersArray(spec, data);
+            }
 
-        if(data.getTotal() > 0){
-            data.setPoints((int)(maxPoints * (double) data.getPassed() / data.getTotal()));
-        }
+            // Check tags usage
+            if(checkTags) {
+                checkTagUsage(data);
+            }
+
+            // Check component reuse
+            if(scoringConfig.getValidation().getBestPractice().isRequireComponentReuse()) {
+                checkComponentReuse(spec, data);
+            }
+
+            // Check operation IDs
+            if(checkOperationIds) {
+                checkOperationIds(data);
+            }
+
+            // Check that component references resolve
+            if(scoringConfig.getValidation().getBestPractice().isRequireValidReferences()) {
+                checkReferences(references, data);
+            }
 
-        return data.buildScore(maxPoints, "Best Practices");
+            if(data.getTotal() > 0){
+                data.setPoints((int)(maxPoints * (double) data.getPassed() / data.getTotal()));
+            }
+
+            return data.buildScore(maxPoints, "Best Practices");
+        }
     }
 
     private void checkVersioning(OpenAPI spec, BestPracticeData data) {
         data.setTotal(data.getTotal() + 1);
         if (spec.getInfo() != null && spec.getInfo().getVersion() != null) {
-            data.getStrengths().add("API version is specified");
+            if (data.isDetailed()) data.getStrengths().add("API version is specified");
             data.setPassed(data.getPassed() + 1);
-        } else {
+        } else if (data.isDetailed()) {
             CategoryScore.Issue issue = CategoryScore.Issue.builder()
                     .location("#/info/version")
                     .description("API version not specified")
@@ -74,54 +115,53 @@ public class BestPracticesScoringService implements CategoryScoringService {
     private void checkServersArray(OpenAPI spec, BestPracticeData data) {
         data.setTotal(data.getTotal() + 1);
         if (spec.getServers() == null || spec.getServers().isEmpty()) {
-            CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                    .location("#/servers")
-                    .description("No servers defined")
-                    .severity(CategoryScore.Severity.MEDIUM)
-                    .suggestion("Define server information including base URLs for different environments")
-                    .build();
+            if (data.isDetailed()) {
+                CategoryScore.Issue issue = CategoryScore.Issue.builder()
+                        .location("#/servers")
+                        .description("No servers defined")
+                        .severity(CategoryScore.Severity.MEDIUM)
+                        .suggestion("Define server information including base URLs for different environments")
+                        .build();
 
-            data.getIssues().add(issue);
+                data.getIssues().add(issue);
+            }
         } else {
-            data.getStrengths().add("Server information provided");
+            if (data.isDetailed()) data.getStrengths().add("Server information provided");
             data.setPassed(data.getPassed() + 1);
         }
     }
 
-    private void checkTagUsage(OpenAPI spec, BestPracticeData data) {
-        data.setTotal(data.getTotal() + 1);
+    private void collectTagUsage(String path, String operationId, Operation operation, BestPracticeData d) {
+        if (operation.getTags() != null && !operation.getTags().isEmpty()) {
+            d.setUsesTags(true);
+        } else {
+            // Only the detailed report names the operations; the score only needs to know there are some
+            d.setUntaggedOperationCount(d.getUntaggedOperationCount() + 1);
+            if (d.isDetailed()) d.getUntaggedOperations().add(path + " (" + operationId + ")");
+        }
+    }
 
-        goOverOperations(spec, (path, operationId, operation, d) -> {
-            if (operation.getTags() != null && !operation.getTags().isEmpty()) {
-                d.setUsesTags(true);
-            } else {
-                d.getUntaggedOperations().add(path + " (" + operationId + ")");
-            }
-        }, data);
+    private void checkTagUsage(BestPracticeData data) {
+        data.setTotal(data.getTotal() + 1);
 
         if (!data.isUsesTags()) {
-            CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                    .location("#/paths")
-                    .description("Operations not properly tagged")
-                    .severity(CategoryScore.Severity.MEDIUM)
-                    .suggestion("Add tags to operations for better organization and documentation")
-                    .build();
+            if (data.isDetailed()) {
+                CategoryScore.Issue issue = CategoryScore.Issue.builder()
+                        .location("#/paths")
+                        .description("Operations not properly tagged")
+                        .severity(CategoryScore.Severity.MEDIUM)
+                        .suggestion("Add tags to operations for better organization and documentation")
+                        .build();
 
-            data.getIssues().add(issue);
+                data.getIssues().add(issue);
+            }
         } else {
-            data.getStrengths().add("Operations are properly tagged");
+            if (data.isDetailed()) data.getStrengths().add("Operations are properly tagged");
 
             // Add specific issues for untagged operations if some but not all are tagged
-            if (!data.getUntaggedOperations().isEmpty()) {
+            if (data.getUntaggedOperationCount() > 0 && data.isDetailed()) {
                 for (String untaggedOp : data.getUntaggedOperations()) {
-                    CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                            .location(String.format("#/paths/%s", untaggedOp))
-                            .description("Operation missing tags")
-                            .severity(CategoryScore.Severity.LOW)
-                            .suggestion("Add appropriate tags to this operation for better organization")
-                            .build();
-
-                    data.getIssues().add(issue);
+                    data.getIssues().add(CategoryScore.Issue.of(IssueRule.BEST_PRACTICE_UNTAGGED_OPERATION, untaggedOp));
                 }
             }
 
@@ -137,16 +177,18 @@ public class BestPracticesScoringService implements CategoryScoringService {
                 spec.getComponents().getSchemas().size() > 1;
 
         if (!hasReusableComponents) {
-            CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                    .location("#/components/schemas")
-                    .description("Limited use of reusable components")
-                    .severity(CategoryScore.Severity.MEDIUM)
-                    .suggestion("Define reusable schema components to avoid duplication and improve maintainability")
-                    .build();
+            if (data.isDetailed()) {
+                CategoryScore.Issue issue = CategoryScore.Issue.builder()
+                        .location("#/components/schemas")
+                        .description("Limited use of reusable components")
+                        .severity(CategoryScore.Severity.MEDIUM)
+                        .suggestion("Define reusable schema components to avoid duplication and improve maintainability")
+                        .build();
 
-            data.getIssues().add(issue);
+                data.getIssues().add(issue);
+            }
         } else {
-            data.getStrengths().add("Good use of reusable components");
+            if (data.isDetailed()) data.getStrengths().add("Good use of reusable components");
 
             // Additional check for other component types
             int componentTypeCount = 0;
@@ -163,7 +205,7 @@ public class BestPracticesScoringService implements CategoryScoringService {
                 componentTypeCount++;
             }
 
-            if (componentTypeCount > scoringConfig.getValidation().getBestPractice().getMinimumReusableComponents()) {
+            if (componentTypeCount > scoringConfig.getValidation().getBestPractice().getMinimumReusableComponents() && data.isDetailed()) {
                 data.getStrengths().add("Excellent use of diverse reusable components");
             }
 
@@ -171,42 +213,69 @@ public class BestPracticesScoringService implements CategoryScoringService {
         }
     }
 
-    private void checkOperationIds(OpenAPI spec, BestPracticeData data) {
-        data.setTotal(data.getTotal() + 1);
+    private void collectOperationId(String path, Operation operation, BestPracticeData data) {
+        if (operation.getOperationId() != null && !operation.getOperationId().trim().isEmpty()) {
+            data.setHasOperationIds(true);
+        } else {
+            data.setOperationsWithoutIdsCount(data.getOperationsWithoutIdsCount() + 1);
+            if (data.isDetailed()) data.getOperationsWithoutIds().add(path);
+        }
+    }
 
-        goOverOperations(spec, (path, operationId, operation, d) -> {
-            if (operation.getOperationId() != null && !operation.getOperationId().trim().isEmpty()) {
-                data.setHasOperationIds(true);
-            } else {
-                data.getOperationsWithoutIds().add(path);
-            }
-        }, data);
+    private void checkOperationIds(BestPracticeData data) {
+        data.setTotal(data.getTotal() + 1);
 
         if (!data.isHasOperationIds()) {
-            CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                    .location("#/paths")
-                    .description("Operations missing operationId")
-                    .severity(CategoryScore.Severity.LOW)
-                    .suggestion("Add unique operationId to operations for better code generation and tooling support")
-                    .build();
-
-            data.getIssues().add(issue);
-        } else if (!data.getOperationsWithoutIds().isEmpty()) {
-            // Some operations have IDs, some don't
-            for (String pathWithoutId : data.getOperationsWithoutIds()) {
+            if (data.isDetailed()) {
                 CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                        .location(String.format("#/paths/%s", pathWithoutId))
-                        .description("Operation missing operationId")
+                        .location("#/paths")
+                        .description("Operations missing operationId")
                         .severity(CategoryScore.Severity.LOW)
-                        .suggestion("Add unique operationId for better tooling support")
+                        .suggestion("Add unique operationId to operations for better code generation and tooling support")
                         .build();
 
                 data.getIssues().add(issue);
             }
+        } else if (data.getOperationsWithoutIdsCount() > 0) {
+            // Some operations have IDs, some don't
+            if (data.isDetailed()) {
+                for (String pathWithoutId : data.getOperationsWithoutIds()) {
+                    data.getIssues().add(CategoryScore.Issue.of(IssueRule.BEST_PRACTICE_MISSING_OPERATION_ID, pathWithoutId));
+                }
+            }
         } else {
-            data.getStrengths().add("All operations have operationId defined");
+            if (data.isDetailed()) data.getStrengths().add("All operations have operationId defined");
             data.setPassed(data.getPassed() + 1);
         }
     }
 
+    private void checkReferences(ComponentReferenceIndex references, BestPracticeData data) {
+        // Only broken references count against the spec, so specs without references are not rewarded
+        if (references.getDanglingReferences().isEmpty() && references.getCycles().isEmpty()) {
+            if (!references.getReferences().isEmpty() && data.isDetailed()) {
+                data.getStrengths().add("All component references resolve");
+            }
+            return;
+        }
+
+        data.setTotal(data.getTotal() + 1);
+
+        if (data.isDetailed()) {
+            for (ComponentReferenceIndex.Reference reference : references.getDanglingReferences()) {
+                data.getIssues().add(CategoryScore.Issue.of(
+                        IssueRule.BEST_PRACTICE_DANGLING_REFERENCE, reference.location(), reference.ref()));
+            }
+        }
+
+        if (data.isDetailed()) {
+            for (List<String> cycle : references.getCycles()) {
+                data.getIssues().add(CategoryScore.Issue.builder()
+                        .location(cycle.get(0))
+                        .description("Component references form a cycle: " + String.join(" -> ", cycle))
+                        .severity(CategoryScore.Severity.HIGH)
+                        .suggestion("Break the cycle so every component resolves to a concrete definition")
+                        .build());
+            }
+        }
+    }
 }
@@ -1,8 +1,40 @@
 package com.scoring.core.scoring.service.category;
 
 import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.ScoringMode;
+import com.scoring.core.scoring.service.SpecIndex;
+import com.scoring.core.scoring.service.SpecWalker;
 import io.swagger.v3.oas.models.OpenAPI;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface CategoryScoringService {
-    CategoryScore scoreCategory(OpenAPI spec);
+    /**
+     * Creates the visitor; with an issue sink every issue is handed to it as soon as it is found and the
+     * finished score carries no issues
+     */
+    CategoryVisitor createVisitor(SpecIndex index, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink);
+
+    default CategoryVisitor createVisitor(SpecIndex index, ScoringMode mode) {
+        return createVisitor(index, mode, null);
+    }
+
+    default CategoryVisitor createVisitor(SpecIndex index) {
+        return createVisitor(index, ScoringMode.FULL);
+    }
+
+    default CategoryScore scoreCategory(OpenAPI spec) {
+        return scoreCategory(SpecIndex.of(spec));
+    }
+
+    default CategoryScore scoreCategory(SpecIndex index) {
+        return scoreCategory(index, ScoringMode.FULL);
+    }
+
+    default CategoryScore scoreCategory(SpecIndex index, ScoringMode mode) {
+        CategoryVisitor visitor = createVisitor(index, mode);
+        SpecWalker.walk(index, List.of(visitor));
+        return visitor.finish();
+    }
 }
@@ -0,0 +1,11 @@
+package com.scoring.core.scoring.service.category;
+
+import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.service.SpecVisitor;
+
+/**
+ * Per-request scoring state of one category, fed by a shared {@link com.scoring.core.scoring.service.SpecWalker} pass.
+ */
+public interface CategoryVisitor extends SpecVisitor {
+    CategoryScore finish();
+}
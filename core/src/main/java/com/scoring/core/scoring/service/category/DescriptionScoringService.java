@@ -2,11 +2,20 @@ package com.scoring.core.scoring.service.category;
 
 import com.scoring.core.scoring.config.ScoringConfig;
 import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.IssueRule;
+import com.scoring.core.scoring.model.ScoringMode;
 import com.scoring.core.scoring.model.category.DescriptionData;
+import com.scoring.core.scoring.service.IssueAggregator;
+import com.scoring.core.scoring.service.SpecIndex;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
 import org.springframework.stereotype.Service;
 
-import static com.scoring.core.scoring.service.APIParserHelper.*;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class DescriptionScoringService implements CategoryScoringService {
@@ -17,17 +26,84 @@ public class DescriptionScoringService implements CategoryScoringService {
     }
 
     @Override
-    public CategoryScore scoreCategory(OpenAPI spec) {
-        int maxPoints = scoringConfig.getWeights().getDescriptionsAndDocumentation();
-        DescriptionData data = new DescriptionData();
-        data.setPoints(maxPoints);
-        data.setSpec(spec);
+    public CategoryVisitor createVisitor(SpecIndex index, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+        return new DescriptionVisitor(index, mode, issueSink);
+    }
+
+    private class DescriptionVisitor implements CategoryVisitor {
+        private final int maxPoints;
+        private final DescriptionData data = new DescriptionData();
+        private final boolean checkOperations;
+        private final boolean checkParameters;
+        private final boolean checkRequestBodies;
+        private final boolean checkResponses;
+        private final boolean checkSchemas;
+
+        // Issues are collected per check so the report keeps the order of the original separate walks
+        private final List<CategoryScore.Issue> operationIssues;
+        private final List<CategoryScore.Issue> parameterIssues;
+        private final List<CategoryScore.Issue> requestBodyIssues;
+        private final List<CategoryScore.Issue> responseIssues;
+        private final List<CategoryScore.Issue> schemaIssues;
+
+        DescriptionVisitor(SpecIndex index, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+            OpenAPI spec = index.spec();
+            this.maxPoints = scoringConfig.getWeights().getDescriptionsAndDocumentation();
+            data.setPoints(maxPoints);
+            data.setDetailed(mode == ScoringMode.FULL);
+            data.collectIssuesIn(new IssueAggregator(scoringConfig.getReport())::newIssueList);
+            data.streamIssuesTo(issueSink);
+            operationIssues = data.newIssueList();
+            parameterIssues = data.newIssueList();
+            requestBodyIssues = data.newIssueList();
+            responseIssues = data.newIssueList();
+            schemaIssues = data.newIssueList();
+            data.setSpec(spec);
+            data.setReferences(index.references());
+
+            ScoringConfig.DescriptionValidation validation = scoringConfig.getValidation().getDescription();
+            checkOperations = validation.isRequireOperationDescriptions();
+            checkParameters = validation.isRequireParameterDescriptions();
+            checkRequestBodies = validation.isRequireRequestDescriptions();
+            checkResponses = validation.isRequireResponseDescriptions();
+            checkSchemas = validation.isRequireSchemaDescriptions();
+
+            analyzeInfo(spec, data);
+        }
+
+        @Override
+        public void onOperation(String path, String operationId, Operation operation) {
+            if (checkOperations) analyzeOperation(path, operationId, operation, data, operationIssues);
+            if (checkRequestBodies) analyzeRequestBody(path, operationId, operation, data, requestBodyIssues);
+        }
+
+        @Override
+        public void onParameter(String path, String operationId, Parameter parameter) {
+            if (checkParameters) analyzeParameter(path, operationId, parameter, data, parameterIssues);
+        }
 
-        analyzeDocumentation(spec, data);
+        @Override
+        public void onResponse(String path, String operationId, String responseCode, ApiResponse response) {
+            if (checkResponses) analyzeResponse(path, operationId, responseCode, response, data, responseIssues);
+        }
+
+        @Override
+        public void onSchema(String schemaName, Schema<?> schema) {
+            if (checkSchemas) analyzeSchema(schemaName, schema, data, schemaIssues);
+        }
 
-        summarize(data);
+        @Override
+        public CategoryScore finish() {
+            data.getIssues().addAll(operationIssues);
+            data.getIssues().addAll(parameterIssues);
+            data.getIssues().addAll(requestBodyIssues);
+            data.getIssues().addAll(responseIssues);
+            data.getIssues().addAll(schemaIssues);
 
-        return data.buildScore(maxPoints, "Descriptions & Documentation");
+            summarize(data);
+
+            return data.buildScore(maxPoints, "Descriptions & Documentation");
+        }
     }
 
     private void summarize(DescriptionData data) {
@@ -35,6 +111,10 @@ public class DescriptionScoringService implements CategoryScoringService {
             double descriptionScore = 1.0 - ((double) data.getMissingDescriptions() / data.getTotalElements());
             data.setPoints((int) (data.getPoints() * descriptionScore));
 
+            if (!data.isDetailed()) {
+                return;
+            }
+
             // Add summary issue if there are missing descriptions
             if (data.getMissingDescriptions() > 0) {
                 CategoryScore.Severity overallSeverity = data.getMissingDescriptions() > data.getTotalElements() * 0.5 ?
@@ -68,137 +148,135 @@ public class DescriptionScoringService implements CategoryScoringService {
 
         } else {
             data.setPoints(0);
-            data.getIssues().add(CategoryScore.Issue.builder()
-                    .location("#/paths")
-                    .description("No API operations found to evaluate")
-                    .severity(CategoryScore.Severity.HIGH)
-                    .suggestion("Define API paths and operations with proper documentation")
-                    .build());
+            if (data.isDetailed()) {
+                data.getIssues().add(CategoryScore.Issue.builder()
+                        .location("#/paths")
+                        .description("No API operations found to evaluate")
+                        .severity(CategoryScore.Severity.HIGH)
+                        .suggestion("Define API paths and operations with proper documentation")
+                        .build());
+            }
         }
     }
 
-    private void analyzeDocumentation(OpenAPI spec, DescriptionData data) {
+    private void analyzeInfo(OpenAPI spec, DescriptionData data) {
         // Check API-level description
         if (spec.getInfo() != null) {
             data.setTotalElements(data.getTotalElements() + 1);
             if(scoringConfig.getValidation().getDescription().isRequireGeneralDescription() &&
                 isInvalidDescription(spec.getInfo().getDescription())) {
                 data.setMissingDescriptions(data.getMissingDescriptions() + 1);
-                data.getIssues().add(CategoryScore.Issue.builder()
-                        .location("#/info")
-                        .description("API info lacks description")
-                        .severity(CategoryScore.Severity.MEDIUM)
-                        .suggestion("Add a clear description of what your API does in the info section")
-                        .build());
+                if (data.isDetailed()) {
+                    data.getIssues().add(CategoryScore.Issue.builder()
+                            .location("#/info")
+                            .description("API info lacks description")
+                            .severity(CategoryScore.Severity.MEDIUM)
+                            .suggestion("Add a clear description of what your API does in the info section")
+                            .build());
+                }
             }
         }
+    }
 
-        // Check operations
-        if(scoringConfig.getValidation().getDescription().isRequireOperationDescriptions()){
-            goOverOperations(spec, (path, operationId, operation, d) -> {
-                d.setTotalElements(d.getTotalElements() + 1);
-                d.setTotalOperations(d.getTotalOperations() + 1);
-                if (isInvalidDescription(operation.getDescription()) && isInvalidDescription(operation.getSummary())) {
-                    d.setMissingDescriptions(d.getMissingDescriptions() + 1);
-                    data.getIssues().add(
-                            CategoryScore.Issue.builder()
-                                    .location(String.format("#/paths/%s/operations/%s", path, operationId))
-                                    .description(String.format("Operation '%s' on path '%s' lacks description", operationId, path))
-                                    .severity(CategoryScore.Severity.MEDIUM)
-                                    .suggestion("Add a description or summary explaining what this operation does")
-                                    .build());
-                } else {
-                    d.setOperationsWithDescriptions(d.getOperationsWithDescriptions() + 1);
-                }
-            }, data);
+    private void analyzeOperation(
+            String path,
+            String operationId,
+            Operation operation,
+            DescriptionData d,
+            List<CategoryScore.Issue> issues
+    ) {
+        d.setTotalElements(d.getTotalElements() + 1);
+        d.setTotalOperations(d.getTotalOperations() + 1);
+        if (isInvalidDescription(operation.getDescription()) && isInvalidDescription(operation.getSummary())) {
+            d.setMissingDescriptions(d.getMissingDescriptions() + 1);
+            if (d.isDetailed()) issues.add(CategoryScore.Issue.of(IssueRule.DESCRIPTION_OPERATION_MISSING, path, operationId));
+        } else {
+            d.setOperationsWithDescriptions(d.getOperationsWithDescriptions() + 1);
         }
+    }
 
-        // Check parameters
-        if(scoringConfig.getValidation().getDescription().isRequireParameterDescriptions()){
-            goOverParameters(spec, (path, operationId, parameter, d) -> {
-                d.setTotalResponses(d.getTotalResponses() + 1);
-                d.setTotalParameters(d.getTotalParameters() + 1);
-                if (isInvalidDescription(parameter.getDescription()) &&
-                        doesReferenceExist(d.getSpec(), parameter.get$ref())) {
-                    d.setMissingDescriptions(d.getMissingDescriptions() + 1);
-                    d.getIssues().add(
-                            CategoryScore.Issue.builder()
-                                    .location(String.format("#/paths/%s/operations/%s/parameters/%s", path, operationId, parameter.getName()))
-                                    .description(String.format("Parameter '%s' in operation '%s' on path '%s' lacks description", parameter.getName(), operationId, path))
-                                    .severity(CategoryScore.Severity.LOW)
-                                    .suggestion(String.format("Add a description explaining the purpose and expected format of parameter '%s'", parameter.getName()))
-                                    .build());
-                } else {
-                    d.setParametersWithDescriptions(d.getParametersWithDescriptions() + 1);
-                }
-            }, data);
+    private void analyzeParameter(
+            String path,
+            String operationId,
+            Parameter parameter,
+            DescriptionData d,
+            List<CategoryScore.Issue> issues
+    ) {
+        d.setTotalResponses(d.getTotalResponses() + 1);
+        d.setTotalParameters(d.getTotalParameters() + 1);
+        Parameter described = referencedOr(d, parameter.get$ref(), Parameter.class, parameter);
+        if (isInvalidDescription(described.getDescription())) {
+            d.setMissingDescriptions(d.getMissingDescriptions() + 1);
+            if (d.isDetailed()) {
+                issues.add(CategoryScore.Issue.of(
+                        IssueRule.DESCRIPTION_PARAMETER_MISSING, path, operationId, parameter.getName()));
+            }
+        } else {
+            d.setParametersWithDescriptions(d.getParametersWithDescriptions() + 1);
         }
+    }
 
-        // Check request body
-        if(scoringConfig.getValidation().getDescription().isRequireRequestDescriptions()){
-            goOverOperations(spec, (path, operationId, operation, d) -> {
-                if (operation.getRequestBody() != null) {
-                    d.setTotalParameters(d.getTotalParameters() + 1);
-                    d.setTotalRequestBodies(d.getTotalRequestBodies() + 1);
-                    if (isInvalidDescription(operation.getRequestBody().getDescription())) {
-                        d.setMissingDescriptions(d.getMissingDescriptions() + 1);
-                        d.getIssues().add(
-                                CategoryScore.Issue.builder()
-                                        .location(String.format("#/paths/%s/operations/%s/requestBody", path, operationId))
-                                        .description(String.format("Request body in operation '%s' on path '%s' lacks description", operationId, path))
-                                        .severity(CategoryScore.Severity.LOW)
-                                        .suggestion("Add a description explaining the expected request body structure and purpose")
-                                        .build());
-                    } else {
-                        d.setRequestBodiesWithDescriptions(d.getRequestBodiesWithDescriptions() + 1);
-                    }
-                }
-            }, data);
+    private void analyzeRequestBody(
+            String path,
+            String operationId,
+            Operation operation,
+            DescriptionData d,
+            List<CategoryScore.Issue> issues
+    ) {
+        if (operation.getRequestBody() != null) {
+            d.setTotalParameters(d.getTotalParameters() + 1);
+            d.setTotalRequestBodies(d.getTotalRequestBodies() + 1);
+            if (isInvalidDescription(operation.getRequestBody().getDescription())) {
+                d.setMissingDescriptions(d.getMissingDescriptions() + 1);
+                if (d.isDetailed()) issues.add(CategoryScore.Issue.of(IssueRule.DESCRIPTION_REQUEST_BODY_MISSING, path, operationId));
+            } else {
+                d.setRequestBodiesWithDescriptions(d.getRequestBodiesWithDescriptions() + 1);
+            }
         }
+    }
 
-        // Check responses
-        if (scoringConfig.getValidation().getDescription().isRequireResponseDescriptions()) {
-            goOverResponses(spec, (path, operationId, responseCode, response, d) -> {
-                d.setTotalElements(d.getTotalElements() + 1);
-                d.setTotalResponses(d.getTotalResponses() + 1);
-                if (isInvalidDescription(response.getDescription()) &&
-                        doesReferenceExist(d.getSpec(), response.get$ref())) {
-                    d.setMissingDescriptions(d.getMissingDescriptions() + 1);
-                    d.getIssues().add(
-                            CategoryScore.Issue.builder()
-                                    .location(String.format("#/paths/%s/operations/%s/responses/%s", path, operationId, responseCode))
-                                    .description(String.format("Response '%s' lacks description", responseCode))
-                                    .severity(CategoryScore.Severity.LOW)
-                                    .suggestion("Add a description explaining what this response means and when it occurs")
-                                    .build());
-                } else {
-                    d.setResponsesWithDescriptions(d.getResponsesWithDescriptions() + 1);
-                }
-            }, data);
+    private void analyzeResponse(
+            String path,
+            String operationId,
+            String responseCode,
+            ApiResponse response,
+            DescriptionData d,
+            List<CategoryScore.Issue> issues
+    ) {
+        d.setTotalElements(d.getTotalElements() + 1);
+        d.setTotalResponses(d.getTotalResponses() + 1);
+        ApiResponse described = referencedOr(d, response.get$ref(), ApiResponse.class, response);
+        if (isInvalidDescription(described.getDescription())) {
+            d.setMissingDescriptions(d.getMissingDescriptions() + 1);
+            if (d.isDetailed()) {
+                issues.add(CategoryScore.Issue.of(
+                        IssueRule.DESCRIPTION_RESPONSE_MISSING, path, operationId, responseCode));
+            }
+        } else {
+            d.setResponsesWithDescriptions(d.getResponsesWithDescriptions() + 1);
         }
+    }
 
-        // Check schemas
-        if(scoringConfig.getValidation().getDescription().isRequireSchemaDescriptions()){
-            goOverSchemas(spec, (schemaName, schema, d) -> {
-                d.setTotalElements(d.getTotalElements() + 1);
-                d.setTotalSchemas(d.getTotalSchemas() + 1);
-                if (isInvalidDescription(schema.getDescription()) &&
-                        doesReferenceExist(d.getSpec(), schema.get$ref())) {
-                    d.setMissingDescriptions(d.getMissingDescriptions() + 1);
-                    d.getIssues().add(
-                            CategoryScore.Issue.builder()
-                                    .location(String.format("#/components/schemas/%s", schemaName))
-                                    .description(String.format("Schema '%s' lacks description", schemaName))
-                                    .severity(CategoryScore.Severity.LOW)
-                                    .suggestion("Add a description explaining the purpose and structure of this schema")
-                                    .build());
-                } else {
-                    d.setSchemasWithDescriptions(d.getSchemasWithDescriptions() + 1);
-                }
-            }, data);
+    private void analyzeSchema(String schemaName, Schema<?> schema, DescriptionData d, List<CategoryScore.Issue> issues) {
+        d.setTotalElements(d.getTotalElements() + 1);
+        d.setTotalSchemas(d.getTotalSchemas() + 1);
+        Schema<?> described = referencedOr(d, schema.get$ref(), Schema.class, schema);
+        if (isInvalidDescription(described.getDescription())) {
+            d.setMissingDescriptions(d.getMissingDescriptions() + 1);
+            if (d.isDetailed()) issues.add(CategoryScore.Issue.of(IssueRule.DESCRIPTION_SCHEMA_MISSING, schemaName));
+        } else {
+            d.setSchemasWithDescriptions(d.getSchemasWithDescriptions() + 1);
         }
     }
 
+    /**
+     * An element that is only a $ref is documented by the component it points to
+     */
+    private <T> T referencedOr(DescriptionData d, String ref, Class<T> kind, T element) {
+        T target = d.getReferences().resolve(ref, kind);
+        return target != null ? target : element;
+    }
+
     private boolean isInvalidDescription(String description) {
         return
                 description == null ||
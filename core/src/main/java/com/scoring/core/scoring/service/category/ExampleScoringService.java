@@ -2,12 +2,17 @@ package com.scoring.core.scoring.service.category;
 
 import com.scoring.core.scoring.config.ScoringConfig;
 import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.IssueRule;
+import com.scoring.core.scoring.model.ScoringMode;
 import com.scoring.core.scoring.model.category.ExampleData;
+import com.scoring.core.scoring.service.IssueAggregator;
+import com.scoring.core.scoring.service.SpecIndex;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.MediaType;
 import org.springframework.stereotype.Service;
 
-import static com.scoring.core.scoring.service.APIParserHelper.*;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class ExampleScoringService implements CategoryScoringService {
@@ -18,21 +23,62 @@ public class ExampleScoringService implements CategoryScoringService {
     }
 
     @Override
-    public CategoryScore scoreCategory(OpenAPI spec) {
-        int maxPoints = scoringConfig.getWeights().getExamplesAndSamples();
-        ExampleData data = new ExampleData();
-        data.setPoints(maxPoints);
+    public CategoryVisitor createVisitor(SpecIndex index, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+        return new ExampleVisitor(index.spec(), mode, issueSink);
+    }
+
+    private class ExampleVisitor implements CategoryVisitor {
+        private final OpenAPI spec;
+        private final int maxPoints;
+        private final ExampleData data = new ExampleData();
+        private final boolean checkRequests;
+        private final boolean checkResponses;
+
+        // Issues are collected per check so the report keeps the order of the original separate walks
+        private final List<CategoryScore.Issue> requestIssues;
+        private final List<CategoryScore.Issue> responseIssues;
+
+        ExampleVisitor(OpenAPI spec, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+            this.spec = spec;
+            this.maxPoints = scoringConfig.getWeights().getExamplesAndSamples();
+            data.setPoints(maxPoints);
+            data.setDetailed(mode == ScoringMode.FULL);
+            data.collectIssuesIn(new IssueAggregator(scoringConfig.getReport())::newIssueList);
+            data.streamIssuesTo(issueSink);
+            requestIssues = data.newIssueList();
+            responseIssues = data.newIssueList();
+
+            checkRequests = scoringConfig.getValidation().getExample().isRequireRequestExamples();
+            checkResponses = scoringConfig.getValidation().getExample().isRequireResponseExamples();
+        }
 
-        if(scoringConfig.getValidation().getExample().isRequireRequestExamples()){
-            goOverRequestContents(spec, this::checkRequestBodyExample, data);
+        @Override
+        public void onRequestMediaType(String path, String operationId, String mediaTypeName, MediaType mediaType) {
+            if (checkRequests) checkRequestBodyExample(path, operationId, mediaTypeName, mediaType, data, requestIssues);
         }
-        if(scoringConfig.getValidation().getExample().isRequireResponseExamples()){
-            goOverResponseContents(spec, this::checkResponseExample, data);
+
+        @Override
+        public void onResponseMediaType(
+                String path,
+                String operationId,
+                String responseCode,
+                String mediaTypeName,
+                MediaType mediaType
+        ) {
+            if (checkResponses) {
+                checkResponseExample(path, operationId, responseCode, mediaTypeName, mediaType, data, responseIssues);
+            }
         }
 
-        summarize(spec, data);
+        @Override
+        public CategoryScore finish() {
+            data.getIssues().addAll(requestIssues);
+            data.getIssues().addAll(responseIssues);
+
+            summarize(spec, data);
 
-        return data.buildScore(maxPoints, "Examples & Samples");
+            return data.buildScore(maxPoints, "Examples & Samples");
+        }
     }
 
     private void summarize(OpenAPI spec, ExampleData data) {
@@ -43,56 +89,54 @@ public class ExampleScoringService implements CategoryScoringService {
                             (double) data.getMediaTypesWithExamples() / data.getTotalMediaTypes();
             data.setPoints((int) (data.getPoints() * exampleScore));
 
-            if (exampleScore > scoringConfig.getValidation().getExample().getMinimumExampleCoverage()) {
+            if (exampleScore > scoringConfig.getValidation().getExample().getMinimumExampleCoverage() && data.isDetailed()) {
                 data.getStrengths().add(String.format(
                         "Good coverage of request/response examples: %d%%",
                         (int) (exampleScore * 100)));
             }
         }else{
             data.setPoints(0);
-            CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                    .location("#/paths")
-                    .description("No paths found in the OpenAPI specification")
-                    .severity(CategoryScore.Severity.HIGH)
-                    .suggestion("Add paths with operations to the OpenAPI specification")
-                    .build();
-            data.getIssues().add(issue);
+            if (data.isDetailed()) {
+                CategoryScore.Issue issue = CategoryScore.Issue.builder()
+                        .location("#/paths")
+                        .description("No paths found in the OpenAPI specification")
+                        .severity(CategoryScore.Severity.HIGH)
+                        .suggestion("Add paths with operations to the OpenAPI specification")
+                        .build();
+                data.getIssues().add(issue);
+            }
         }
     }
 
-    private void checkRequestBodyExample(String path, String operationId, String contentType, MediaType mediaType, ExampleData data) {
+    private void checkRequestBodyExample(
+            String path,
+            String operationId,
+            String contentType,
+            MediaType mediaType,
+            ExampleData data,
+            List<CategoryScore.Issue> issues
+    ) {
         if (hasExamples(mediaType)) {
             data.setMediaTypesWithExamples(data.getMediaTypesWithExamples() + 1);
-        } else {
-            String location = String.format("#/paths/%s/operations/%s/requestBody/%s",
-                    path, operationId, contentType);
-
-            CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                    .location(location)
-                    .description("Request body missing examples for content type: " + contentType)
-                    .severity(CategoryScore.Severity.MEDIUM)
-                    .suggestion("Add example or examples property to request body media type")
-                    .build();
-
-            data.getIssues().add(issue);
+        } else if (data.isDetailed()) {
+            issues.add(CategoryScore.Issue.of(IssueRule.EXAMPLE_REQUEST_MISSING, path, operationId, contentType));
         }
     }
 
-    private void checkResponseExample(String path, String operationId, String responseCode, String contentType, MediaType mediaType, ExampleData data) {
+    private void checkResponseExample(
+            String path,
+            String operationId,
+            String responseCode,
+            String contentType,
+            MediaType mediaType,
+            ExampleData data,
+            List<CategoryScore.Issue> issues
+    ) {
         if (hasExamples(mediaType)) {
             data.setMediaTypesWithExamples(data.getMediaTypesWithExamples() + 1);
-        } else {
-            String location = String.format("#/paths/%s/operations/%s/responses/%s/content/%s",
-                    path, operationId, responseCode, contentType);
-
-            CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                    .location(location)
-                    .description("Response (" + responseCode + ") missing examples for content type: " + contentType)
-                    .severity(CategoryScore.Severity.MEDIUM)
-                    .suggestion("Add example or examples property to response media type")
-                    .build();
-
-            data.getIssues().add(issue);
+        } else if (data.isDetailed()) {
+            issues.add(CategoryScore.Issue.of(
+                    IssueRule.EXAMPLE_RESPONSE_MISSING, path, operationId, responseCode, contentType));
         }
     }
 
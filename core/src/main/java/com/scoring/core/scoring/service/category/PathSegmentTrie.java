@@ -0,0 +1,96 @@
+package com.scoring.core.scoring.service.category;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trie over path segments where every parameter segment ({@code {id}}) collapses into a single wildcard child.
+ * Two paths overlap when they have the same number of segments, every literal segment matches a literal
+ * or a parameter, and at least one position pairs a literal with a parameter.
+ */
+class PathSegmentTrie {
+    private final Node root = new Node();
+    private final List<String[]> pathSegments = new ArrayList<>();
+
+    PathSegmentTrie(List<String> pathNames) {
+        for (int i = 0; i < pathNames.size(); i++) {
+            String[] segments = pathNames.get(i).split("/");
+            pathSegments.add(segments);
+
+            Node node = root;
+            for (String segment : segments) {
+                node = isParameter(segment) ? node.parameterChild() : node.literalChild(segment);
+            }
+            node.pathIndices.add(i);
+        }
+    }
+
+    /**
+     * Returns the indices, in ascending order, of all later paths that overlap with the path at the given index
+     */
+    List<Integer> findOverlapsAfter(int index) {
+        List<Integer> overlaps = new ArrayList<>();
+        collectOverlaps(root, pathSegments.get(index), 0, false, index, overlaps);
+        Collections.sort(overlaps);
+        return overlaps;
+    }
+
+    private void collectOverlaps(
+            Node node,
+            String[] segments,
+            int depth,
+            boolean hasParameterDifference,
+            int index,
+            List<Integer> overlaps
+    ) {
+        if (depth == segments.length) {
+            if (hasParameterDifference) {
+                for (int other : node.pathIndices) {
+                    if (other > index) overlaps.add(other);
+                }
+            }
+            return;
+        }
+
+        String segment = segments[depth];
+        if (isParameter(segment)) {
+            // A parameter can match any literal, or another parameter without making a difference
+            if (node.parameter != null) {
+                collectOverlaps(node.parameter, segments, depth + 1, hasParameterDifference, index, overlaps);
+            }
+            for (Node literal : node.literals.values()) {
+                collectOverlaps(literal, segments, depth + 1, true, index, overlaps);
+            }
+        } else {
+            Node literal = node.literals.get(segment);
+            if (literal != null) {
+                collectOverlaps(literal, segments, depth + 1, hasParameterDifference, index, overlaps);
+            }
+            if (node.parameter != null) {
+                collectOverlaps(node.parameter, segments, depth + 1, true, index, overlaps);
+            }
+        }
+    }
+
+    private static boolean isParameter(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}");
+    }
+
+    private static class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node parameter;
+        private final List<Integer> pathIndices = new ArrayList<>();
+
+        private Node literalChild(String segment) {
+            return literals.computeIfAbsent(segment, s -> new Node());
+        }
+
+        private Node parameterChild() {
+            if (parameter == null) parameter = new Node();
+            return parameter;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.scoring.core.scoring.service.category;
+
+import java.util.*;
+
+/**
+ * Finds near-duplicate paths (e.g. /user-profiles/{id} and /userProfile/{id}) without comparing every pair.
+ * Paths are reduced to sets of character trigrams per normalized segment and its position, summarized by MinHash signatures
+ * and grouped with locality-sensitive hashing. Only paths sharing a bucket are compared with exact Jaccard
+ * similarity. Paths must also share the same structure (segment count and parameter positions).
+ */
+class PathSimilarityDetector {
+    private static final int SIGNATURE_SIZE = 64;
+    private static final int[] ROWS_PER_BAND_OPTIONS = {32, 16, 8, 4, 2, 1};
+    private static final double MINIMUM_CANDIDATE_PROBABILITY = 0.99;
+
+    private static final int[] SEEDS = new int[SIGNATURE_SIZE];
+
+    static {
+        Random random = new Random(0x5EEDL);
+        for (int i = 0; i < SIGNATURE_SIZE; i++) SEEDS[i] = random.nextInt();
+    }
+
+    record SimilarPair(int first, int second, double similarity) {
+    }
+
+    static List<SimilarPair> findSimilarPaths(List<String> pathNames, double threshold) {
+        int count = pathNames.size();
+        int[][] shingles = new int[count][];
+        int[] structures = new int[count];
+        int[][] signatures = new int[count][];
+
+        for (int i = 0; i < count; i++) {
+            String[] segments = pathNames.get(i).split("/");
+            shingles[i] = shingle(segments);
+            structures[i] = structure(segments);
+            signatures[i] = signature(shingles[i]);
+        }
+
+        int rows = rowsPerBand(threshold);
+        int bands = SIGNATURE_SIZE / rows;
+
+        // Candidate pairs are paths with the same structure agreeing on all rows of at least one band
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < bands; band++) {
+            Map<Long, List<Integer>> buckets = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                if (shingles[i].length == 0) continue;
+                long bucket = structures[i];
+                for (int row = band * rows; row < (band + 1) * rows; row++) {
+                    bucket = bucket * 31 + signatures[i][row];
+                }
+                buckets.computeIfAbsent(bucket, b -> new ArrayList<>()).add(i);
+            }
+            for (List<Integer> bucket : buckets.values()) {
+                for (int a = 0; a < bucket.size(); a++) {
+                    for (int b = a + 1; b < bucket.size(); b++) {
+                        candidates.add(((long) bucket.get(a) << 32) | bucket.get(b));
+                    }
+                }
+            }
+        }
+
+        List<SimilarPair> similarPairs = new ArrayList<>();
+        for (long candidate : candidates) {
+            int first = (int) (candidate >>> 32);
+            int second = (int) candidate;
+            if (structures[first] != structures[second]) continue;
+
+            double similarity = jaccard(shingles[first], shingles[second]);
+            if (similarity >= threshold) {
+                similarPairs.add(new SimilarPair(first, second, similarity));
+            }
+        }
+
+        similarPairs.sort(Comparator.comparingInt(SimilarPair::first).thenComparingInt(SimilarPair::second));
+        return similarPairs;
+    }
+
+    /**
+     * Picks the fewest bands that still make a pair exactly at the threshold a candidate with high probability
+     */
+    private static int rowsPerBand(double threshold) {
+        for (int rows : ROWS_PER_BAND_OPTIONS) {
+            int bands = SIGNATURE_SIZE / rows;
+            double probability = 1 - Math.pow(1 - Math.pow(threshold, rows), bands);
+            if (probability >= MINIMUM_CANDIDATE_PROBABILITY) return rows;
+        }
+        return 1;
+    }
+
+    private static int[] shingle(String[] segments) {
+        // Shingles carry their segment position, so reordered segments (/users/{id}/orders, /orders/{id}/users) differ
+        Set<Integer> shingles = new HashSet<>();
+        for (int position = 0; position < segments.length; position++) {
+            String segment = segments[position];
+            if (segment.isEmpty()) continue;
+            if (isParameter(segment)) {
+                shingles.add((position + ":{}").hashCode());
+                continue;
+            }
+
+            String normalized = "^" + normalize(segment) + "$";
+            for (int i = 0; i + 3 <= normalized.length(); i++) {
+                shingles.add((position + ":" + normalized.substring(i, i + 3)).hashCode());
+            }
+        }
+        return shingles.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * Lowercases the segment, drops word separators and a plural suffix so that
+     * user-profiles, user_profile and userProfile all compare equal
+     */
+    private static String normalize(String segment) {
+        String normalized = segment.toLowerCase(Locale.ROOT).replaceAll("[-_.]", "");
+        if (normalized.length() > 3 && normalized.endsWith("s") && !normalized.endsWith("ss")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    private static int structure(String[] segments) {
+        int structure = segments.length;
+        for (String segment : segments) {
+            structure = structure * 31 + (isParameter(segment) ? 1 : 0);
+        }
+        return structure;
+    }
+
+    private static int[] signature(int[] shingles) {
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int shingle : shingles) {
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int hash = mix(shingle ^ SEEDS[i]);
+                if (hash < signature[i]) signature[i] = hash;
+            }
+        }
+        return signature;
+    }
+
+    private static int mix(int value) {
+        value ^= value >>> 16;
+        value *= 0x85ebca6b;
+        value ^= value >>> 13;
+        value *= 0xc2b2ae35;
+        value ^= value >>> 16;
+        return value;
+    }
+
+    private static double jaccard(int[] first, int[] second) {
+        int i = 0, j = 0, intersection = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] == second[j]) {
+                intersection++;
+                i++;
+                j++;
+            } else if (first[i] < second[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = first.length + second.length - intersection;
+        return union == 0 ? 0 : (double) intersection / union;
+    }
+
+    private static boolean isParameter(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}");
+    }
+}
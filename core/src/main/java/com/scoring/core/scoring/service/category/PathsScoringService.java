@@ -2,13 +2,18 @@ package com.scoring.core.scoring.service.category;
 
 import com.scoring.core.scoring.config.ScoringConfig;
 import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.IssueRule;
+import com.scoring.core.scoring.model.ScoringMode;
 import com.scoring.core.scoring.model.category.PathsData;
+import com.scoring.core.scoring.service.IssueAggregator;
+import com.scoring.core.scoring.service.SpecIndex;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.PathItem;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.regex.Pattern;
+import java.util.function.Consumer;
 
 @Service
 public class PathsScoringService implements CategoryScoringService {
@@ -24,35 +29,73 @@ public class PathsScoringService implements CategoryScoringService {
     }
 
     @Override
-    public CategoryScore scoreCategory(OpenAPI spec) {
-        int maxPoints = scoringConfig.getWeights().getPathsAndOperations();
-        PathsData data = new PathsData();
-        data.setPoints(maxPoints);
+    public CategoryVisitor createVisitor(SpecIndex index, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+        return new PathsVisitor(index, mode, issueSink);
+    }
 
-        if (spec.getPaths() == null || spec.getPaths().isEmpty()) {
-            data.getIssues().add(CategoryScore.Issue.builder()
-                    .location("#/paths")
-                    .description("No paths defined in the API specification")
-                    .severity(CategoryScore.Severity.HIGH)
-                    .suggestion("Define API paths and operations to create a functional API")
-                    .build());
+    private class PathsVisitor implements CategoryVisitor {
+        private final SpecIndex index;
+        private final OpenAPI spec;
+        private final int maxPoints;
+        private final PathsData data = new PathsData();
+
+        PathsVisitor(SpecIndex index, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+            this.index = index;
+            this.spec = index.spec();
+            this.maxPoints = scoringConfig.getWeights().getPathsAndOperations();
+            data.setPoints(maxPoints);
+            data.setDetailed(mode == ScoringMode.FULL);
+            data.collectIssuesIn(new IssueAggregator(scoringConfig.getReport())::newIssueList);
+            data.streamIssuesTo(issueSink);
+        }
 
-            data.setPoints(0);
-            return data.buildScore(maxPoints, "Paths & Operations");
+        @Override
+        public void onPathItem(String path, PathItem pathItem) {
+            data.getPathNames().add(path);
         }
 
-        data.setPathNames(new ArrayList<>(spec.getPaths().keySet()));
+        @Override
+        public CategoryScore finish() {
+            if (spec.getPaths() == null || spec.getPaths().isEmpty()) {
+                if (data.isDetailed()) {
+                    data.getIssues().add(CategoryScore.Issue.builder()
+                            .location("#/paths")
+                            .description("No paths defined in the API specification")
+                            .severity(CategoryScore.Severity.HIGH)
+                            .suggestion("Define API paths and operations to create a functional API")
+                            .build());
+                }
+
+                data.setPoints(0);
+                return data.buildScore(maxPoints, "Paths & Operations");
+            }
+
+            // Check for consistent naming (5 points)
+            if(scoringConfig.getValidation().getPath().isEnforceNamingConventions()) analyzeNamingConsistency(data);
+
+            // Check for CRUD operations (5 points)
+            if(scoringConfig.getValidation().getPath().isEnforceCrudOperationConventions()) analyzeCrudOperations(groupMethodsByPath(index), data);
 
-        // Check for consistent naming (5 points)
-        if(scoringConfig.getValidation().getPath().isEnforceNamingConventions()) analyzeNamingConsistency(data);
+            // Check for overlapping paths (5 points)
+            if(scoringConfig.getValidation().getPath().isCheckForRedundantPaths()) analyzeOverlappingPaths(data);
 
-        // Check for CRUD operations (5 points)
-        if(scoringConfig.getValidation().getPath().isEnforceCrudOperationConventions()) analyzeCrudOperations(spec, data);
+            // Check for near-duplicate paths (shares the redundant paths penalty)
+            if(scoringConfig.getValidation().getPath().isCheckForRedundantPaths()) analyzeSimilarPaths(data);
 
-        // Check for overlapping paths (5 points)
-        if(scoringConfig.getValidation().getPath().isCheckForRedundantPaths()) analyzeOverlappingPaths(data);
+            return data.buildScore(maxPoints, "Paths & Operations");
+        }
+    }
 
-        return data.buildScore(maxPoints, "Paths & Operations");
+    private Map<String, Set<PathItem.HttpMethod>> groupMethodsByPath(SpecIndex index) {
+        Map<String, Set<PathItem.HttpMethod>> resourceMethods = new HashMap<>();
+        for (SpecIndex.PathEntry path : index.paths()) {
+            Set<PathItem.HttpMethod> methods = EnumSet.noneOf(PathItem.HttpMethod.class);
+            for (int i = path.operations().start(); i < path.operations().end(); i++) {
+                methods.add(index.operation(i).method());
+            }
+            resourceMethods.put(path.path(), methods);
+        }
+        return resourceMethods;
     }
 
     private void analyzeNamingConsistency(PathsData data) {
@@ -92,15 +135,15 @@ public class PathsScoringService implements CategoryScoringService {
             }
         }
 
+        if (!inconsistentPaths.isEmpty()) {
+            data.setPoints(data.getPoints() + scoringConfig.getValidation().getPath().getPenaltyForMissingCrudOperations());
+        }
+        if (!data.isDetailed()) return;
+
         // Add issues for inconsistent naming
         if (!inconsistentPaths.isEmpty()) {
             for (String path : inconsistentPaths) {
-                data.getIssues().add(CategoryScore.Issue.builder()
-                        .location(String.format("#/paths/%s", path))
-                        .description("Path uses inconsistent naming convention")
-                        .severity(CategoryScore.Severity.LOW)
-                        .suggestion("Use consistent naming convention across all paths (detected dominant pattern: " + dominantPattern + ")")
-                        .build());
+                data.getIssues().add(CategoryScore.Issue.of(IssueRule.PATHS_INCONSISTENT_NAMING, path, dominantPattern));
             }
 
             // Add summary issue
@@ -116,7 +159,6 @@ public class PathsScoringService implements CategoryScoringService {
         if (inconsistentPaths.isEmpty()) {
             data.getStrengths().add("Consistent path naming convention detected: " + dominantPattern);
         }else {
-            data.setPoints(data.getPoints() + scoringConfig.getValidation().getPath().getPenaltyForMissingCrudOperations());
             data.getIssues().add(CategoryScore.Issue.builder()
                     .location("#/paths")
                     .description(String.format("Found %d paths with inconsistent naming conventions", inconsistentPaths.size()))
@@ -126,34 +168,21 @@ public class PathsScoringService implements CategoryScoringService {
         }
     }
 
-    private void analyzeCrudOperations(OpenAPI spec, PathsData data) {
-        Map<String, Set<PathItem.HttpMethod>> resourceMethods = new HashMap<>();
-
-        // Group methods by resource path
-        spec.getPaths().forEach((path, pathItem) -> {
-            Set<PathItem.HttpMethod> methods = pathItem.readOperationsMap().keySet();
-            resourceMethods.merge(path, methods, (existing, newMethods) -> {
-                Set<PathItem.HttpMethod> combined = new HashSet<>(existing);
-                combined.addAll(newMethods);
-                return combined;
-            });
-        });
-
-        int previousSize = data.getIssues().size();
+    private void analyzeCrudOperations(Map<String, Set<PathItem.HttpMethod>> resourceMethods, PathsData data) {
+        boolean followsConventions = true;
 
         // Check for invalid CRUD operations convention
-        resourceMethods.forEach((path, methods) -> {
+        for (Map.Entry<String, Set<PathItem.HttpMethod>> entry : resourceMethods.entrySet()) {
+            String path = entry.getKey();
+            Set<PathItem.HttpMethod> methods = entry.getValue();
+
             // check if path is a resource path for POST
             if (
                     methods.contains(PathItem.HttpMethod.POST) &&
                             path.endsWith("}")
             ) {
-                data.getIssues().add(CategoryScore.Issue.builder()
-                        .location(String.format("#/paths/%s", path))
-                        .description("POST operation found on a path with parameters, which may not be suitable for resource creation")
-                        .severity(CategoryScore.Severity.LOW)
-                        .suggestion("Consider using POST on a base resource path without parameters")
-                        .build());
+                followsConventions = false;
+                if (data.isDetailed()) data.getIssues().add(CategoryScore.Issue.of(IssueRule.PATHS_POST_ON_ITEM, path));
             }
 
             // check if path is a resource path for PUT, PATCH, DELETE
@@ -163,49 +192,47 @@ public class PathsScoringService implements CategoryScoringService {
                     methods.contains(PathItem.HttpMethod.DELETE)) &&
                     !path.endsWith("}")
             ) {
-                data.getIssues().add(CategoryScore.Issue.builder()
-                        .location(String.format("#/paths/%s", path))
-                        .description("PUT, PATCH, or DELETE operation found on a path without parameters, which may not be suitable for resource management")
-                        .severity(CategoryScore.Severity.LOW)
-                        .suggestion("Consider using these methods on a base resource path with parameters")
-                        .build());
+                followsConventions = false;
+                if (data.isDetailed()) data.getIssues().add(CategoryScore.Issue.of(IssueRule.PATHS_MODIFY_ON_COLLECTION, path));
             }
-        });
+        }
 
-        if(previousSize == data.getIssues().size()) {
-            data.getStrengths().add("All paths follow proper CRUD operation conventions");
+        if(followsConventions) {
+            if (data.isDetailed()) data.getStrengths().add("All paths follow proper CRUD operation conventions");
         } else {
             data.setPoints(data.getPoints() + scoringConfig.getValidation().getPath().getPenaltyForMissingCrudOperations());
-            data.getIssues().add(CategoryScore.Issue.builder()
-                    .location("#/paths")
-                    .description("Some paths do not follow proper CRUD operation conventions")
-                    .severity(CategoryScore.Severity.MEDIUM)
-                    .suggestion("Review paths to ensure they follow standard RESTful CRUD conventions")
-                    .build());
+            if (data.isDetailed()) {
+                data.getIssues().add(CategoryScore.Issue.builder()
+                        .location("#/paths")
+                        .description("Some paths do not follow proper CRUD operation conventions")
+                        .severity(CategoryScore.Severity.MEDIUM)
+                        .suggestion("Review paths to ensure they follow standard RESTful CRUD conventions")
+                        .build());
+            }
         }
     }
 
     private void analyzeOverlappingPaths(PathsData data) {
-        List<String> overlappingPaths = new ArrayList<>();
+        List<String[]> overlappingPaths = new ArrayList<>();
+        PathSegmentTrie trie = new PathSegmentTrie(data.getPathNames());
 
         for (int i = 0; i < data.getPathNames().size(); i++) {
-            for (int j = i + 1; j < data.getPathNames().size(); j++) {
+            for (int j : trie.findOverlapsAfter(i)) {
                 String path1 = data.getPathNames().get(i);
                 String path2 = data.getPathNames().get(j);
 
-                if (pathsOverlap(path1, path2)) {
-                    overlappingPaths.add(path1 + " <-> " + path2);
+                overlappingPaths.add(new String[]{path1, path2});
 
-                    data.getIssues().add(CategoryScore.Issue.builder()
-                            .location(String.format("#/paths/%s - #/paths/%s", path1, path2))
-                            .description("Path potentially overlaps with " + path2)
-                            .severity(CategoryScore.Severity.MEDIUM)
-                            .suggestion("Review path structure to ensure no ambiguous routing")
-                            .build());
-                }
+                if (data.isDetailed()) data.getIssues().add(CategoryScore.Issue.of(IssueRule.PATHS_OVERLAP, path1, path2));
             }
         }
 
+        if (!overlappingPaths.isEmpty()) {
+            data.setPoints(data.getPoints() - scoringConfig.getValidation().getPath().getPenaltyForRedundantPaths());
+            data.setRedundantPathsPenalized(true);
+        }
+        if (!data.isDetailed()) return;
+
         if (!overlappingPaths.isEmpty()) {
             data.getIssues().add(CategoryScore.Issue.builder()
                     .location("#/paths")
@@ -218,18 +245,43 @@ public class PathsScoringService implements CategoryScoringService {
         if (overlappingPaths.isEmpty()) {
             data.getStrengths().add("No overlapping or ambiguous paths detected");
         } else {
-            data.setPoints(data.getPoints() - scoringConfig.getValidation().getPath().getPenaltyForRedundantPaths());
-            overlappingPaths.forEach(path ->
-                data.getIssues().add(CategoryScore.Issue.builder()
-                        .location(String.format("#/paths/%s", path))
-                        .description("Path overlaps with another path, which may cause routing issues")
-                        .severity(CategoryScore.Severity.MEDIUM)
-                        .suggestion("Consider redesigning paths to avoid overlaps")
-                        .build())
+            overlappingPaths.forEach(pair ->
+                data.getIssues().add(CategoryScore.Issue.of(IssueRule.PATHS_OVERLAPPING_PAIR, pair[0], pair[1]))
             );
         }
     }
 
+    private void analyzeSimilarPaths(PathsData data) {
+        double threshold = scoringConfig.getValidation().getPath().getPathSimilarityThreshold();
+        if (threshold <= 0 || threshold > 1) return;
+
+        List<PathSimilarityDetector.SimilarPair> similarPairs =
+                PathSimilarityDetector.findSimilarPaths(data.getPathNames(), threshold);
+        if (similarPairs.isEmpty()) return;
+
+        if (data.isDetailed()) {
+            for (PathSimilarityDetector.SimilarPair pair : similarPairs) {
+                String path1 = data.getPathNames().get(pair.first());
+                String path2 = data.getPathNames().get(pair.second());
+
+                data.getIssues().add(CategoryScore.Issue.of(
+                        IssueRule.PATHS_NEAR_DUPLICATE, path1, path2, pair.similarity() * 100));
+            }
+
+            data.getIssues().add(CategoryScore.Issue.builder()
+                    .location("#/paths")
+                    .description(String.format("Found %d pairs of near-duplicate paths", similarPairs.size()))
+                    .severity(CategoryScore.Severity.MEDIUM)
+                    .suggestion("Consolidate near-duplicate paths to keep the API surface consistent")
+                    .build());
+        }
+
+        if (!data.isRedundantPathsPenalized()) {
+            data.setPoints(data.getPoints() - scoringConfig.getValidation().getPath().getPenaltyForRedundantPaths());
+            data.setRedundantPathsPenalized(true);
+        }
+    }
+
     private String detectNamingPattern(String segment) {
         if (scoringConfig.getValidation().getPath().getAllowedNamingConventions().contains("kebab-case") &&
                 KEBAB_CASE.matcher(segment).matches()) return "kebab-case";
@@ -239,31 +291,4 @@ public class PathsScoringService implements CategoryScoringService {
                 CAMEL_CASE.matcher(segment).matches()) return "camelCase";
         return "unknown";
     }
-
-    private boolean pathsOverlap(String path1, String path2) {
-        String[] segments1 = path1.split("/");
-        String[] segments2 = path2.split("/");
-
-        if (segments1.length != segments2.length) return false;
-
-        boolean hasParameterDifference = false;
-        for (int i = 0; i < segments1.length; i++) {
-            String seg1 = segments1[i];
-            String seg2 = segments2[i];
-
-            boolean isParam1 = seg1.startsWith("{") && seg1.endsWith("}");
-            boolean isParam2 = seg2.startsWith("{") && seg2.endsWith("}");
-
-            if (isParam1 && isParam2) {
-                continue; // Both parameters, could overlap
-            } else if (isParam1 || isParam2) {
-                hasParameterDifference = true;
-            } else if (!seg1.equals(seg2)) {
-                return false; // Different literal segments
-            }
-        }
-
-        // Paths overlap if they have the same structure but different parameter names
-        return hasParameterDifference;
-    }
 }
@@ -2,13 +2,16 @@ package com.scoring.core.scoring.service.category;
 
 import com.scoring.core.scoring.config.ScoringConfig;
 import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.IssueRule;
+import com.scoring.core.scoring.model.ScoringMode;
 import com.scoring.core.scoring.model.category.ResponseData;
-import io.swagger.v3.oas.models.OpenAPI;
+import com.scoring.core.scoring.service.IssueAggregator;
+import com.scoring.core.scoring.service.SpecIndex;
+import io.swagger.v3.oas.models.Operation;
 import org.springframework.stereotype.Service;
 
 import java.util.Set;
-
-import static com.scoring.core.scoring.service.APIParserHelper.goOverOperations;
+import java.util.function.Consumer;
 
 @Service
 public class ResponseScoringService implements CategoryScoringService {
@@ -19,89 +22,78 @@ public class ResponseScoringService implements CategoryScoringService {
     }
 
     @Override
-    public CategoryScore scoreCategory(OpenAPI spec) {
-        int maxPoints = scoringConfig.getWeights().getResponseCodes();
-        ResponseData data = new ResponseData();
-        data.setPoints(maxPoints);
+    public CategoryVisitor createVisitor(SpecIndex index, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+        return new ResponseVisitor(mode, issueSink);
+    }
+
+    private class ResponseVisitor implements CategoryVisitor {
+        private final int maxPoints;
+        private final ResponseData data = new ResponseData();
 
-        checkResponses(spec, data);
+        ResponseVisitor(ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+            this.maxPoints = scoringConfig.getWeights().getResponseCodes();
+            data.setPoints(maxPoints);
+            data.setDetailed(mode == ScoringMode.FULL);
+            data.collectIssuesIn(new IssueAggregator(scoringConfig.getReport())::newIssueList);
+            data.streamIssuesTo(issueSink);
+        }
+
+        @Override
+        public void onOperation(String path, String operationId, Operation operation) {
+            checkResponses(path, operationId, operation, data);
+        }
 
-        summarize(data);
+        @Override
+        public CategoryScore finish() {
+            summarize(data);
 
-        return data.buildScore(maxPoints, "Response Codes");
+            return data.buildScore(maxPoints, "Response Codes");
+        }
     }
 
-    private void checkResponses(OpenAPI spec, ResponseData data) {
-        goOverOperations(spec, (path, operationId, operation, d) -> {
-            d.setTotalOperations(d.getTotalOperations() + 1);
-
-            String location = String.format("#/%s/%s/responses", path, operationId);
-
-            if (operation.getResponses() != null) {
-                Set<String> responseCodes = operation.getResponses().keySet();
-
-                // check if the operation has required response codes
-                boolean hasRequiredSuccessCodes = responseCodes
-                        .stream().anyMatch(code -> code.startsWith("2"));
-                boolean hasRequiredErrorCodes = responseCodes.containsAll(
-                        scoringConfig.getValidation().getResponse().getRequiredErrorCodes());
-                boolean hasDefaultCode = responseCodes.contains("default");
-
-                // Check if the operation passes the validation criteria
-                boolean passedSuccessCodes =
-                        !scoringConfig.getValidation().getResponse().isRequireSuccessResponses() ||
-                                hasRequiredSuccessCodes;
-                boolean passedErrorCodes =
-                        !scoringConfig.getValidation().getResponse().isRequireErrorResponses() ||
-                                hasRequiredErrorCodes;
-                boolean passedDefaultCode =
-                        !scoringConfig.getValidation().getResponse().isRequireDefaultResponse() ||
-                                hasDefaultCode;
-
-                if (passedSuccessCodes && passedErrorCodes && passedDefaultCode) {
-                    d.setOperationsWithProperCodes(d.getOperationsWithProperCodes() + 1);
-                } else {
-                    // Operation has issues with response codes
-                    if(!passedSuccessCodes) {
-                        data.getIssues().add(CategoryScore.Issue.builder()
-                                .location(location)
-                                .description("Operation missing success (2xx) response code")
-                                .severity(CategoryScore.Severity.MEDIUM)
-                                .suggestion("Define appropriate success (2xx) response code")
-                                .build());
-                    }
-                    if(!passedErrorCodes) {
-                        data.getIssues().add(CategoryScore.Issue.builder()
-                                .location(location)
-                                .description(
-                                        String.format(
-                                                "Operation missing required error (4xx/5xx) response codes: %s",
-                                                String.join(", ", scoringConfig.getValidation().getResponse().getRequiredErrorCodes())))
-                                .severity(CategoryScore.Severity.MEDIUM)
-                                .suggestion("Define appropriate error (4xx/5xx) response codes")
-                                .build());
-                    }
-                    if(!passedDefaultCode) {
-                        data.getIssues().add(CategoryScore.Issue.builder()
-                                .location(location)
-                                .description("Operation missing required default response code")
-                                .severity(CategoryScore.Severity.MEDIUM)
-                                .suggestion("Define a default response code for unexpected cases")
-                                .build());
-                    }
-                }
+    private void checkResponses(String path, String operationId, Operation operation, ResponseData d) {
+        d.setTotalOperations(d.getTotalOperations() + 1);
+
+        if (operation.getResponses() != null) {
+            Set<String> responseCodes = operation.getResponses().keySet();
+
+            // check if the operation has required response codes
+            boolean hasRequiredSuccessCodes = responseCodes
+                    .stream().anyMatch(code -> code.startsWith("2"));
+            boolean hasRequiredErrorCodes = responseCodes.containsAll(
+                    scoringConfig.getValidation().getResponse().getRequiredErrorCodes());
+            boolean hasDefaultCode = responseCodes.contains("default");
+
+            // Check if the operation passes the validation criteria
+            boolean passedSuccessCodes =
+                    !scoringConfig.getValidation().getResponse().isRequireSuccessResponses() ||
+                            hasRequiredSuccessCodes;
+            boolean passedErrorCodes =
+                    !scoringConfig.getValidation().getResponse().isRequireErrorResponses() ||
+                            hasRequiredErrorCodes;
+            boolean passedDefaultCode =
+                    !scoringConfig.getValidation().getResponse().isRequireDefaultResponse() ||
+                            hasDefaultCode;
+
+            if (passedSuccessCodes && passedErrorCodes && passedDefaultCode) {
+                d.setOperationsWithProperCodes(d.getOperationsWithProperCodes() + 1);
             } else {
-                // No responses defined at all
-                CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                        .location(location)
-                        .description("Operation has no response codes defined")
-                        .severity(CategoryScore.Severity.HIGH)
-                        .suggestion("Define response codes including success (2xx) and error (4xx/5xx) codes")
-                        .build();
-
-                data.getIssues().add(issue);
+                // Operation has issues with response codes
+                if(!passedSuccessCodes && d.isDetailed()) {
+                    d.getIssues().add(CategoryScore.Issue.of(IssueRule.RESPONSE_MISSING_SUCCESS_CODE, path, operationId));
+                }
+                if(!passedErrorCodes && d.isDetailed()) {
+                    d.getIssues().add(CategoryScore.Issue.of(IssueRule.RESPONSE_MISSING_ERROR_CODES, path, operationId,
+                            scoringConfig.getValidation().getResponse().getRequiredErrorCodes()));
+                }
+                if(!passedDefaultCode && d.isDetailed()) {
+                    d.getIssues().add(CategoryScore.Issue.of(IssueRule.RESPONSE_MISSING_DEFAULT_CODE, path, operationId));
+                }
             }
-        }, data);
+        } else {
+            // No responses defined at all
+            if (d.isDetailed()) d.getIssues().add(CategoryScore.Issue.of(IssueRule.RESPONSE_NO_CODES, path, operationId));
+        }
     }
 
     private void summarize(ResponseData data) {
@@ -109,18 +101,20 @@ public class ResponseScoringService implements CategoryScoringService {
             double responseScore = (double) data.getOperationsWithProperCodes() / data.getTotalOperations();
             data.setPoints((int) (data.getPoints() * responseScore));
 
-            if (data.getOperationsWithProperCodes() == data.getTotalOperations()) {
+            if (data.getOperationsWithProperCodes() == data.getTotalOperations() && data.isDetailed()) {
                 data.getStrengths().add("All operations have appropriate response codes");
             }
         } else {
             data.setPoints(0);
-            CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                    .location("#/paths")
-                    .description("No operations found to evaluate")
-                    .severity(CategoryScore.Severity.HIGH)
-                    .suggestion("Add API operations with proper response code definitions")
-                    .build();
-            data.getIssues().add(issue);
+            if (data.isDetailed()) {
+                CategoryScore.Issue issue = CategoryScore.Issue.builder()
+                        .location("#/paths")
+                        .description("No operations found to evaluate")
+                        .severity(CategoryScore.Severity.HIGH)
+                        .suggestion("Add API operations with proper response code definitions")
+                        .build();
+                data.getIssues().add(issue);
+            }
         }
     }
 }
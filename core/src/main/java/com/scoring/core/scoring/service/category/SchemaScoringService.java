@@ -2,13 +2,19 @@ package com.scoring.core.scoring.service.category;
 
 import com.scoring.core.scoring.config.ScoringConfig;
 import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.IssueRule;
+import com.scoring.core.scoring.model.ScoringMode;
 import com.scoring.core.scoring.model.category.SchemaData;
+import com.scoring.core.scoring.service.SchemaTypeResolver;
+import com.scoring.core.scoring.service.IssueAggregator;
+import com.scoring.core.scoring.service.SpecIndex;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
 import org.springframework.stereotype.Service;
 
-import static com.scoring.core.scoring.service.APIParserHelper.*;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 public class SchemaScoringService implements CategoryScoringService {
@@ -19,33 +25,91 @@ public class SchemaScoringService implements CategoryScoringService {
     }
 
     @Override
-    public CategoryScore scoreCategory(OpenAPI spec) {
-        int maxPoints = scoringConfig.getWeights().getSchemaAndTypes();
-        SchemaData data = new SchemaData();
-        data.setPoints(maxPoints);
-        data.setSpec(spec);
+    public CategoryVisitor createVisitor(SpecIndex index, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+        return new SchemaVisitor(index, mode, issueSink);
+    }
 
-        // Check if components/schemas section is defined
-        if (scoringConfig.getValidation().getSchema().isRequireSchemaComponents()){
-            checkComponentsSchemas(spec, data);
+    private class SchemaVisitor implements CategoryVisitor {
+        private final OpenAPI spec;
+        private final int maxPoints;
+        private final SchemaData data = new SchemaData();
+        private final SchemaTypeResolver typeResolver;
+        private final boolean checkComponents;
+        private final boolean checkRequestBodies;
+        private final boolean checkResponseBodies;
+
+        // Issues are collected per check so the report keeps the order of the original separate walks
+        private final List<CategoryScore.Issue> schemaTypeIssues;
+        private final List<CategoryScore.Issue> propertyIssues;
+        private final List<CategoryScore.Issue> requestBodyIssues;
+        private final List<CategoryScore.Issue> responseBodyIssues;
+
+        SchemaVisitor(SpecIndex index, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+            this.spec = index.spec();
+            this.maxPoints = scoringConfig.getWeights().getSchemaAndTypes();
+            data.setPoints(maxPoints);
+            data.setDetailed(mode == ScoringMode.FULL);
+            data.collectIssuesIn(new IssueAggregator(scoringConfig.getReport())::newIssueList);
+            data.streamIssuesTo(issueSink);
+            schemaTypeIssues = data.newIssueList();
+            propertyIssues = data.newIssueList();
+            requestBodyIssues = data.newIssueList();
+            responseBodyIssues = data.newIssueList();
+            data.setSpec(spec);
+            data.setReferences(index.references());
+            typeResolver = new SchemaTypeResolver(index.references());
+
+            // Check if components/schemas section is defined
+            checkComponents = scoringConfig.getValidation().getSchema().isRequireSchemaComponents() &&
+                    checkComponentsSchemas(spec, data);
+            checkRequestBodies = scoringConfig.getValidation().getSchema().isRequireRequestBodySchema();
+            checkResponseBodies = scoringConfig.getValidation().getSchema().isRequireResponseBodySchema();
+        }
+
+        @Override
+        public void onSchema(String schemaName, Schema<?> schema) {
+            if (checkComponents) checkSchemaType(schemaName, schema, typeResolver, data, schemaTypeIssues);
+        }
+
+        @Override
+        public void onSchemaProperty(String schemaName, String propertyName, Schema<?> property) {
+            if (checkComponents) checkSchemaProperty(schemaName, propertyName, property, typeResolver, data, propertyIssues);
         }
 
-        // Check request body schemas
-        if(scoringConfig.getValidation().getSchema().isRequireRequestBodySchema()) {
-            goOverRequestContents(spec, this::checkRequestBodySchema, data);
+        @Override
+        public void onRequestMediaType(String path, String operationId, String mediaTypeName, MediaType mediaType) {
+            if (checkRequestBodies) {
+                checkRequestBodySchema(path, operationId, mediaTypeName, mediaType, typeResolver, data, requestBodyIssues);
+            }
         }
 
-        // Check response schemas
-        if(scoringConfig.getValidation().getSchema().isRequireResponseBodySchema()) {
-            goOverResponseContents(spec, this::checkResponseBodySchema, data);
+        @Override
+        public void onResponseMediaType(
+                String path,
+                String operationId,
+                String responseCode,
+                String mediaTypeName,
+                MediaType mediaType
+        ) {
+            if (checkResponseBodies) {
+                checkResponseBodySchema(path, operationId, responseCode, mediaTypeName, mediaType, typeResolver, data, responseBodyIssues);
+            }
         }
 
-        summarize(spec, data);
+        @Override
+        public CategoryScore finish() {
+            data.getIssues().addAll(schemaTypeIssues);
+            data.getIssues().addAll(propertyIssues);
+            data.getIssues().addAll(requestBodyIssues);
+            data.getIssues().addAll(responseBodyIssues);
 
-        return data.buildScore(maxPoints, "Schema & Types");
+            summarize(spec, data);
+
+            return data.buildScore(maxPoints, "Schema & Types");
+        }
     }
 
-    private void checkComponentsSchemas(OpenAPI spec, SchemaData data) {
+    private boolean checkComponentsSchemas(OpenAPI spec, SchemaData data) {
         // Check if components/schemas section is defined
         if (
                 spec.getComponents() == null ||
@@ -53,62 +117,67 @@ public class SchemaScoringService implements CategoryScoringService {
                 spec.getComponents().getSchemas().isEmpty()
         ) {
             data.setPoints(data.getPoints() - scoringConfig.getValidation().getSchema().getPenaltyForMissingSchema());
-            data.getIssues().add(CategoryScore.Issue.builder()
-                    .location("#/components/schemas")
-                    .description("No schema components defined")
-                    .severity(CategoryScore.Severity.HIGH)
-                    .suggestion("Define reusable schema components in the components/schemas section")
-                    .build());
-
-            return;
+            if (data.isDetailed()) {
+                data.getIssues().add(CategoryScore.Issue.builder()
+                        .location("#/components/schemas")
+                        .description("No schema components defined")
+                        .severity(CategoryScore.Severity.HIGH)
+                        .suggestion("Define reusable schema components in the components/schemas section")
+                        .build());
+            }
+
+            return false;
         }
+        return true;
+    }
 
+    private void checkSchemaType(
+            String schemaName,
+            Schema<?> schema,
+            SchemaTypeResolver typeResolver,
+            SchemaData data,
+            List<CategoryScore.Issue> issues
+    ) {
         // Validate schema objects
-        goOverSchemas(spec, (schemaName, schema, d) -> {
-            String schemaType = schema.getType();
-            d.setTotalSchemas(d.getTotalSchemas() + 1);
-            if (schemaType == null){
-                d.getIssues().add(CategoryScore.Issue.builder()
-                        .location("#/components/schemas/" + schemaName)
-                        .description("Missing data type for schema (still infered as object)")
-                        .severity(CategoryScore.Severity.LOW)
-                        .suggestion("Define an 'object' data type for the schema")
-                        .build());
-            }
-        }, data);
+        String schemaType = typeResolver.resolveType(schema);
+        data.setTotalSchemas(data.getTotalSchemas() + 1);
+        if (schemaType == null && data.isDetailed()){
+            issues.add(CategoryScore.Issue.of(IssueRule.SCHEMA_MISSING_TYPE, schemaName));
+        }
+    }
 
+    private void checkSchemaProperty(
+            String schemaName,
+            String propertyName,
+            Schema<?> schema,
+            SchemaTypeResolver typeResolver,
+            SchemaData data,
+            List<CategoryScore.Issue> issues
+    ) {
         // Validate schema properties
-        goOverSchemaProperties(spec, (schemaName, propertyName, schema, d) -> {
-            String schemaType = parseType(schema);
-
-            boolean hasRef = doesReferenceExist(d.getSpec(), schema.get$ref());
-            boolean hasType = schemaType != null;
-            boolean hasValidType = hasType && scoringConfig.getValidation().getSchema()
-                    .getRequiredDataTypes().contains(schemaType);
+        String schemaType = typeResolver.resolveType(schema);
 
-            d.setTotalSchemas(d.getTotalSchemas() + 1);
+        boolean hasRef = data.getReferences().resolve(schema.get$ref(), Schema.class) != null;
+        boolean hasType = schemaType != null;
+        boolean hasValidType = hasType && scoringConfig.getValidation().getSchema()
+                .getRequiredDataTypes().contains(schemaType);
 
-            String location = String.format("#/components/schemas/%s/properties/%s", schemaName, propertyName);
+        data.setTotalSchemas(data.getTotalSchemas() + 1);
 
-            if (!hasRef && !hasType) {
-                d.setSchemaIssues(d.getSchemaIssues() + 1);
-                d.getIssues().add(CategoryScore.Issue.builder()
-                        .location(location)
-                        .description("Property '" + propertyName + "' in schema '" + schemaName + "' has no defined data type or reference")
-                        .severity(CategoryScore.Severity.HIGH)
-                        .suggestion("Define a proper data type or reference for the property")
-                        .build());
-            } else if (!hasRef && !hasValidType) {
-                d.setSchemaIssues(d.getSchemaIssues() + 1);
-                d.getIssues().add(CategoryScore.Issue.builder()
-                        .location(location)
-                        .description("Property '" + propertyName + "' in schema '" + schemaName + "' has an invalid data type: " + schemaType)
-                        .severity(CategoryScore.Severity.MEDIUM)
-                        .suggestion("Use one of the required data types: " +
-                                String.join(", ", scoringConfig.getValidation().getSchema().getRequiredDataTypes()))
-                        .build());
+        if (!hasRef && !hasType) {
+            data.setSchemaIssues(data.getSchemaIssues() + 1);
+            if (data.isDetailed()) issues.add(CategoryScore.Issue.of(IssueRule.SCHEMA_PROPERTY_MISSING_TYPE, schemaName, propertyName));
+        } else if (!hasRef && !hasValidType) {
+            data.setSchemaIssues(data.getSchemaIssues() + 1);
+            if (data.isDetailed()) {
+                issues.add(CategoryScore.Issue.of(
+                        IssueRule.SCHEMA_PROPERTY_INVALID_TYPE,
+                        schemaName,
+                        propertyName,
+                        schemaType,
+                        scoringConfig.getValidation().getSchema().getRequiredDataTypes()));
             }
-        }, data);
+        }
     }
 
     private void checkRequestBodySchema(
@@ -116,36 +185,23 @@ public class SchemaScoringService implements CategoryScoringService {
             String operationId,
             String mediaTypeName,
             MediaType mediaType,
-            SchemaData data
+            SchemaTypeResolver typeResolver,
+            SchemaData data,
+            List<CategoryScore.Issue> issues
     )
     {
         data.setTotalSchemas(data.getTotalSchemas() + 1);
 
-        String location = String.format("#/paths/%s/operations/%s/requestBody/%s",
-                path, operationId, mediaTypeName);
-
         // Check if the media type has a schema defined
         if (mediaType.getSchema() == null) {
             data.setSchemaIssues(data.getSchemaIssues() + 1);
-            data.getIssues().add(
-                    CategoryScore.Issue.builder()
-                            .location(location)
-                            .description("Missing schema definition")
-                            .severity(CategoryScore.Severity.HIGH)
-                            .suggestion("Define a proper schema for the request body")
-                            .build());
+            if (data.isDetailed()) issues.add(CategoryScore.Issue.of(IssueRule.SCHEMA_REQUEST_BODY_MISSING, path, operationId, mediaTypeName));
         } else if (
                 !scoringConfig.getValidation().getSchema().isAllowedGenericSchema() &&
-                        isGenericObjectSchema(data.getSpec(), mediaType.getSchema())
+                        isGenericObjectSchema(typeResolver, mediaType.getSchema())
         ) {
             data.setSchemaIssues(data.getSchemaIssues() + 1);
-            data.getIssues().add(
-                    CategoryScore.Issue.builder()
-                            .location(location)
-                            .description("Generic object schema without properties")
-                            .severity(CategoryScore.Severity.MEDIUM)
-                            .suggestion("Define specific properties for the object schema or use a $ref to a component schema")
-                            .build());
+            if (data.isDetailed()) issues.add(CategoryScore.Issue.of(IssueRule.SCHEMA_REQUEST_BODY_GENERIC, path, operationId, mediaTypeName));
         }
     }
 
@@ -155,34 +211,27 @@ public class SchemaScoringService implements CategoryScoringService {
             String responseCode,
             String mediaTypeName,
             MediaType mediaType,
-            SchemaData data
+            SchemaTypeResolver typeResolver,
+            SchemaData data,
+            List<CategoryScore.Issue> issues
     ) {
         data.setTotalSchemas(data.getTotalSchemas() + 1);
 
-        String location = String.format("#/paths/%s/operations/%s/responses/%s/%s",
-                path, operationId, responseCode, mediaTypeName);
-
         // Check if the media type has a schema defined
         if (mediaType.getSchema() == null) {
             data.setSchemaIssues(data.getSchemaIssues() + 1);
-            data.getIssues().add(
-                    CategoryScore.Issue.builder()
-                            .location(location)
-                            .description("Missing schema definition")
-                            .severity(CategoryScore.Severity.HIGH)
-                            .suggestion("Define a proper schema for the response body")
-                            .build());
+            if (data.isDetailed()) {
+                issues.add(CategoryScore.Issue.of(
+                        IssueRule.SCHEMA_RESPONSE_BODY_MISSING, path, operationId, responseCode, mediaTypeName));
+            }
         } else if (
                 !scoringConfig.getValidation().getSchema().isAllowedGenericSchema() &&
-                        isGenericObjectSchema(data.getSpec(), mediaType.getSchema())) {
+                        isGenericObjectSchema(typeResolver, mediaType.getSchema())) {
             data.setSchemaIssues(data.getSchemaIssues() + 1);
-            data.getIssues().add(
-                    CategoryScore.Issue.builder()
-                            .location(location)
-                            .description("Generic object schema without properties")
-                            .severity(CategoryScore.Severity.MEDIUM)
-                            .suggestion("Define specific properties for the object schema or use a $ref to a component schema")
-                            .build());
+            if (data.isDetailed()) {
+                issues.add(CategoryScore.Issue.of(
+                        IssueRule.SCHEMA_RESPONSE_BODY_GENERIC, path, operationId, responseCode, mediaTypeName));
+            }
         }
     }
 
@@ -193,6 +242,10 @@ public class SchemaScoringService implements CategoryScoringService {
                 double schemaQualityRatio = 1.0 - ((double) data.getSchemaIssues() / data.getTotalSchemas());
                 data.setPoints((int) (data.getPoints() * schemaQualityRatio));
 
+                if (!data.isDetailed()) {
+                    return;
+                }
+
                 if (data.getSchemaIssues() == 0) {
                     data.getStrengths().add("All schemas have proper data types");
                 } else {
@@ -214,20 +267,22 @@ public class SchemaScoringService implements CategoryScoringService {
         }
         else {
             data.setPoints(0);
-            data.getIssues().add(CategoryScore.Issue.builder()
-                    .location("#/paths")
-                    .description("No paths defined in the OpenAPI specification")
-                    .severity(CategoryScore.Severity.HIGH)
-                    .suggestion("Define at least one path with operations and schemas")
-                    .build());
+            if (data.isDetailed()) {
+                data.getIssues().add(CategoryScore.Issue.builder()
+                        .location("#/paths")
+                        .description("No paths defined in the OpenAPI specification")
+                        .severity(CategoryScore.Severity.HIGH)
+                        .suggestion("Define at least one path with operations and schemas")
+                        .build());
+            }
         }
     }
 
-    private boolean isGenericObjectSchema(OpenAPI spec, Schema<?> schema) {
-        String schemaType = parseType(schema);
-        return (schemaType == null && doesReferenceExist(spec, schema.get$ref())) ||
-                ("object".equals(schemaType) &&
-                        (schema.getProperties() == null || schema.getProperties().isEmpty()));
+    private boolean isGenericObjectSchema(SchemaTypeResolver typeResolver, Schema<?> schema) {
+        // A $ref to a component is judged by the component it points to
+        Schema<?> target = typeResolver.dereference(schema);
+        return "object".equals(typeResolver.resolveType(schema)) &&
+                (target.getProperties() == null || target.getProperties().isEmpty());
     }
 
 }
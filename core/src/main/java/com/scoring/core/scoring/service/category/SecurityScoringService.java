@@ -2,14 +2,19 @@ package com.scoring.core.scoring.service.category;
 
 import com.scoring.core.scoring.config.ScoringConfig;
 import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.IssueRule;
+import com.scoring.core.scoring.model.ScoringMode;
 import com.scoring.core.scoring.model.category.SecurityData;
+import com.scoring.core.scoring.service.IssueAggregator;
+import com.scoring.core.scoring.service.SpecIndex;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-
-import static com.scoring.core.scoring.service.APIParserHelper.*;
+import java.util.function.Consumer;
 
 @Service
 public class SecurityScoringService implements CategoryScoringService {
@@ -20,45 +25,113 @@ public class SecurityScoringService implements CategoryScoringService {
     }
 
     @Override
-    public CategoryScore scoreCategory(OpenAPI spec) {
-        int maxPoints = scoringConfig.getWeights().getSecurity();
-        SecurityData data = new SecurityData();
-        data.setPoints(maxPoints);
-        if(spec.getComponents() != null && spec.getComponents().getSecuritySchemes() != null) {
-            data.setSecuritySchemes(spec.getComponents().getSecuritySchemes().keySet());
-        }
+    public CategoryVisitor createVisitor(SpecIndex index, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+        return new SecurityVisitor(index.spec(), mode, issueSink);
+    }
+
+    private class SecurityVisitor implements CategoryVisitor {
+        private final OpenAPI spec;
+        private final int maxPoints;
+        private final SecurityData data = new SecurityData();
+        private final boolean hasPaths;
+        private final boolean checkSchemes;
+        private final boolean checkOperations;
+        private final boolean checkGlobal;
+
+        // Issues are collected per check so the report keeps the order of the original separate walks
+        private final List<CategoryScore.Issue> schemeIssues;
+        private final List<CategoryScore.Issue> operationIssues;
+        private final List<CategoryScore.Issue> globalIssues;
+
+        SecurityVisitor(OpenAPI spec, ScoringMode mode, Consumer<CategoryScore.Issue> issueSink) {
+            this.spec = spec;
+            this.maxPoints = scoringConfig.getWeights().getSecurity();
+            data.setPoints(maxPoints);
+            data.setDetailed(mode == ScoringMode.FULL);
+            data.collectIssuesIn(new IssueAggregator(scoringConfig.getReport())::newIssueList);
+            data.streamIssuesTo(issueSink);
+            schemeIssues = data.newIssueList();
+            operationIssues = data.newIssueList();
+            globalIssues = data.newIssueList();
+            if(spec.getComponents() != null && spec.getComponents().getSecuritySchemes() != null) {
+                data.setSecuritySchemes(spec.getComponents().getSecuritySchemes().keySet());
+            }
 
-        if(spec.getPaths() == null || spec.getPaths().isEmpty()) {
             // No paths means no operations, hence no security checks needed
-            data.getIssues().add(CategoryScore.Issue.builder()
-                    .location("paths")
-                    .description("No paths defined in the OpenAPI spec")
-                    .severity(CategoryScore.Severity.HIGH)
-                    .suggestion("Add paths to the OpenAPI spec to enable security checks")
-                    .build());
-            data.setPoints(0);
-            return data.buildScore(maxPoints, "Security");
+            hasPaths = spec.getPaths() != null && !spec.getPaths().isEmpty();
+            checkSchemes = hasPaths && scoringConfig.getValidation().getSecurity().isRequireSecuritySchemes();
+            checkOperations = hasPaths && scoringConfig.getValidation().getSecurity().isRequireOperationLevelSecurity();
+            checkGlobal = hasPaths && scoringConfig.getValidation().getSecurity().isRequireGlobalSecurity();
         }
 
-        // Check if security schemes are defined
-        if(scoringConfig.getValidation().getSecurity().isRequireSecuritySchemes()) {
-            checkSecuritySchemes(spec, data);
+        @Override
+        public void onSecurityScheme(String schemeName, SecurityScheme scheme) {
+            if (checkSchemes) checkSecurityScheme(schemeName, scheme, data, schemeIssues);
         }
 
-        // Check if security schemes are applied to operations
-        if(scoringConfig.getValidation().getSecurity().isRequireOperationLevelSecurity()) {
-            checkOperationSecurity(spec, data);
+        @Override
+        public void onSecurityRequirement(String path, String operationId, String schemeName) {
+            if (checkOperations) checkOperationSecurityRequirement(path, operationId, schemeName, data, operationIssues);
         }
 
-        // Also check global security
-        if(scoringConfig.getValidation().getSecurity().isRequireGlobalSecurity()) {
-            checkGlobalSecurity(spec, data);
+        @Override
+        public void onGlobalSecurityRequirement(String schemeName) {
+            if (checkGlobal) checkGlobalSecurityRequirement(schemeName, data, globalIssues);
+        }
+
+        @Override
+        public CategoryScore finish() {
+            if(!hasPaths) {
+                if (data.isDetailed()) {
+                    data.getIssues().add(CategoryScore.Issue.builder()
+                            .location("paths")
+                            .description("No paths defined in the OpenAPI spec")
+                            .severity(CategoryScore.Severity.HIGH)
+                            .suggestion("Add paths to the OpenAPI spec to enable security checks")
+                            .build());
+                }
+                data.setPoints(0);
+                return data.buildScore(maxPoints, "Security");
+            }
+
+            // Check if security schemes are defined
+            if(checkSchemes) {
+                summarizeSecuritySchemes(spec, data, schemeIssues);
+            }
+
+            // Check if security schemes are applied to operations
+            if(checkOperations) {
+                summarizeOperationSecurity(data, operationIssues);
+            }
+
+            // Also check global security
+            if(checkGlobal) {
+                summarizeGlobalSecurity(spec, data, globalIssues);
+            }
+
+            return data.buildScore(maxPoints, "Security");
         }
+    }
 
-        return data.buildScore(maxPoints, "Security");
+    private void checkSecurityScheme(
+            String schemeName,
+            SecurityScheme scheme,
+            SecurityData data,
+            List<CategoryScore.Issue> issues
+    ) {
+        data.setTotalSecuritySchemes(data.getTotalSecuritySchemes() + 1);
+        if (scheme == null || scheme.getType() == null ||
+                !scoringConfig.getValidation().getSecurity().getRecommendedSecurityTypes().contains(scheme.getType().toString())) {
+            data.setWrongSecuritySchemes(data.getWrongSecuritySchemes() + 1);
+
+            if (data.isDetailed()) {
+                issues.add(CategoryScore.Issue.of(IssueRule.SECURITY_SCHEME_NOT_RECOMMENDED, schemeName,
+                        scoringConfig.getValidation().getSecurity().getRecommendedSecurityTypes()));
+            }
+        }
     }
 
-    private void checkSecuritySchemes(OpenAPI spec, SecurityData data) {
+    private void summarizeSecuritySchemes(OpenAPI spec, SecurityData data, List<CategoryScore.Issue> schemeIssues) {
         if (
                 spec.getComponents() == null ||
                 spec.getComponents().getSecuritySchemes() == null ||
@@ -67,76 +140,59 @@ public class SecurityScoringService implements CategoryScoringService {
             data.setPoints(data.getPoints() - scoringConfig.getValidation().getSecurity().getPenaltyForWeakSecuritySchemes());
             System.out.println("No security schemes defined in components");
 
-            CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                    .location("#/components/securitySchemes")
-                    .description("No security schemes defined")
-                    .severity(CategoryScore.Severity.HIGH)
-                    .suggestion("Define security schemes in components section (e.g., Bearer token, API key, OAuth2)")
-                    .build();
-
-            data.getIssues().add(issue);
-            return;
-        }
-
-        goOverSecuritySchemes(spec, (schemeName, scheme, d) -> {
-            data.setTotalSecuritySchemes(data.getTotalSecuritySchemes() + 1);
-            if (scheme == null || scheme.getType() == null ||
-                    !scoringConfig.getValidation().getSecurity().getRecommendedSecurityTypes().contains(scheme.getType().toString())) {
-                d.setWrongSecuritySchemes(d.getWrongSecuritySchemes() + 1);
-
+            if (data.isDetailed()) {
                 CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                        .location(String.format("#/components.securitySchemes/%s", schemeName))
-                        .description(
-                                String.format(
-                                        "Security scheme '%s' is defined but not configured with the recommended type: %s",
-                                        schemeName,
-                                        String.join(", ", scoringConfig.getValidation().getSecurity().getRecommendedSecurityTypes())
-                                ))
-                        .severity(CategoryScore.Severity.MEDIUM)
-                        .suggestion("Ensure security scheme is properly configured")
+                        .location("#/components/securitySchemes")
+                        .description("No security schemes defined")
+                        .severity(CategoryScore.Severity.HIGH)
+                        .suggestion("Define security schemes in components section (e.g., Bearer token, API key, OAuth2)")
                         .build();
 
                 data.getIssues().add(issue);
             }
-        }, data);
+            return;
+        }
+
+        data.getIssues().addAll(schemeIssues);
 
         int penalty = (int)(scoringConfig.getValidation().getSecurity().getPenaltyForWeakSecuritySchemes()
                 * (double) (data.getWrongSecuritySchemes()) / data.getTotalSecuritySchemes());
         data.setPoints(data.getPoints() - penalty);
 
-        if(data.getWrongSecuritySchemes() == 0) {
+        if(data.getWrongSecuritySchemes() == 0 && data.isDetailed()) {
             data.getStrengths().add("Security schemes are defined");
         }
     }
 
-    private void checkOperationSecurity(OpenAPI spec, SecurityData data) {
-        goOverOperationSecuritySchemes(spec, (path, operationId, schemeName, d) -> {
-            d.setTotalOperationsSecurity(d.getTotalOperationsSecurity() + 1);
-            if (!d.getSecuritySchemes().contains(schemeName)) {
-                d.setWrongOperationsSecurity(d.getWrongOperationsSecurity() + 1);
-                CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                        .location(String.format("#/%s/%s/security", path, operationId))
-                        .description("Security scheme '" + schemeName + "' not defined in components")
-                        .severity(CategoryScore.Severity.HIGH)
-                        .suggestion("Define security scheme in components section")
-                        .build();
-                data.getIssues().add(issue);
-            } else {
-                d.getUsedSchemes().add(schemeName);
+    private void checkOperationSecurityRequirement(
+            String path,
+            String operationId,
+            String schemeName,
+            SecurityData d,
+            List<CategoryScore.Issue> issues
+    ) {
+        d.setTotalOperationsSecurity(d.getTotalOperationsSecurity() + 1);
+        if (!d.getSecuritySchemes().contains(schemeName)) {
+            d.setWrongOperationsSecurity(d.getWrongOperationsSecurity() + 1);
+            if (d.isDetailed()) {
+                issues.add(CategoryScore.Issue.of(
+                        IssueRule.SECURITY_OPERATION_SCHEME_UNDEFINED, path, operationId, schemeName));
+            }
+        } else {
+            d.getUsedSchemes().add(schemeName);
+        }
+    }
+
+    private void summarizeOperationSecurity(SecurityData data, List<CategoryScore.Issue> operationIssues) {
+        data.getIssues().addAll(operationIssues);
+
+        if (data.isDetailed()) {
+            Set<String> leftoverSchemes = new HashSet<>(data.getSecuritySchemes());
+            leftoverSchemes.removeAll(data.getUsedSchemes());
+
+            for(String scheme : leftoverSchemes) {
+                data.getIssues().add(CategoryScore.Issue.of(IssueRule.SECURITY_SCHEME_UNUSED, scheme));
             }
-        }, data);
-
-        Set<String> leftoverSchemes = new HashSet<>(data.getSecuritySchemes());
-        leftoverSchemes.removeAll(data.getUsedSchemes());
-
-        for(String scheme : leftoverSchemes) {
-            CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                    .location(String.format("#/components.securitySchemes/%s", scheme))
-                    .description("Security scheme '" + scheme + "' defined but not used in any operation")
-                    .severity(CategoryScore.Severity.LOW)
-                    .suggestion("Consider removing unused security scheme or applying it to operations")
-                    .build();
-            data.getIssues().add(issue);
         }
 
         if (data.getTotalOperationsSecurity() > 0) {
@@ -144,42 +200,39 @@ public class SecurityScoringService implements CategoryScoringService {
                     * (double) data.getWrongOperationsSecurity() / data.getTotalOperationsSecurity());
             data.setPoints(data.getPoints() - penalty);
 
-            if (data.getWrongOperationsSecurity() == 0) {
+            if (data.getWrongOperationsSecurity() == 0 && data.isDetailed()) {
                 data.getStrengths().add("All operations have valid security requirements");
             }
         }
     }
 
-    private void checkGlobalSecurity(OpenAPI spec, SecurityData data) {
-        goOverGlobalSecuritySchemes(spec, (schemeName, T) -> {
-            data.setTotalGlobalSecurity(data.getTotalGlobalSecurity() + 1);
-            if (!data.getSecuritySchemes().contains(schemeName)) {
-                data.setWrongGlobalSecurity(data.getWrongGlobalSecurity() + 1);
+    private void checkGlobalSecurityRequirement(String schemeName, SecurityData data, List<CategoryScore.Issue> issues) {
+        data.setTotalGlobalSecurity(data.getTotalGlobalSecurity() + 1);
+        if (!data.getSecuritySchemes().contains(schemeName)) {
+            data.setWrongGlobalSecurity(data.getWrongGlobalSecurity() + 1);
+
+            if (data.isDetailed()) issues.add(CategoryScore.Issue.of(IssueRule.SECURITY_GLOBAL_SCHEME_UNDEFINED, schemeName));
+        }
+    }
+
+    private void summarizeGlobalSecurity(OpenAPI spec, SecurityData data, List<CategoryScore.Issue> globalIssues) {
+        data.getIssues().addAll(globalIssues);
 
+        if (spec.getSecurity() == null || spec.getSecurity().isEmpty()) {
+            data.setPoints(data.getPoints() - scoringConfig.getValidation().getSecurity().getPenaltyForWeakGlobalSecurity());
+            if (data.isDetailed()) {
                 CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                        .location(String.format("#/security/%s", schemeName))
-                        .description("Global security requirement '" + schemeName + "' not defined in components")
+                        .location("security")
+                        .description("No global security requirements defined")
                         .severity(CategoryScore.Severity.HIGH)
-                        .suggestion("Define security scheme in components section")
+                        .suggestion("Define global security requirements in the OpenAPI spec")
                         .build();
 
                 data.getIssues().add(issue);
             }
-        }, data);
-
-        if (spec.getSecurity() == null || spec.getSecurity().isEmpty()) {
-            data.setPoints(data.getPoints() - scoringConfig.getValidation().getSecurity().getPenaltyForWeakGlobalSecurity());
-            CategoryScore.Issue issue = CategoryScore.Issue.builder()
-                    .location("security")
-                    .description("No global security requirements defined")
-                    .severity(CategoryScore.Severity.HIGH)
-                    .suggestion("Define global security requirements in the OpenAPI spec")
-                    .build();
-
-            data.getIssues().add(issue);
         }else{
             if(data.getWrongGlobalSecurity() == 0) {
-                data.getStrengths().add("Global security requirements are defined");
+                if (data.isDetailed()) data.getStrengths().add("Global security requirements are defined");
             }else{
                 int penalty = (int) (scoringConfig.getValidation().getSecurity().getPenaltyForWeakGlobalSecurity()
                         * (double) data.getWrongGlobalSecurity() / data.getTotalGlobalSecurity());
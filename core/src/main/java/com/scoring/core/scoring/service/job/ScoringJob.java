@@ -0,0 +1,57 @@
+package com.scoring.core.scoring.service.job;
+
+import com.scoring.core.scoring.model.ErrorResponse;
+import com.scoring.core.scoring.model.JobStatus;
+import com.scoring.core.scoring.model.SpecScore;
+import com.scoring.core.scoring.service.SpecTree;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A queued scoring request. The spec tree is dropped once the job starts so finished jobs only retain their result.
+ */
+public class ScoringJob {
+    private final String id;
+    private final CompletableFuture<JobStatus> result = new CompletableFuture<>();
+
+    private volatile JobStatus.State state = JobStatus.State.QUEUED;
+    private volatile SpecTree body;
+
+    ScoringJob(String id, SpecTree body) {
+        this.id = id;
+        this.body = body;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public JobStatus status() {
+        JobStatus finished = result.getNow(null);
+        return finished != null ? finished : new JobStatus(id, state, null, null);
+    }
+
+    /**
+     * Completes with the final status once the job succeeded or failed
+     */
+    public CompletableFuture<JobStatus> completion() {
+        return result;
+    }
+
+    SpecTree start() {
+        state = JobStatus.State.RUNNING;
+        SpecTree spec = body;
+        body = null;
+        return spec;
+    }
+
+    void succeed(SpecScore score) {
+        state = JobStatus.State.SUCCEEDED;
+        result.complete(new JobStatus(id, state, score, null));
+    }
+
+    void fail(String message, String details) {
+        state = JobStatus.State.FAILED;
+        result.complete(new JobStatus(id, state, null, new ErrorResponse(message, details)));
+    }
+}
@@ -0,0 +1,70 @@
+package com.scoring.core.scoring.service.job;
+
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.JobStatus;
+import com.scoring.core.scoring.model.ScoringMode;
+import com.scoring.core.scoring.model.exception.OpenAPILoadException;
+import com.scoring.core.scoring.model.exception.OpenAPIReadException;
+import com.scoring.core.scoring.model.exception.ScoringQueueFullException;
+import com.scoring.core.scoring.service.APIScoringService;
+import com.scoring.core.scoring.service.SpecTree;
+import com.scoring.core.scoring.service.cache.LruCache;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs scoring requests on the bounded job pool instead of the HTTP request thread.
+ * Bodies are read, limited and parsed into a tree on the request thread, so only checked specs are queued.
+ * Submissions are rejected when the job queue is full; the most recent jobs are kept for polling.
+ */
+@Service
+public class ScoringJobService {
+    private final APIScoringService apiScoringService;
+    private final ExecutorService scoringJobExecutor;
+
+    private final LruCache<String, ScoringJob> jobs;
+
+    public ScoringJobService(
+            ScoringConfig scoringConfig,
+            APIScoringService apiScoringService,
+            ExecutorService scoringJobExecutor
+    ) {
+        this.apiScoringService = apiScoringService;
+        this.scoringJobExecutor = scoringJobExecutor;
+        this.jobs = new LruCache<>(scoringConfig.getJobs().getMaxRetainedJobs());
+    }
+
+    public JobStatus submit(SpecTree body, ScoringMode mode) {
+        ScoringJob job = new ScoringJob(UUID.randomUUID().toString(), body);
+        // Retained before it can run, so a fast job or a client polling right away never sees an unknown id
+        jobs.put(job.getId(), job);
+        try {
+            scoringJobExecutor.execute(() -> run(job, mode));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new ScoringQueueFullException("Scoring queue is full, retry later");
+        }
+        return job.status();
+    }
+
+    /**
+     * Returns the job, or null when it is unknown or no longer retained
+     */
+    public ScoringJob find(String id) {
+        return jobs.get(id);
+    }
+
+    private void run(ScoringJob job, ScoringMode mode) {
+        SpecTree body = job.start();
+        try {
+            job.succeed(apiScoringService.scoreTree(body, mode));
+        } catch (OpenAPILoadException | OpenAPIReadException e) {
+            job.fail("Invalid OpenAPI JSON or YAML", e.getMessage());
+        } catch (Exception e) {
+            job.fail("Internal Server Error", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.scoring.core.scoring.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CategoryScoreTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void testIssueKeepsRecordJsonShape() throws Exception {
+        CategoryScore.Issue issue = CategoryScore.Issue.builder()
+                .location("#/paths/users")
+                .description("Missing description")
+                .severity(CategoryScore.Severity.LOW)
+                .build();
+
+        String json = MAPPER.writeValueAsString(issue);
+
+        assert json.equals("{\"location\":\"#/paths/users\",\"description\":\"Missing description\"," +
+                "\"severity\":\"LOW\",\"suggestion\":null}") : "Issue JSON should keep the fields of the record: " + json;
+    }
+
+    @Test
+    public void testRuleIssueOnlyAddsRuleId() throws Exception {
+        CategoryScore.Issue issue = CategoryScore.Issue.of(IssueRule.SCHEMA_MISSING_TYPE, "User");
+
+        List<String> fields = fieldNames(MAPPER.valueToTree(issue));
+
+        assert fields.equals(List.of("location", "description", "severity", "suggestion", "ruleId")) :
+                "A rule issue should only add its rule id: " + fields;
+    }
+
+    @Test
+    public void testAggregatedIssueJson() throws Exception {
+        CategoryScore.Issue issue = CategoryScore.Issue.aggregate(
+                IssueRule.SCHEMA_MISSING_TYPE,
+                CategoryScore.Severity.LOW,
+                "Define an 'object' data type for the schema",
+                3,
+                List.of("#/components/schemas/A"));
+
+        List<String> fields = fieldNames(MAPPER.valueToTree(issue));
+
+        assert !fields.contains("aggregated") : "The aggregated flag should not be written";
+        assert fields.containsAll(List.of("occurrences", "sampleLocations")) : "Aggregates should carry their count";
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -1,12 +1,19 @@
 package com.scoring.core.scoring.service;
 
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.ScoreStreamEvent;
+import com.scoring.core.scoring.model.ScoringMode;
 import io.swagger.v3.oas.models.OpenAPI;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 
+import java.io.ByteArrayInputStream;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 @SpringBootTest
 @TestPropertySource("classpath:application.properties")
@@ -18,6 +25,9 @@ public class APIScoringServiceTest {
     @Autowired
     private SpecLoaderService specLoaderService;
 
+    @Autowired
+    private ScoringConfig scoringConfig;
+
     @Test
     public void testAPIScoringEmptySpec() {
         OpenAPI emptySpec = new OpenAPI();
@@ -51,6 +61,120 @@ public class APIScoringServiceTest {
         assert score.bestPracticesScore().score() >= 0 : "Best practices score should be non-negative";
     }
 
+    @Test
+    public void testAPIScoringParallelMatchesSequential() {
+        String specLocation = String.format(
+                "%s%s",
+                Paths.get("").toAbsolutePath(),
+                "/src/test/resources/train-travel-api-openapi-source.json");
+        OpenAPI openAPI = specLoaderService.load(specLocation);
+
+        try {
+            scoringConfig.getExecution().setParallel(false);
+            var sequentialScore = apiScoringService.score(openAPI);
+
+            scoringConfig.getExecution().setParallel(true);
+            var parallelScore = apiScoringService.score(openAPI);
+
+            assert sequentialScore.equals(parallelScore) : "Parallel scoring should produce the same score as sequential scoring";
+        } finally {
+            scoringConfig.getExecution().setParallel(false);
+        }
+    }
+
+    @Test
+    public void testAPIScoringSummaryMatchesFull() {
+        String specLocation = String.format(
+                "%s%s",
+                Paths.get("").toAbsolutePath(),
+                "/src/test/resources/train-travel-api-openapi-source.json");
+        OpenAPI openAPI = specLoaderService.load(specLocation);
+
+        var fullScore = apiScoringService.score(openAPI);
+        var summaryScore = apiScoringService.score(openAPI, ScoringMode.SUMMARY);
+
+        assert summaryScore.equals(fullScore.withoutDetails()) :
+                "Summary scoring should produce the same scores and grade as full scoring";
+        assert summaryScore.schemaScore().issues().isEmpty() && summaryScore.schemaScore().strengths().isEmpty() :
+                "Summary scoring should not report issues or strengths";
+    }
+
+    @Test
+    public void testAPIScoringPrunedSpecMatchesFullModel() {
+        String specLocation = String.format(
+                "%s%s",
+                Paths.get("").toAbsolutePath(),
+                "/src/test/resources/train-travel-api-openapi-source.yaml");
+        ScoringConfig unprunedConfig = new ScoringConfig();
+        unprunedConfig.getInput().setPruneUnscoredSections(false);
+
+        var prunedScore = apiScoringService.score(specLoaderService.load(specLocation));
+        var fullScore = apiScoringService.score(new SpecLoaderService(unprunedConfig).load(specLocation));
+
+        assert prunedScore.withoutDetails().equals(fullScore.withoutDetails()) :
+                "Skipping unscored sections should not change any score";
+        assert prunedScore.exampleScore().issues().size() == fullScore.exampleScore().issues().size() :
+                "Example presence should survive pruning";
+    }
+
+    @Test
+    public void testAPIScoringSnapshotMatchesParsedSpec() {
+        String specLocation = String.format(
+                "%s%s",
+                Paths.get("").toAbsolutePath(),
+                "/src/test/resources/train-travel-api-openapi-source.yaml");
+        OpenAPI parsed = specLoaderService.load(specLocation);
+
+        byte[] snapshot = specLoaderService.writeSnapshot(parsed);
+        OpenAPI reloaded = specLoaderService.readSnapshot(new ByteArrayInputStream(snapshot));
+
+        var parsedScore = apiScoringService.score(parsed);
+        var reloadedScore = apiScoringService.score(reloaded);
+
+        assert reloadedScore.withoutDetails().equals(parsedScore.withoutDetails()) :
+                "A reloaded snapshot should score the same as the parsed spec";
+        assert reloadedScore.descriptionScore().issues().size() == parsedScore.descriptionScore().issues().size() :
+                "Description checks should see the same descriptions";
+        assert reloadedScore.schemaScore().issues().size() == parsedScore.schemaScore().issues().size() :
+                "Schema checks should see the same schemas";
+    }
+
+    @Test
+    public void testAPIScoringStreamingMatchesFull() {
+        String specLocation = String.format(
+                "%s%s",
+                Paths.get("").toAbsolutePath(),
+                "/src/test/resources/train-travel-api-openapi-source.json");
+        OpenAPI openAPI = specLoaderService.load(specLocation);
+
+        var fullScore = apiScoringService.score(openAPI);
+        List<ScoreStreamEvent> events = new ArrayList<>();
+        apiScoringService.scoreStreaming(openAPI, events::add);
+
+        List<CategoryScore.Issue> streamedIssues = events.stream()
+                .filter(event -> event.type() == ScoreStreamEvent.Type.ISSUE)
+                .map(ScoreStreamEvent::issue)
+                .toList();
+        ScoreStreamEvent schemaEvent = events.stream()
+                .filter(event -> "schemaScore".equals(event.category()) && event.type() == ScoreStreamEvent.Type.CATEGORY)
+                .findFirst()
+                .orElseThrow();
+        ScoreStreamEvent last = events.get(events.size() - 1);
+
+        assert streamedIssues.size() == fullScore.schemaScore().issues().size() +
+                fullScore.descriptionScore().issues().size() +
+                fullScore.pathsScore().issues().size() +
+                fullScore.responseScore().issues().size() +
+                fullScore.exampleScore().issues().size() +
+                fullScore.securityScore().issues().size() +
+                fullScore.bestPracticesScore().issues().size() : "Every issue should be streamed";
+        assert schemaEvent.categoryScore().equals(fullScore.schemaScore().withIssues(List.of())) :
+                "Streamed categories should match full scoring without their issues";
+        assert last.type() == ScoreStreamEvent.Type.TOTAL : "The total should be streamed last";
+        assert last.totalScore().equals(fullScore.totalScore()) && last.grade().equals(fullScore.grade()) :
+                "Streaming should produce the same total and grade as full scoring";
+    }
+
     @Test
     public void testAPIScoringScoreTwitterDefaultRules() {
         String specLocation = "https://snowcait.github.io/twitter-swagger-ui/openapi.v2.json";
@@ -0,0 +1,120 @@
+package com.scoring.core.scoring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scoring.core.scoring.model.BatchScoreResult;
+import com.scoring.core.scoring.model.BatchSpec;
+import com.scoring.core.scoring.model.ScoringMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@SpringBootTest
+@TestPropertySource("classpath:application.properties")
+public class BatchScoringServiceTest {
+    private static final String SPEC = """
+            {"openapi": "3.0.1", "info": {"title": "Users", "version": "1.0"},
+             "paths": {"/users": {"get": {"responses": {"200": {"description": "Users"}}}}}}
+            """;
+
+    @Autowired
+    private BatchScoringService batchScoringService;
+
+    @Autowired
+    private APIScoringService apiScoringService;
+
+    @Autowired
+    private SpecLoaderService specLoaderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testBatchScoringReportsEverySpec() throws InterruptedException {
+        List<BatchSpec> specs = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            specs.add(new BatchSpec("spec-" + i, SPEC));
+        }
+        specs.add(new BatchSpec("unreadable", null));
+
+        List<BatchScoreResult> results = Collections.synchronizedList(new ArrayList<>());
+        batchScoringService.scoreAll(specs.iterator(), ScoringMode.FULL, results::add);
+
+        Map<String, BatchScoreResult> byId = results.stream()
+                .collect(Collectors.toMap(BatchScoreResult::id, Function.identity()));
+        assert byId.size() == 21 : "Every spec should get exactly one result";
+        assert byId.get("spec-0").score().equals(apiScoringService.score(specLoaderService.readJson(SPEC))) :
+                "Batch scores should match single scores";
+        assert byId.get("unreadable").error() != null : "Unreadable entries should be reported as errors";
+    }
+
+    @Test
+    public void testNdjsonBatchReaderEntries() {
+        String ndjson = """
+                {"id": "text", "spec": "openapi: 3.0.1"}
+
+                {"spec": {"openapi": "3.0.1"}}
+                not json
+                """;
+        NdjsonBatchReader reader = new NdjsonBatchReader(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), objectMapper);
+
+        List<BatchSpec> specs = new ArrayList<>();
+        reader.forEachRemaining(specs::add);
+
+        assert specs.size() == 3 : "Blank lines should be skipped";
+        assert specs.get(0).equals(new BatchSpec("text", "openapi: 3.0.1")) : "Text specs should be passed through";
+        assert specs.get(1).id().equals("line-3") : "Entries without an id should be named after their line";
+        assert specs.get(1).spec().contains("3.0.1") : "Embedded specs should be serialised";
+        assert specs.get(2).spec() == null : "Unreadable lines should have no spec";
+    }
+
+    @Test
+    public void testNdjsonBatchReaderLimitsEntries() {
+        String ndjson = """
+                {"id": "small", "spec": "openapi: 3.0.1"}
+                {"id": "large", "spec": "%s"}
+                {"id": "after", "spec": "openapi: 3.0.1"}
+                {"id": "over", "spec": "openapi: 3.0.1"}
+                """.formatted("x".repeat(500));
+        NdjsonBatchReader reader = new NdjsonBatchReader(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), objectMapper, 100, 0, 3);
+
+        List<BatchSpec> specs = new ArrayList<>();
+        reader.forEachRemaining(specs::add);
+
+        assert specs.size() == 4 : "Reading should stop after the entry limit";
+        assert specs.get(0).spec() != null : "Entries within the limits should be read";
+        assert specs.get(1).spec() == null && specs.get(1).error().contains("100 bytes") :
+                "An oversized entry should be reported with the limit";
+        assert specs.get(2).id().equals("after") : "Entries after an oversized one should still be read";
+        assert specs.get(3).error().contains("3 entries") : "The entry limit should be reported";
+    }
+
+    @Test
+    public void testNdjsonBatchReaderLimitsBatchSize() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            ndjson.append("{\"id\": \"spec-").append(i).append("\", \"spec\": \"openapi: 3.0.1\"}\n");
+        }
+        NdjsonBatchReader reader = new NdjsonBatchReader(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), objectMapper, 0, 500, 0);
+
+        List<BatchSpec> specs = new ArrayList<>();
+        reader.forEachRemaining(specs::add);
+
+        assert specs.size() < 100 : "Reading should stop once the batch is over its size limit";
+        assert specs.get(specs.size() - 1).error().contains("500 bytes") : "The size limit should be reported";
+        assert specs.subList(0, specs.size() - 1).stream().allMatch(spec -> spec.spec() != null) :
+                "Entries within the size limit should be read";
+    }
+}
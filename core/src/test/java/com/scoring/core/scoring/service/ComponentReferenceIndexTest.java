@@ -0,0 +1,72 @@
+package com.scoring.core.scoring.service;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class ComponentReferenceIndexTest {
+
+    @Test
+    public void testComponentReferenceIndexEmptySpec() {
+        ComponentReferenceIndex index = ComponentReferenceIndex.of(new OpenAPI());
+
+        assert index.getReferences().isEmpty() : "Empty spec should have no references";
+        assert !index.exists("#/components/schemas/User") : "Unknown pointers should not resolve";
+    }
+
+    @Test
+    public void testComponentReferenceIndexResolvesAllKinds() {
+        Schema<?> user = new Schema<>().type("object");
+        user.addProperty("manager", new Schema<>().$ref("#/components/schemas/Missing"));
+
+        Parameter page = new Parameter();
+        page.setName("page");
+
+        Parameter pageRef = new Parameter();
+        pageRef.set$ref("#/components/parameters/Page");
+
+        ApiResponse goneRef = new ApiResponse();
+        goneRef.set$ref("#/components/responses/Gone");
+
+        Operation operation = new Operation();
+        operation.setParameters(List.of(pageRef));
+        operation.setResponses(new ApiResponses().addApiResponse("410", goneRef));
+
+        PathItem pathItem = new PathItem();
+        pathItem.setGet(operation);
+
+        OpenAPI spec = new OpenAPI();
+        spec.setPaths(new Paths().addPathItem("/users", pathItem));
+        spec.setComponents(new Components()
+                .addSchemas("User", user)
+                .addSchemas("Alias", new Schema<>().$ref("#/components/schemas/Other"))
+                .addSchemas("Other", new Schema<>().$ref("#/components/schemas/Alias")));
+        spec.getComponents().setParameters(Map.of("Page", page));
+
+        ComponentReferenceIndex index = ComponentReferenceIndex.of(spec);
+
+        assert index.resolve("#/components/parameters/Page", Parameter.class) == page :
+                "Parameter references should resolve to the component";
+        assert index.resolve("#/components/parameters/Page", Schema.class) == null :
+                "References should only resolve to the requested kind";
+        assert index.getDanglingReferences().stream().anyMatch(reference ->
+                reference.ref().equals("#/components/responses/Gone") &&
+                reference.location().equals("#/paths//users/get/responses/410")) :
+                "Dangling response references should be reported with their location";
+        assert index.getDanglingReferences().stream().anyMatch(reference ->
+                reference.location().equals("#/components/schemas/User/properties/manager")) :
+                "Dangling schema references in properties should be reported";
+        assert index.getCycles().size() == 1 && index.getCycles().get(0).size() == 3 :
+                "Alias cycles should be reported once";
+    }
+}
@@ -0,0 +1,84 @@
+package com.scoring.core.scoring.service;
+
+import com.scoring.core.scoring.model.exception.SpecTooLargeException;
+import com.scoring.core.scoring.model.exception.UnsupportedContentEncodingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class ContentDecodingTest {
+    private static final byte[] SPEC = """
+            {"openapi": "3.0.1", "info": {"title": "Users", "version": "1.0"}, "paths": {}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testDecodeGzip() throws IOException {
+        byte[] compressed = compress(SPEC, GZIPOutputStream::new);
+
+        byte[] decoded = ContentDecoding.decode(new ByteArrayInputStream(compressed), "gzip", 100).readAllBytes();
+
+        assert Arrays.equals(decoded, SPEC) : "Gzip bodies should be inflated";
+    }
+
+    @Test
+    public void testDecodeZlibAndRawDeflate() throws IOException {
+        byte[] zlib = compress(SPEC, DeflaterOutputStream::new);
+        byte[] raw = compress(SPEC, out -> new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION, true)));
+
+        assert Arrays.equals(ContentDecoding.decode(new ByteArrayInputStream(zlib), "deflate", 100).readAllBytes(), SPEC) :
+                "Zlib wrapped deflate bodies should be inflated";
+        assert Arrays.equals(ContentDecoding.decode(new ByteArrayInputStream(raw), "deflate", 100).readAllBytes(), SPEC) :
+                "Raw deflate bodies should be inflated";
+    }
+
+    @Test
+    public void testDecodeIdentityPassesThrough() {
+        InputStream body = new ByteArrayInputStream(SPEC);
+
+        assert ContentDecoding.decode(body, null, 100) == body : "Bodies without encoding should not be wrapped";
+        assert ContentDecoding.decode(body, "identity", 100) == body : "Identity bodies should not be wrapped";
+    }
+
+    @Test
+    public void testDecodeRejectsDecompressionBomb() throws IOException {
+        byte[] bomb = compress(new byte[16 * 1024 * 1024], GZIPOutputStream::new);
+
+        try {
+            ContentDecoding.decode(new ByteArrayInputStream(bomb), "gzip", 100).readAllBytes();
+            assert false : "Expected an exception for a decompression bomb";
+        } catch (SpecTooLargeException e) {
+            assert e.getMessage().contains("100") : "Exception message should name the ratio";
+        }
+    }
+
+    @Test
+    public void testDecodeRejectsUnknownEncoding() {
+        try {
+            ContentDecoding.decode(new ByteArrayInputStream(SPEC), "br", 100);
+            assert false : "Expected an exception for an unsupported encoding";
+        } catch (UnsupportedContentEncodingException e) {
+            assert e.getMessage().contains("br") : "Exception message should name the encoding";
+        }
+    }
+
+    private interface Compressor {
+        OutputStream wrap(OutputStream out) throws IOException;
+    }
+
+    private static byte[] compress(byte[] content, Compressor compressor) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = compressor.wrap(buffer)) {
+            out.write(content);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,298 @@
+package com.scoring.core.scoring.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.exception.OpenAPILoadException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+public class ExternalRefResolverTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final URI BASE = URI.create("file:/specs/api.json");
+
+    private static ExecutorService fetchPool;
+
+    @BeforeAll
+    public static void setUp() {
+        fetchPool = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        fetchPool.shutdownNow();
+    }
+
+    @Test
+    public void testSharedDocumentIsLoadedOnce() throws IOException {
+        InMemoryLoader loader = new InMemoryLoader(Map.of(
+                "file:/specs/users.json", """
+                        {"User": {"type": "object", "properties": {"address": {"$ref": "common.json#/Address"}}}}
+                        """,
+                "file:/specs/orders.json", """
+                        {"Order": {"type": "object", "properties": {"shipTo": {"$ref": "./common.json#/Address"}}}}
+                        """,
+                "file:/specs/common.json", """
+                        {"Address": {"type": "object", "properties": {"city": {"type": "string"}}}}
+                        """));
+        JsonNode root = MAPPER.readTree("""
+                {"components": {"schemas": {
+                  "User": {"$ref": "users.json#/User"},
+                  "Order": {"$ref": "orders.json#/Order"},
+                  "Address": {"$ref": "common.json#/Address"}
+                }}}
+                """);
+
+        JsonNode resolved = resolver(loader, 0).resolve(root, BASE);
+
+        JsonNode schemas = resolved.at("/components/schemas");
+        assert "string".equals(schemas.at("/Address/properties/city/type").asText()) :
+                "A root component should take the content of its target";
+        assert "#/components/schemas/Address".equals(schemas.at("/User/properties/address/$ref").asText()) :
+                "Nested references to a root component's target should point at that component";
+        assert "#/components/schemas/Address".equals(schemas.at("/Order/properties/shipTo/$ref").asText()) :
+                "Equivalent relative references should resolve to the same component";
+        assert loader.loads("file:/specs/common.json") == 1 : "A shared document should be read once per request";
+        assert !ExternalRefResolver.hasExternalRefs(resolved) : "No external references should remain";
+    }
+
+    @Test
+    public void testLocalReferencesAreResolvedPerDocument() throws IOException {
+        InMemoryLoader loader = new InMemoryLoader(Map.of(
+                "file:/specs/pets.json", """
+                        {"Pet": {"type": "object", "properties": {"tag": {"$ref": "#/Tag"}}}, "Tag": {"type": "string"}}
+                        """));
+        JsonNode root = MAPPER.readTree("""
+                {"components": {"schemas": {
+                  "Pet": {"$ref": "pets.json#/Pet"},
+                  "Pets": {"type": "array", "items": {"$ref": "#/components/schemas/Pet"}}
+                }}}
+                """);
+
+        JsonNode resolved = resolver(loader, 0).resolve(root, BASE);
+
+        assert "#/components/schemas/Tag".equals(resolved.at("/components/schemas/Pet/properties/tag/$ref").asText()) :
+                "Local references of a referenced document should be registered as components";
+        assert "string".equals(resolved.at("/components/schemas/Tag/type").asText()) :
+                "Local references of a referenced document should resolve within that document";
+        assert "#/components/schemas/Pet".equals(resolved.at("/components/schemas/Pets/items/$ref").asText()) :
+                "Local references of the spec itself should be kept";
+    }
+
+    @Test
+    public void testReferenceCycleBecomesLocal() throws IOException {
+        InMemoryLoader loader = new InMemoryLoader(Map.of(
+                "file:/specs/tree.json", """
+                        {"Node": {"type": "object", "properties": {"children": {"type": "array", "items": {"$ref": "#/Node"}}}}}
+                        """));
+        JsonNode root = MAPPER.readTree("""
+                {"components": {"schemas": {"Node": {"$ref": "tree.json#/Node"}}}}
+                """);
+
+        JsonNode resolved = resolver(loader, 0).resolve(root, BASE);
+
+        assert "#/components/schemas/Node".equals(resolved.at("/components/schemas/Node/properties/children/items/$ref").asText()) :
+                "A reference back into its own chain should point at the component";
+    }
+
+    @Test
+    public void testReferencedComponentsAreRegisteredOnce() throws IOException {
+        InMemoryLoader loader = new InMemoryLoader(Map.of(
+                "file:/specs/common.json", """
+                        {"Error": {"type": "object"}, "Limit": {"name": "limit", "in": "query"}}
+                        """));
+        JsonNode root = MAPPER.readTree("""
+                {"paths": {"/users": {"get": {
+                  "parameters": [{"$ref": "common.json#/Limit"}],
+                  "responses": {"400": {"description": "Bad", "content": {"application/json": {"schema": {"$ref": "common.json#/Error"}}}},
+                                "500": {"description": "Failed", "content": {"application/json": {"schema": {"$ref": "common.json#/Error"}}}}}
+                }}},
+                 "components": {"schemas": {"Error": {"type": "string"}}}}
+                """);
+
+        JsonNode resolved = resolver(loader, 0).resolve(root, BASE);
+
+        JsonNode get = resolved.at("/paths/~1users/get");
+        assert "#/components/parameters/Limit".equals(get.at("/parameters/0/$ref").asText()) :
+                "A referenced parameter should be registered as a parameter";
+        assert "#/components/schemas/Error_1".equals(get.at("/responses/400/content/application~1json/schema/$ref").asText()) :
+                "A referenced schema should not replace a component of the same name";
+        assert "#/components/schemas/Error_1".equals(get.at("/responses/500/content/application~1json/schema/$ref").asText()) :
+                "References to the same target should share one component";
+        assert "string".equals(resolved.at("/components/schemas/Error/type").asText()) :
+                "Existing components should be kept";
+        assert "object".equals(resolved.at("/components/schemas/Error_1/type").asText()) :
+                "The registered component should carry the target";
+        assert "query".equals(resolved.at("/components/parameters/Limit/in").asText()) :
+                "Missing component sections should be added";
+    }
+
+    @Test
+    public void testReferencedPathItemIsInlined() throws IOException {
+        InMemoryLoader loader = new InMemoryLoader(Map.of(
+                "file:/specs/paths/users.json", """
+                        {"get": {"responses": {"200": {"$ref": "../responses.json#/Ok"}}}}
+                        """,
+                "file:/specs/responses.json", """
+                        {"Ok": {"description": "OK"}}
+                        """));
+        JsonNode root = MAPPER.readTree("""
+                {"paths": {"/users": {"$ref": "paths/users.json"}}}
+                """);
+
+        JsonNode resolved = resolver(loader, 0).resolve(root, BASE);
+
+        assert "#/components/responses/Ok".equals(resolved.at("/paths/~1users/get/responses/200/$ref").asText()) :
+                "A path item should be inlined and its response registered";
+        assert "OK".equals(resolved.at("/components/responses/Ok/description").asText()) :
+                "The response should be resolved relative to the path item's document";
+    }
+
+    @Test
+    public void testSharedCacheReusesUnchangedDocuments() throws IOException {
+        InMemoryLoader loader = new InMemoryLoader(Map.of(
+                "file:/specs/common.json", """
+                        {"Address": {"type": "object"}}
+                        """));
+        ExternalRefResolver resolver = resolver(loader, 16);
+        String spec = """
+                {"components": {"schemas": {"Address": {"$ref": "common.json#/Address"}}}}
+                """;
+
+        JsonNode first = resolver.resolve(MAPPER.readTree(spec), BASE);
+        JsonNode second = resolver.resolve(MAPPER.readTree(spec), BASE);
+
+        assert first.equals(second) : "Both requests should resolve the same content";
+        assert loader.loads("file:/specs/common.json") == 1 : "An unchanged document should be shared across requests";
+    }
+
+    @Test
+    public void testMissingDocumentIsReported() throws IOException {
+        JsonNode root = MAPPER.readTree("""
+                {"components": {"schemas": {"Address": {"$ref": "missing.json#/Address"}}}}
+                """);
+
+        try {
+            resolver(new InMemoryLoader(Map.of()), 0).resolve(root, BASE);
+            assert false : "Expected OpenAPILoadException";
+        } catch (OpenAPILoadException e) {
+            assert e.getMessage().contains("missing.json") : "Exception message should name the document";
+        }
+    }
+
+    @Test
+    public void testSubmittedContentIsNotResolved() throws IOException {
+        InMemoryLoader loader = new InMemoryLoader(Map.of("file:/etc/passwd", "{}"));
+        JsonNode root = MAPPER.readTree("""
+                {"components": {"schemas": {"Secret": {"$ref": "file:///etc/passwd"}}}}
+                """);
+
+        JsonNode resolved = resolver(loader, 0).resolve(root, null);
+
+        assert "file:///etc/passwd".equals(resolved.at("/components/schemas/Secret/$ref").asText()) :
+                "References of content without a location should be left as they are";
+        assert loader.loads("file:/etc/passwd") == 0 : "Nothing should be read for content without a location";
+    }
+
+    @Test
+    public void testReferencesOutsideTheSpecAreRejected() throws IOException {
+        InMemoryLoader loader = new InMemoryLoader(Map.of(
+                "file:/etc/passwd", "{}",
+                "http://169.254.169.254/latest", "{}"));
+
+        for (String ref : new String[]{"../../etc/passwd", "file:///etc/passwd", "http://169.254.169.254/latest"}) {
+            JsonNode root = MAPPER.readTree("{\"components\": {\"schemas\": {\"A\": {\"$ref\": \"" + ref + "\"}}}}");
+            try {
+                resolver(loader, 0).resolve(root, BASE);
+                assert false : "Expected OpenAPILoadException for " + ref;
+            } catch (OpenAPILoadException e) {
+                assert e.getMessage().contains("not allowed") : "Exception message should say the reference is not allowed";
+            }
+        }
+        assert loader.loads("file:/etc/passwd") == 0 && loader.loads("http://169.254.169.254/latest") == 0 :
+                "Rejected documents should never be read";
+    }
+
+    @Test
+    public void testAllowedHostIsResolved() throws IOException {
+        InMemoryLoader loader = new InMemoryLoader(Map.of(
+                "https://schemas.example.com/common.json", """
+                        {"Address": {"type": "object"}}
+                        """));
+        ScoringConfig.RefSettings settings = new ScoringConfig.RefSettings();
+        settings.setAllowedHosts(List.of("schemas.example.com"));
+        JsonNode root = MAPPER.readTree("""
+                {"components": {"schemas": {"Address": {"$ref": "https://schemas.example.com/common.json#/Address"}}}}
+                """);
+
+        JsonNode resolved = new ExternalRefResolver(loader, fetchPool, settings).resolve(root, BASE);
+
+        assert "object".equals(resolved.at("/components/schemas/Address/type").asText()) :
+                "References to an allowed host should be inlined";
+    }
+
+    @Test
+    public void testDocumentCountIsLimited() throws IOException {
+        InMemoryLoader loader = new InMemoryLoader(Map.of(
+                "file:/specs/a.json", "{\"A\": {\"$ref\": \"b.json#/B\"}}",
+                "file:/specs/b.json", "{\"B\": {\"$ref\": \"c.json#/C\"}}",
+                "file:/specs/c.json", "{\"C\": {\"type\": \"string\"}}"));
+        ScoringConfig.RefSettings settings = new ScoringConfig.RefSettings();
+        settings.setMaxDocuments(2);
+        JsonNode root = MAPPER.readTree("""
+                {"components": {"schemas": {"A": {"$ref": "a.json#/A"}}}}
+                """);
+
+        try {
+            new ExternalRefResolver(loader, fetchPool, settings).resolve(root, BASE);
+            assert false : "Expected OpenAPILoadException";
+        } catch (OpenAPILoadException e) {
+            assert e.getMessage().contains("2") : "Exception message should name the limit";
+        }
+        assert loader.loads("file:/specs/c.json") == 0 : "No document past the limit should be read";
+    }
+
+    private static ExternalRefResolver resolver(ExternalRefResolver.DocumentLoader loader, int sharedCacheMaxEntries) {
+        ScoringConfig.RefSettings settings = new ScoringConfig.RefSettings();
+        settings.setSharedCacheMaxEntries(sharedCacheMaxEntries);
+        return new ExternalRefResolver(loader, fetchPool, settings);
+    }
+
+    private static final class InMemoryLoader implements ExternalRefResolver.DocumentLoader {
+        private final Map<String, String> documents;
+        private final Map<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+
+        InMemoryLoader(Map<String, String> documents) {
+            this.documents = documents;
+        }
+
+        @Override
+        public JsonNode load(URI uri, Predicate<URI> allowed) throws IOException {
+            loads.computeIfAbsent(uri.toString(), key -> new AtomicInteger()).incrementAndGet();
+            String document = documents.get(uri.toString());
+            if (document == null) throw new IOException("not found");
+            return MAPPER.readTree(document);
+        }
+
+        @Override
+        public String version(URI uri) {
+            return "1";
+        }
+
+        int loads(String uri) {
+            AtomicInteger count = loads.get(uri);
+            return count != null ? count.get() : 0;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.scoring.core.scoring.service;
+
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.IssueRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class IssueAggregatorTest {
+
+    @Test
+    public void testIssueAggregatorKeepsIssuesUnderLimits() {
+        List<CategoryScore.Issue> issues = List.of(
+                CategoryScore.Issue.of(IssueRule.EXAMPLE_REQUEST_MISSING, "/users", "get", "application/json"));
+
+        List<CategoryScore.Issue> capped = cap(aggregator(10, 10, 3), issues);
+
+        assert capped.equals(issues) : "Issues within the limits should be kept unchanged";
+    }
+
+    @Test
+    public void testIssueAggregatorWithoutLimitsUsesPlainList() {
+        assert aggregator(0, 0, 3).newIssueList() instanceof ArrayList : "Unlimited reports should not cap issues";
+    }
+
+    @Test
+    public void testIssueAggregatorFoldsIssuesOverRuleLimit() {
+        List<CategoryScore.Issue> issues = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            issues.add(CategoryScore.Issue.of(IssueRule.EXAMPLE_REQUEST_MISSING, "/items/" + i, "post", "application/json"));
+        }
+        issues.add(CategoryScore.Issue.of(IssueRule.EXAMPLE_RESPONSE_MISSING, "/items", "get", "200", "application/json"));
+
+        List<CategoryScore.Issue> capped = cap(aggregator(0, 5, 3), issues);
+
+        assert capped.size() == 7 : "Five request issues, the response issue and one aggregate should remain";
+
+        CategoryScore.Issue aggregate = capped.get(6);
+        assert aggregate.isAggregated() : "The last issue should be the aggregate";
+        assert aggregate.ruleId() == IssueRule.EXAMPLE_REQUEST_MISSING : "The aggregate should keep the rule";
+        assert aggregate.occurrences() == 15 : "The aggregate should count the dropped issues";
+        assert aggregate.sampleLocations().size() == 3 : "The aggregate should keep the configured number of samples";
+        assert aggregate.sampleLocations().get(0).equals(issues.get(5).location()) :
+                "Samples should start at the first dropped issue";
+        assert aggregate.suggestion().equals(IssueRule.EXAMPLE_REQUEST_MISSING.getGenericSuggestion()) :
+                "The aggregate should carry the rule's generic suggestion";
+    }
+
+    @Test
+    public void testIssueAggregatorUsesGenericSuggestion() {
+        List<CategoryScore.Issue> issues = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            issues.add(CategoryScore.Issue.of(IssueRule.DESCRIPTION_PARAMETER_MISSING, "/users", "get", "param" + i));
+        }
+
+        CategoryScore.Issue aggregate = cap(aggregator(0, 1, 2), issues).get(1);
+
+        assert aggregate.isAggregated() : "The second entry should be the aggregate";
+        assert !aggregate.suggestion().contains("param1") :
+                "The aggregate should not name the first folded parameter: " + aggregate.suggestion();
+    }
+
+    @Test
+    public void testIssueAggregatorCapsWhileRecording() {
+        List<CategoryScore.Issue> capped = aggregator(10, 5, 3).newIssueList();
+        for (int i = 0; i < 20_000; i++) {
+            capped.add(CategoryScore.Issue.of(IssueRule.DESCRIPTION_OPERATION_MISSING, "/a/" + i, "get"));
+            assert capped.size() <= 6 : "The list should never hold more than the kept issues and one aggregate";
+        }
+
+        assert capped.get(5).occurrences() == 19_995 : "The aggregate should count every dropped issue";
+    }
+
+    @Test
+    public void testIssueAggregatorMergesCappedLists() {
+        IssueAggregator aggregator = aggregator(0, 2, 3);
+        List<CategoryScore.Issue> issues = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            issues.add(CategoryScore.Issue.of(IssueRule.DESCRIPTION_OPERATION_MISSING, "/a/" + i, "get"));
+        }
+        List<CategoryScore.Issue> side = cap(aggregator, issues.subList(0, 3));
+        List<CategoryScore.Issue> report = aggregator.newIssueList();
+        report.add(issues.get(3));
+        report.addAll(side);
+
+        assert report.size() == 3 : "Two issues and one aggregate should remain";
+        assert report.get(2).occurrences() == 2 : "Folded issues of the side list should be counted once";
+        assert report.get(2).sampleLocations().equals(List.of(issues.get(1).location(), issues.get(2).location())) :
+                "Samples should keep the order the issues were dropped in";
+    }
+
+    @Test
+    public void testIssueAggregatorFoldsIssuesOverCategoryLimit() {
+        List<CategoryScore.Issue> issues = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            issues.add(CategoryScore.Issue.of(IssueRule.DESCRIPTION_OPERATION_MISSING, "/a/" + i, "get"));
+            issues.add(CategoryScore.Issue.of(IssueRule.DESCRIPTION_RESPONSE_MISSING, "/a/" + i, "get", "200"));
+        }
+
+        List<CategoryScore.Issue> capped = cap(aggregator(3, 0, 2), issues);
+
+        assert capped.size() == 5 : "Three issues and one aggregate per rule should remain";
+        assert capped.get(3).occurrences() + capped.get(4).occurrences() == 5 :
+                "The aggregates should count every dropped issue";
+    }
+
+    @Test
+    public void testIssueAggregatorKeepsIssuesWithoutRule() {
+        CategoryScore.Issue servers = CategoryScore.Issue.builder()
+                .location("#/servers")
+                .description("No servers defined")
+                .severity(CategoryScore.Severity.MEDIUM)
+                .suggestion("Define server information")
+                .build();
+        CategoryScore.Issue cycle = CategoryScore.Issue.builder()
+                .location("#/components/schemas/A")
+                .description("Component references form a cycle")
+                .severity(CategoryScore.Severity.HIGH)
+                .suggestion("Break the cycle")
+                .build();
+        List<CategoryScore.Issue> issues = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            issues.add(CategoryScore.Issue.of(IssueRule.DESCRIPTION_OPERATION_MISSING, "/a/" + i, "get"));
+        }
+        issues.add(servers);
+        issues.add(cycle);
+
+        List<CategoryScore.Issue> capped = cap(aggregator(2, 1, 2), issues);
+
+        assert capped.contains(servers) && capped.contains(cycle) :
+                "Issues without a rule should never be folded into an aggregate";
+        assert capped.stream().filter(CategoryScore.Issue::isAggregated).count() == 1 :
+                "Only the capped rule should be aggregated";
+        assert capped.stream().filter(CategoryScore.Issue::isAggregated)
+                .allMatch(issue -> issue.ruleId() == IssueRule.DESCRIPTION_OPERATION_MISSING) :
+                "The aggregate should belong to the capped rule";
+    }
+
+    private static IssueAggregator aggregator(int perCategory, int perRule, int samples) {
+        ScoringConfig.ReportSettings settings = new ScoringConfig.ReportSettings();
+        settings.setMaxIssuesPerCategory(perCategory);
+        settings.setMaxIssuesPerRule(perRule);
+        settings.setAggregateSampleLocations(samples);
+        return new IssueAggregator(settings);
+    }
+
+    private static List<CategoryScore.Issue> cap(IssueAggregator aggregator, List<CategoryScore.Issue> issues) {
+        List<CategoryScore.Issue> capped = aggregator.newIssueList();
+        capped.addAll(issues);
+        return capped;
+    }
+}
@@ -0,0 +1,212 @@
+package com.scoring.core.scoring.service;
+
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.exception.OpenAPILoadException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class RemoteSpecFetcherTest {
+    private static final byte[] SPEC = """
+            {"openapi": "3.0.1", "info": {"title": "Users", "version": "1.0"}, "paths": {}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] SPEC_WITH_REF = """
+            {"openapi": "3.0.1", "info": {"title": "Users", "version": "1.0"}, "paths": {},
+             "components": {"schemas": {"User": {"$ref": "common.json#/User"}}}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] SPEC_WITH_CHANGING_REF = """
+            {"openapi": "3.0.1", "info": {"title": "Users", "version": "1.0"}, "paths": {},
+             "components": {"schemas": {"User": {"$ref": "changing.json#/User"}}}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] SPEC_WITH_REDIRECTED_REF = """
+            {"openapi": "3.0.1", "info": {"title": "Users", "version": "1.0"}, "paths": {},
+             "components": {"schemas": {"User": {"$ref": "redirect.json#/User"}}}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] COMMON = """
+            {"User": {"type": "object"}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private final AtomicInteger fullResponses = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private final AtomicReference<String> changingType = new AtomicReference<>("object");
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/etag.json", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedResponses.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                fullResponses.incrementAndGet();
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                exchange.sendResponseHeaders(200, SPEC.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(SPEC);
+                }
+            }
+            exchange.close();
+        });
+        server.createContext("/plain.json", exchange -> {
+            fullResponses.incrementAndGet();
+            exchange.sendResponseHeaders(200, SPEC.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(SPEC);
+            }
+            exchange.close();
+        });
+        server.createContext("/with-ref.json", exchange -> respond(exchange, SPEC_WITH_REF));
+        server.createContext("/common.json", exchange -> respond(exchange, COMMON));
+        server.createContext("/etag-with-ref.json", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModifiedResponses.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+            } else {
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                respond(exchange, SPEC_WITH_CHANGING_REF);
+            }
+        });
+        server.createContext("/changing.json", exchange -> respond(exchange,
+                ("{\"User\": {\"type\": \"" + changingType.get() + "\"}}").getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/with-redirected-ref.json", exchange -> respond(exchange, SPEC_WITH_REDIRECTED_REF));
+        server.createContext("/redirect.json", exchange -> {
+            // Same server under another host name, so the target is not the origin of the spec
+            exchange.getResponseHeaders().add("Location",
+                    "http://localhost:" + server.getAddress().getPort() + "/common.json");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.createContext("/moved.json", exchange -> {
+            exchange.getResponseHeaders().add("Location", "with-ref.json");
+            exchange.sendResponseHeaders(301, -1);
+            exchange.close();
+        });
+        server.createContext("/missing.json", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testRemoteFetchRevalidatesWithETag() {
+        SpecLoaderService specLoaderService = new SpecLoaderService(new ScoringConfig());
+
+        OpenAPI first = specLoaderService.load(url("/etag.json"));
+        OpenAPI second = specLoaderService.load(url("/etag.json"));
+
+        assert first != null && first.getInfo().getTitle().equals("Users") : "Remote spec should be parsed";
+        assert first != second : "Every fetch should get a model of its own";
+        assert first.equals(second) : "A not modified response should reuse the cached document";
+        assert fullResponses.get() == 1 : "The document should be transferred once";
+        assert notModifiedResponses.get() == 1 : "The second fetch should be revalidated";
+        assert specLoaderService.getRemoteNotModifiedCount() == 1 : "The revalidation should be counted";
+    }
+
+    @Test
+    public void testNotModifiedSpecResolvesChangedRefs() {
+        SpecLoaderService specLoaderService = new SpecLoaderService(new ScoringConfig());
+
+        OpenAPI first = specLoaderService.load(url("/etag-with-ref.json"));
+        changingType.set("string");
+        OpenAPI second = specLoaderService.load(url("/etag-with-ref.json"));
+
+        assert notModifiedResponses.get() == 1 : "The second fetch should be revalidated";
+        assert first.getComponents().getSchemas().get("User").getType().equals("object") :
+                "The first fetch should resolve the referenced document";
+        assert second.getComponents().getSchemas().get("User").getType().equals("string") :
+                "A not modified spec should still pick up changes to its referenced documents";
+    }
+
+    @Test
+    public void testRemoteFetchWithoutValidatorsIsNotCached() {
+        SpecLoaderService specLoaderService = new SpecLoaderService(new ScoringConfig());
+
+        specLoaderService.load(url("/plain.json"));
+        specLoaderService.load(url("/plain.json"));
+
+        assert fullResponses.get() == 2 : "Documents without validators should be fetched every time";
+        assert specLoaderService.getRemoteCacheStats().size() == 0 : "Documents without validators should not be cached";
+    }
+
+    @Test
+    public void testRemoteFetchErrorStatus() {
+        SpecLoaderService specLoaderService = new SpecLoaderService(new ScoringConfig());
+
+        try {
+            specLoaderService.load(url("/missing.json"));
+            assert false : "Expected an exception for a missing document";
+        } catch (OpenAPILoadException e) {
+            assert e.getMessage().contains("404") : "Exception message should contain the status";
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    public void testRemoteFetchResolvesRefsWithSingleConnection() {
+        ScoringConfig scoringConfig = new ScoringConfig();
+        scoringConfig.getRemote().setMaxConnections(1);
+        SpecLoaderService specLoaderService = new SpecLoaderService(scoringConfig);
+
+        OpenAPI openAPI = specLoaderService.load(url("/with-ref.json"));
+
+        assert openAPI.getComponents().getSchemas().get("User").get$ref() == null :
+                "The referenced document should be fetched while the spec itself is parsed";
+    }
+
+    @Test
+    public void testRemoteSpecFollowsRedirect() {
+        SpecLoaderService specLoaderService = new SpecLoaderService(new ScoringConfig());
+
+        OpenAPI openAPI = specLoaderService.load(url("/moved.json"));
+
+        assert openAPI.getComponents().getSchemas().get("User").get$ref() == null :
+                "Refs of a redirected spec should be resolved against its final location";
+    }
+
+    @Test
+    public void testRefRedirectToOtherHostIsRefused() {
+        SpecLoaderService specLoaderService = new SpecLoaderService(new ScoringConfig());
+
+        try {
+            specLoaderService.load(url("/with-redirected-ref.json"));
+            assert false : "Expected an exception for a ref redirected to another host";
+        } catch (OpenAPILoadException e) {
+            assert e.getMessage().contains("not allowed") : "Exception message should name the refused redirect: " + e.getMessage();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, byte[] content) throws IOException {
+        exchange.sendResponseHeaders(200, content.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(content);
+        }
+        exchange.close();
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+}
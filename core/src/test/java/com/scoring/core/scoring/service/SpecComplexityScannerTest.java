@@ -0,0 +1,80 @@
+package com.scoring.core.scoring.service;
+
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.exception.SpecTooComplexException;
+import org.junit.jupiter.api.Test;
+
+public class SpecComplexityScannerTest {
+    private static final String JSON_SPEC = """
+            {"openapi": "3.0.1", "info": {"title": "a: {b}", "version": "1"},
+             "paths": {"/a": {"get": {"responses": {"200": {"description": "x\\"y:"}}}}, "/b/{id}": {}},
+             "components": {"schemas": {"paths": {"type": "object"}}}}
+            """;
+
+    private static final String YAML_SPEC = """
+            openapi: 3.0.1
+            info:
+              title: "Demo: api"
+              description: |
+                Text with colons: inside
+                paths: not a key
+              version: '1.0'
+            paths:
+              /users/{id}:
+                get:
+                  parameters:
+                    - name: id
+                      in: path
+                      schema: {type: string, format: uuid}
+                  responses:
+                    '200':
+                      description: ok # comment: here
+              "/orders":
+                post:
+                  summary: Don't create
+            """;
+
+    @Test
+    public void testScanJson() {
+        SpecComplexity complexity = SpecComplexityScanner.scan(JSON_SPEC, new ScoringConfig.GuardSettings());
+
+        assert complexity.keys() == 15 : "Every object member should be counted, got " + complexity.keys();
+        assert complexity.paths() == 2 : "Only members of the top-level paths object are paths";
+        assert complexity.maxDepth() == 6 : "Depth should follow the brackets, got " + complexity.maxDepth();
+    }
+
+    @Test
+    public void testScanYaml() {
+        SpecComplexity complexity = SpecComplexityScanner.scan(YAML_SPEC, new ScoringConfig.GuardSettings());
+
+        assert complexity.keys() == 20 : "Keys in block scalars and comments should not count, got " + complexity.keys();
+        assert complexity.paths() == 2 : "Only keys directly below paths are paths";
+        assert complexity.bytes() == YAML_SPEC.length() : "Every byte should be counted";
+    }
+
+    @Test
+    public void testRejectsDeepNesting() {
+        ScoringConfig.GuardSettings limits = new ScoringConfig.GuardSettings();
+        limits.setMaxDepth(32);
+        String nested = "{\"a\":".repeat(64) + "1" + "}".repeat(64);
+
+        try {
+            SpecComplexityScanner.scan(nested, limits);
+            assert false : "Expected SpecTooComplexException";
+        } catch (SpecTooComplexException e) {
+            assert e.getMessage().contains("32") : "Exception message should name the limit";
+        }
+    }
+
+    @Test
+    public void testSummaryOnlyOverPathLimit() {
+        ScoringConfig.GuardSettings limits = new ScoringConfig.GuardSettings();
+        limits.setSummaryOnlyPaths(1);
+
+        SpecComplexity complexity = SpecComplexityScanner.scan(JSON_SPEC, limits);
+
+        assert SpecComplexityScanner.isSummaryOnly(complexity, limits) : "Two paths should cross a limit of one";
+        assert !SpecComplexityScanner.isSummaryOnly(complexity, new ScoringConfig.GuardSettings()) :
+                "A small spec should be scored in full with the default limits";
+    }
+}
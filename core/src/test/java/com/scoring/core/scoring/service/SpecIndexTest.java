@@ -0,0 +1,82 @@
+package com.scoring.core.scoring.service;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class SpecIndexTest {
+
+    @Test
+    public void testSpecIndexEmptySpec() {
+        SpecIndex index = SpecIndex.of(new OpenAPI());
+
+        assert index.operationCount() == 0 : "Empty spec should have no operations";
+        assert index.globalSecurityRequirements().size() == 0 : "Empty spec should have no global security";
+        assert index.pathIndex("/users") == -1 : "Unknown paths should not be found";
+    }
+
+    @Test
+    public void testSpecIndexFlattensOperations() {
+        Operation listUsers = new Operation();
+        listUsers.setOperationId("listUsers");
+        listUsers.setParameters(List.of(parameter("page"), parameter("size")));
+        listUsers.setResponses(new ApiResponses()
+                .addApiResponse("200", new ApiResponse())
+                .addApiResponse("400", new ApiResponse()));
+
+        Operation createUser = new Operation();
+        createUser.setSecurity(List.of(new SecurityRequirement().addList("oauth")));
+
+        PathItem users = new PathItem();
+        users.setGet(listUsers);
+        users.setPost(createUser);
+
+        Operation getUser = new Operation();
+        getUser.setOperationId("listUsers");
+        PathItem user = new PathItem();
+        user.setGet(getUser);
+
+        Paths paths = new Paths();
+        paths.addPathItem("/users", users);
+        paths.addPathItem("/users/{id}", user);
+
+        OpenAPI spec = new OpenAPI();
+        spec.setPaths(paths);
+        spec.setSecurity(List.of(new SecurityRequirement().addList("apiKey")));
+
+        SpecIndex index = SpecIndex.of(spec);
+
+        assert index.operationCount() == 3 : "All operations should be indexed";
+        assert index.path(index.pathIndex("/users")).operations().size() == 2 : "Path should own its operations";
+
+        SpecIndex.OperationEntry first = index.operation(0);
+        assert first.parameters().size() == 2 && first.responses().size() == 2 :
+                "Operation ranges should cover its parameters and responses";
+        assert index.parameter(first.parameters().start()).operationIndex() == 0 :
+                "Parameters should point back to their operation";
+
+        SpecIndex.OperationEntry second = index.operation(1);
+        assert second.operationId().equals("POST") : "Missing operation ids should fall back to the method";
+        assert second.securityRequirements().size() == 1 : "Operation security should be indexed";
+
+        assert index.operationIndices("listUsers").length == 2 : "Duplicated operation ids should map to every operation";
+        assert index.securityRequirementIndices("apiKey").length == 1 : "Global security should be indexed";
+        assert index.securityRequirement(index.globalSecurityRequirements().start()).operationIndex() == -1 :
+                "Global requirements should not belong to an operation";
+    }
+
+    private Parameter parameter(String name) {
+        Parameter parameter = new Parameter();
+        parameter.setName(name);
+        parameter.setIn("query");
+        return parameter;
+    }
+}
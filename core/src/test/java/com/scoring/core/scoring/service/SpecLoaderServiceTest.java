@@ -1,14 +1,28 @@
 package com.scoring.core.scoring.service;
 
+import com.scoring.core.scoring.config.ScoringConfig;
 import com.scoring.core.scoring.model.exception.OpenAPILoadException;
+import com.scoring.core.scoring.model.exception.SpecTooComplexException;
+import com.scoring.core.scoring.model.exception.SpecTooLargeException;
+import com.scoring.core.scoring.service.cache.ContentHash;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.parser.OpenAPIV3Parser;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class SpecLoaderServiceTest {
     private static SpecLoaderService specLoaderService;
@@ -93,6 +107,19 @@ public class SpecLoaderServiceTest {
         }
     }
 
+    @Test
+    public void testLoadSpecUnsupportedLocation() {
+        for (String location : List.of("ftp://example.com/openapi.json", "/does/not/exist/openapi.json")) {
+            try {
+                specLoaderService.load(location);
+                assert false : "Expected an exception for " + location;
+            } catch (OpenAPILoadException e) {
+                assert e.getMessage().contains("neither an http(s) URL nor a readable file") :
+                        "Exception message should name the unsupported location: " + e.getMessage();
+            }
+        }
+    }
+
     @Test
     public void testReadJsonSpec() throws IOException {
         String rawJson = Files.readString(Path.of("src/test/resources/train-travel-api-openapi-source.json"));
@@ -112,4 +139,323 @@ public class SpecLoaderServiceTest {
         assert openAPI.getInfo() != null : "OpenAPI info should not be null";
         assert openAPI.getInfo().getTitle() != null : "OpenAPI title should not be null";
     }
+
+    @Test
+    public void testReadJsonFastPathMatchesParser() throws IOException {
+        String rawJson = Files.readString(Path.of("src/test/resources/train-travel-api-openapi-source.json"));
+
+        // Pruning drops unscored sections the parser keeps, so it is compared without it
+        ScoringConfig scoringConfig = new ScoringConfig();
+        scoringConfig.getInput().setPruneUnscoredSections(false);
+
+        OpenAPI fast = new SpecLoaderService(scoringConfig).readJson(rawJson);
+        OpenAPI parsed = new OpenAPIV3Parser().readContents(rawJson, null, null).getOpenAPI();
+
+        assert fast.equals(parsed) : "JSON read through Jackson should build the same model as the parser";
+    }
+
+    @Test
+    public void testReadJsonSpecUsesParseCache() throws IOException {
+        SpecLoaderService cachingLoader = new SpecLoaderService();
+        String rawJson = Files.readString(Path.of("src/test/resources/train-travel-api-openapi-source.json"));
+
+        OpenAPI first = cachingLoader.readJson(rawJson);
+        OpenAPI second = cachingLoader.readJson(rawJson);
+
+        assert first != null : "OpenAPI should not be null";
+        assert first.equals(second) : "Repeated input should be served from the parse cache";
+        assert cachingLoader.getParseCacheStats().hits() == 1 : "Parse cache should record one hit";
+        assert cachingLoader.getParseCacheStats().misses() == 1 : "Parse cache should record one miss";
+    }
+
+    @Test
+    public void testParseCacheNeverSharesModels() throws IOException {
+        SpecLoaderService cachingLoader = new SpecLoaderService();
+        String rawJson = Files.readString(Path.of("src/test/resources/train-travel-api-openapi-source.json"));
+
+        OpenAPI first = cachingLoader.readJson(rawJson);
+        String title = first.getInfo().getTitle();
+        first.getInfo().setTitle("Changed by another request");
+        first.getPaths().clear();
+        OpenAPI second = cachingLoader.readJson(rawJson);
+
+        assert cachingLoader.getParseCacheStats().hits() == 1 : "The second read should be served from the parse cache";
+        assert first != second : "Every read should get its own model";
+        assert second.getInfo().getTitle().equals(title) : "Changes to one model should not reach the cached spec";
+        assert !second.getPaths().isEmpty() : "Changes to one model should not reach the cached spec";
+    }
+
+    @Test
+    public void testConcurrentReadsMatchSequentialRead() throws Exception {
+        ScoringConfig scoringConfig = new ScoringConfig();
+        scoringConfig.getCache().setParseCacheMaxEntries(0);
+        SpecLoaderService uncachedLoader = new SpecLoaderService(scoringConfig);
+        String rawYaml = Files.readString(Path.of("src/test/resources/train-travel-api-openapi-source.yaml"));
+        OpenAPI expected = uncachedLoader.readJson(rawYaml);
+
+        ExecutorService requests = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<OpenAPI>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(requests.submit(() -> uncachedLoader.readJson(rawYaml)));
+            }
+            for (Future<OpenAPI> result : results) {
+                OpenAPI openAPI = result.get();
+                assert openAPI != expected : "Parse cache is disabled, every read should parse";
+                assert openAPI.equals(expected) : "Concurrent reads should parse the same model";
+            }
+        } finally {
+            requests.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testReadStreamMatchesReadJson() throws IOException {
+        for (String file : new String[]{"train-travel-api-openapi-source.json", "train-travel-api-openapi-source.yaml"}) {
+            byte[] raw = Files.readAllBytes(Path.of("src/test/resources/" + file));
+
+            ParsedSpec parsed = specLoaderService.readStream(new ByteArrayInputStream(raw));
+
+            assert parsed.spec() != null : "OpenAPI should not be null";
+            assert parsed.spec().getInfo().getTitle().contains("Train Travel API") : "OpenAPI title should be read";
+            assert parsed.contentHash().equals(ContentHash.sha256(new String(raw, StandardCharsets.UTF_8))) :
+                    "Streamed content hash should match the String based hash";
+        }
+    }
+
+    @Test
+    public void testReadYamlLeavesRemoteRefsUnresolved() {
+        String rawYaml = """
+                openapi: 3.0.1
+                info:
+                  title: Users
+                  version: "1.0"
+                paths: {}
+                components:
+                  schemas:
+                    Address:
+                      $ref: 'http://127.0.0.1:9/common.yaml#/Address'
+                """;
+
+        OpenAPI openAPI = specLoaderService.readJson(rawYaml);
+
+        assert openAPI.getComponents().getSchemas().get("Address").get$ref().startsWith("http://127.0.0.1:9/") :
+                "Remote references of submitted content should be left as they are";
+    }
+
+    @Test
+    public void testReadBodyHashesWholeBody() {
+        String raw = "{\"openapi\": \"3.0.1\", \"info\": {\"title\": \"Users\", \"version\": \"1.0\"}, \"paths\": {}}\n\n";
+
+        SpecTree first = specLoaderService.readBody(new ByteArrayInputStream(raw.getBytes(StandardCharsets.UTF_8)));
+        SpecTree second = specLoaderService.readBody(new ByteArrayInputStream(raw.getBytes(StandardCharsets.UTF_8)));
+
+        assert first.tree().path("info").path("title").asText().equals("Users") : "The body should be parsed";
+        assert first.contentHash().equals(ContentHash.sha256(raw)) :
+                "The hash should cover the bytes after the document as well";
+        assert first.contentHash().equals(second.contentHash()) : "A repeated body should get the same hash";
+        assert specLoaderService.parse(first).spec() != specLoaderService.parse(second).spec() :
+                "Every read should get its own model";
+    }
+
+    @Test
+    public void testReadStreamRejectsOversizedBody() throws IOException {
+        ScoringConfig scoringConfig = new ScoringConfig();
+        scoringConfig.getInput().setMaxBodyBytes(1024);
+        SpecLoaderService limitedLoader = new SpecLoaderService(scoringConfig);
+        byte[] raw = Files.readAllBytes(Path.of("src/test/resources/train-travel-api-openapi-source.json"));
+
+        try {
+            limitedLoader.readStream(new ByteArrayInputStream(raw));
+            assert false : "Expected an exception for an oversized body";
+        } catch (SpecTooLargeException e) {
+            assert e.getMessage().contains("1024") : "Exception message should name the limit";
+        }
+    }
+
+    @Test
+    public void testReadStreamSkipsUnscoredSections() {
+        String spec = """
+                openapi: 3.0.1
+                info:
+                  title: Users
+                  version: "1.0"
+                  x-logo: {url: "https://example.com/logo.png"}
+                externalDocs:
+                  url: https://example.com/docs
+                paths:
+                  /users:
+                    x-internal: true
+                    get:
+                      responses:
+                        '200':
+                          description: ok
+                          content:
+                            application/json:
+                              schema:
+                                type: object
+                                properties:
+                                  example: {type: string}
+                                  x-id: {type: string}
+                              example: {id: 1, name: Ada, tags: [a, b]}
+                              examples:
+                                ada: {summary: Ada, value: {id: 1}}
+                """;
+
+        OpenAPI openAPI = specLoaderService.readStream(new ByteArrayInputStream(spec.getBytes(StandardCharsets.UTF_8))).spec();
+        MediaType mediaType = openAPI.getPaths().get("/users").getGet().getResponses().get("200")
+                .getContent().get("application/json");
+
+        assert openAPI.getExternalDocs() == null : "externalDocs should be skipped";
+        assert openAPI.getInfo().getExtensions() == null : "Extensions should be skipped";
+        assert openAPI.getPaths().get("/users").getExtensions() == null : "Path item extensions should be skipped";
+        assert mediaType.getSchema().getProperties().keySet().containsAll(List.of("example", "x-id")) :
+                "Properties named like skipped sections should be kept";
+        assert mediaType.getExample() != null : "Example presence should be kept";
+        assert mediaType.getExamples().get("ada").getSummary().equals("Ada") : "Example objects should be kept";
+        assert mediaType.getExample().toString().length() < 4 : "Example payload should be collapsed";
+    }
+
+    @Test
+    public void testReadStreamGuardsComplexity() {
+        ScoringConfig scoringConfig = new ScoringConfig();
+        scoringConfig.getGuard().setMaxDepth(16);
+        scoringConfig.getGuard().setSummaryOnlyKeys(3);
+        SpecLoaderService guardedLoader = new SpecLoaderService(scoringConfig);
+
+        String nested = "{\"openapi\": \"3.0.1\", \"x-nested\": " + "[".repeat(64) + "]".repeat(64) + "}";
+        try {
+            guardedLoader.readStream(new ByteArrayInputStream(nested.getBytes(StandardCharsets.UTF_8)));
+            assert false : "Expected SpecTooComplexException";
+        } catch (SpecTooComplexException e) {
+            assert e.getMessage().contains("16") : "Exception message should name the limit";
+        }
+
+        String spec = "{\"openapi\": \"3.0.1\", \"info\": {\"title\": \"Users\", \"version\": \"1.0\"}, \"paths\": {}}";
+        ParsedSpec parsed = guardedLoader.readStream(new ByteArrayInputStream(spec.getBytes(StandardCharsets.UTF_8)));
+        assert parsed.spec() != null : "OpenAPI should not be null";
+        assert parsed.summaryOnly() : "A spec over the summary-only key limit should be flagged";
+    }
+
+    @Test
+    public void testLoadSpecFlagsSummaryOnlyLocalFile(@TempDir Path directory) throws IOException {
+        ScoringConfig scoringConfig = new ScoringConfig();
+        scoringConfig.getGuard().setSummaryOnlyKeys(3);
+        SpecLoaderService guardedLoader = new SpecLoaderService(scoringConfig);
+        Path file = directory.resolve("api.json");
+        Files.writeString(file, "{\"openapi\": \"3.0.1\", \"info\": {\"title\": \"Users\", \"version\": \"1.0\"}, \"paths\": {}}");
+
+        ParsedSpec parsed = guardedLoader.loadSpec(file.toString());
+
+        assert parsed.spec() != null : "OpenAPI should not be null";
+        assert parsed.summaryOnly() : "A local spec over the summary-only key limit should be flagged";
+    }
+
+    @Test
+    public void testLoadMappedLocalFileMatchesParser() {
+        ScoringConfig scoringConfig = new ScoringConfig();
+        scoringConfig.getInput().setMappedFileThresholdBytes(1);
+        SpecLoaderService mappingLoader = new SpecLoaderService(scoringConfig);
+
+        for (String file : new String[]{"train-travel-api-openapi-source.json", "train-travel-api-openapi-source.yaml"}) {
+            String specLocation = String.format("%s%s%s", Paths.get("").toAbsolutePath(), "/src/test/resources/", file);
+
+            OpenAPI mapped = mappingLoader.load(specLocation);
+            OpenAPI read = specLoaderService.load(specLocation);
+
+            assert mapped != null : "OpenAPI should not be null";
+            assert mapped.getInfo().getTitle().equals(read.getInfo().getTitle()) : "Mapped load should read the same title";
+            assert mapped.getPaths().size() == read.getPaths().size() : "Mapped load should read the same paths";
+        }
+    }
+
+    @Test
+    public void testLoadLocalSpecResolvesExternalRefs(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("common.yaml"), """
+                Address:
+                  type: object
+                  properties:
+                    city:
+                      type: string
+                """);
+        Files.writeString(directory.resolve("api.yaml"), """
+                openapi: 3.0.1
+                info:
+                  title: Split
+                  version: "1.0"
+                paths: {}
+                components:
+                  schemas:
+                    Address:
+                      $ref: "common.yaml#/Address"
+                    Customer:
+                      type: object
+                      properties:
+                        address:
+                          $ref: "./common.yaml#/Address"
+                """);
+
+        OpenAPI openAPI = specLoaderService.load(directory.resolve("api.yaml").toString());
+
+        assert openAPI != null : "OpenAPI should not be null";
+        assert openAPI.getComponents().getSchemas().get("Address").get$ref() == null : "External reference should be inlined";
+        assert openAPI.getComponents().getSchemas().get("Address").getProperties().containsKey("city") :
+                "Inlined schema should carry the referenced properties";
+        assert "#/components/schemas/Address".equals(
+                openAPI.getComponents().getSchemas().get("Customer").getProperties().get("address").get$ref()) :
+                "Other references to the same target should point at the component";
+    }
+
+    @Test
+    public void testSplitSpecLoadsLikeSingleFile(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("common.yaml"), """
+                Address:
+                  type: object
+                  properties:
+                    city:
+                      type: string
+                """);
+        Files.writeString(directory.resolve("split.yaml"), """
+                openapi: 3.0.1
+                info:
+                  title: Split
+                  version: "1.0"
+                paths: {}
+                components:
+                  schemas:
+                    Customer:
+                      type: object
+                      properties:
+                        home:
+                          $ref: "common.yaml#/Address"
+                        work:
+                          $ref: "common.yaml#/Address"
+                """);
+        Files.writeString(directory.resolve("single.yaml"), """
+                openapi: 3.0.1
+                info:
+                  title: Split
+                  version: "1.0"
+                paths: {}
+                components:
+                  schemas:
+                    Customer:
+                      type: object
+                      properties:
+                        home:
+                          $ref: "#/components/schemas/Address"
+                        work:
+                          $ref: "#/components/schemas/Address"
+                    Address:
+                      type: object
+                      properties:
+                        city:
+                          type: string
+                """);
+
+        OpenAPI split = specLoaderService.load(directory.resolve("split.yaml").toString());
+        OpenAPI single = specLoaderService.load(directory.resolve("single.yaml").toString());
+
+        assert split.equals(single) : "Referenced schemas should be shared components, as in the single file spec";
+    }
 }
@@ -0,0 +1,136 @@
+package com.scoring.core.scoring.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scoring.core.scoring.model.exception.OpenAPIReadException;
+import com.scoring.core.scoring.model.exception.SpecTooComplexException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public class SpecSnapshotCodecTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void testRoundTripKeepsStructureAndValues() throws IOException {
+        JsonNode tree = MAPPER.readTree("""
+                {"openapi": "3.0.1", "info": {"title": "Users", "version": "1.0"},
+                 "paths": {"/users": {"get": {"operationId": "listUsers", "tags": ["users"],
+                   "responses": {"200": {"content": {"application/json": {
+                     "schema": {"type": "array", "minItems": -1, "maximum": 1.5, "items": {"type": "string"}}}}}}}}},
+                 "components": {"schemas": {"Empty": {}}}}
+                """);
+
+        JsonNode decoded = SpecSnapshotCodec.decode(new ByteArrayInputStream(SpecSnapshotCodec.encode(tree)), 0, 0);
+
+        assert decoded.equals(tree) : "Everything but description text should round-trip unchanged";
+    }
+
+    @Test
+    public void testDescriptionsKeepOnlyTheirShape() throws IOException {
+        JsonNode tree = MAPPER.readTree("""
+                {"info": {"description": "A long description of the API", "summary": "   "},
+                 "components": {"securitySchemes": {"oauth": {"flows": {"implicit": {
+                   "scopes": {"description": "read descriptions"}}}}},
+                   "schemas": {"Pet": {"discriminator": {"mapping": {"summary": "#/components/schemas/Summary"}}}}}}
+                """);
+
+        byte[] snapshot = SpecSnapshotCodec.encode(tree);
+        JsonNode decoded = SpecSnapshotCodec.decode(new ByteArrayInputStream(snapshot), 0, 0);
+
+        String description = decoded.at("/info/description").asText();
+        assert description.length() == "A long description of the API".length() : "Length should be kept";
+        assert !description.isBlank() : "A non-blank description should stay non-blank";
+        assert decoded.at("/info/summary").asText().equals("   ") : "A blank summary should stay blank";
+        assert !new String(snapshot, StandardCharsets.UTF_8).contains("A long description") :
+                "Description text should not be stored";
+        assert decoded.at("/components/securitySchemes/oauth/flows/implicit/scopes/description").asText()
+                .equals("read descriptions") : "Names in maps should not be treated as descriptions";
+        assert decoded.at("/components/schemas/Pet/discriminator/mapping/summary").asText()
+                .equals("#/components/schemas/Summary") : "Mapping references should be kept";
+    }
+
+    @Test
+    public void testRepeatedStringsAreStoredOnce() throws IOException {
+        StringBuilder json = new StringBuilder("{\"paths\": {");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) json.append(", ");
+            json.append("\"/items/").append(i).append("\": {\"$ref\": \"#/components/pathItems/SharedItemDefinition\"}");
+        }
+        JsonNode tree = MAPPER.readTree(json.append("}}").toString());
+
+        String snapshot = new String(SpecSnapshotCodec.encode(tree), StandardCharsets.ISO_8859_1);
+
+        assert snapshot.indexOf("SharedItemDefinition") == snapshot.lastIndexOf("SharedItemDefinition") :
+                "A repeated string should be stored once";
+    }
+
+    @Test
+    public void testRejectsUnknownInput() throws IOException {
+        try {
+            SpecSnapshotCodec.decode(new ByteArrayInputStream("{\"openapi\": \"3.0.1\"}".getBytes(StandardCharsets.UTF_8)), 0, 0);
+            assert false : "Expected OpenAPIReadException";
+        } catch (OpenAPIReadException e) {
+            assert e.getMessage().contains("snapshot") : "Unknown input should be reported as an invalid snapshot";
+        }
+    }
+
+    @Test
+    public void testForgedStringLengthFailsOnMissingInput() throws IOException {
+        // One string claiming 1 GiB, followed by nothing
+        byte[] snapshot = snapshot(1, 0x80, 0x80, 0x80, 0x80, 0x04);
+
+        try {
+            SpecSnapshotCodec.decode(new ByteArrayInputStream(snapshot), 0, 0);
+            assert false : "Expected OpenAPIReadException";
+        } catch (OpenAPIReadException e) {
+            assert e.getMessage().contains("truncated") : "A forged length should be reported as truncated input";
+        }
+    }
+
+    @Test
+    public void testRejectsTextShapesOverTheLimit() throws IOException {
+        // {"d": <description of 1000 characters>}
+        byte[] snapshot = snapshot(1, 1, 'd', 7, 1, 0, 10, 0xE8, 0x07, 0);
+
+        assert SpecSnapshotCodec.decode(new ByteArrayInputStream(snapshot), 1000, 0).get("d").asText().length() == 1000 :
+                "A shape within the limit should be restored";
+        try {
+            SpecSnapshotCodec.decode(new ByteArrayInputStream(snapshot), 100, 0);
+            assert false : "Expected OpenAPIReadException";
+        } catch (OpenAPIReadException e) {
+            assert e.getMessage().contains("text longer than 100") : "The text limit should be reported";
+        }
+    }
+
+    @Test
+    public void testRejectsNestingOverTheLimit() throws IOException {
+        // No strings, then 10000 nested single-element arrays around a null
+        int depth = 10_000;
+        int[] bytes = new int[2 * depth + 2];
+        for (int i = 0; i < depth; i++) {
+            bytes[1 + 2 * i] = 6;
+            bytes[2 + 2 * i] = 1;
+        }
+
+        try {
+            SpecSnapshotCodec.decode(new ByteArrayInputStream(snapshot(bytes)), 0, 128);
+            assert false : "Expected SpecTooComplexException";
+        } catch (SpecTooComplexException e) {
+            assert e.getMessage().contains("128") : "The depth limit should be reported";
+        }
+    }
+
+    /**
+     * Snapshot header followed by the given bytes
+     */
+    private static byte[] snapshot(int... bytes) {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        snapshot.writeBytes(new byte[]{'O', 'A', 'S', 'S', 1});
+        for (int b : bytes) snapshot.write(b);
+        return snapshot.toByteArray();
+    }
+}
@@ -0,0 +1,99 @@
+package com.scoring.core.scoring.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scoring.core.scoring.config.ScoringConfig;
+import com.scoring.core.scoring.model.CategoryScore;
+import com.scoring.core.scoring.model.IssueRule;
+import com.scoring.core.scoring.model.SpecScore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public class ScoreCacheServiceTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    private ScoringConfig scoringConfig;
+    private SpecScore score;
+
+    @BeforeEach
+    public void setUp() {
+        scoringConfig = new ScoringConfig();
+        scoringConfig.setWeights(new ScoringConfig.CategoryWeights());
+        scoringConfig.getCache().setScoreCacheDirectory(cacheDirectory.toString());
+
+        CategoryScore categoryScore = CategoryScore.builder()
+                .score(10)
+                .maxScore(10)
+                .categoryName("Security")
+                .issues(List.of(CategoryScore.Issue.builder()
+                        .location("#/components/securitySchemes")
+                        .description("No security schemes defined")
+                        .severity(CategoryScore.Severity.HIGH)
+                        .suggestion("Define security schemes in components section")
+                        .build()))
+                .strengths(List.of())
+                .build();
+        score = SpecScore.builder()
+                .totalScore(10)
+                .grade("F")
+                .securityScore(categoryScore)
+                .build();
+    }
+
+    @Test
+    public void testScoreCacheMiss() {
+        ScoreCacheService cache = new ScoreCacheService(scoringConfig, new ObjectMapper());
+
+        assert cache.get("unknown") == null : "Unknown spec should not be cached";
+    }
+
+    @Test
+    public void testScoreCacheSurvivesRestart() {
+        new ScoreCacheService(scoringConfig, new ObjectMapper()).put("spec", score);
+
+        ScoreCacheService restarted = new ScoreCacheService(scoringConfig, new ObjectMapper());
+        assert score.equals(restarted.get("spec")) : "Score should be read back from the disk cache";
+    }
+
+    @Test
+    public void testScoreCacheRendersRuleIssues() {
+        CategoryScore categoryScore = CategoryScore.builder()
+                .score(5)
+                .maxScore(10)
+                .categoryName("Security")
+                .issues(List.of(CategoryScore.Issue.of(
+                        IssueRule.SECURITY_SCHEME_NOT_RECOMMENDED, "basicAuth", List.of("http", "oauth2"))))
+                .strengths(List.of())
+                .build();
+        SpecScore ruleScore = SpecScore.builder()
+                .totalScore(5)
+                .grade("F")
+                .securityScore(categoryScore)
+                .build();
+
+        new ScoreCacheService(scoringConfig, new ObjectMapper()).put("spec", ruleScore);
+
+        SpecScore cached = new ScoreCacheService(scoringConfig, new ObjectMapper()).get("spec");
+        CategoryScore.Issue issue = cached.securityScore().issues().get(0);
+        assert ruleScore.equals(cached) : "Rule based issues should be read back from the disk cache";
+        assert issue.ruleId() == IssueRule.SECURITY_SCHEME_NOT_RECOMMENDED : "Rule id should be kept";
+        assert issue.description().equals(
+                "Security scheme 'basicAuth' is defined but not configured with the recommended type: http, oauth2") :
+                "Issue description should be rendered from the rule";
+    }
+
+    @Test
+    public void testScoreCacheKeyIncludesConfiguration() {
+        ScoreCacheService cache = new ScoreCacheService(scoringConfig, new ObjectMapper());
+        cache.put("spec", score);
+
+        scoringConfig.getWeights().setSecurity(20);
+
+        assert cache.get("spec") == null : "Changing the configuration should not reuse cached scores";
+    }
+}
@@ -29,6 +29,7 @@ public class BestPracticesScoringServiceTest {
         scoringConfig.getValidation().getBestPractice().setRequireServersArray(true);
         scoringConfig.getValidation().getBestPractice().setRequireComponentReuse(true);
         scoringConfig.getValidation().getBestPractice().setRequireOperationIds(true);
+        scoringConfig.getValidation().getBestPractice().setRequireValidReferences(true);
         scoringConfig.getValidation().getBestPractice().setMinimumReusableComponents(2);
 
         scoringConfig.getWeights().setSchemaAndTypes(10);
@@ -58,6 +59,7 @@ public class BestPracticesScoringServiceTest {
         scoringConfig.getValidation().getBestPractice().setRequireServersArray(false);
         scoringConfig.getValidation().getBestPractice().setRequireComponentReuse(false);
         scoringConfig.getValidation().getBestPractice().setRequireOperationIds(false);
+        scoringConfig.getValidation().getBestPractice().setRequireValidReferences(false);
 
         CategoryScore score = bestPracticesScoringService.scoreCategory(openAPI);
 
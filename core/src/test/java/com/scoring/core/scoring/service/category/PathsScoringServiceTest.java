@@ -4,6 +4,8 @@ import com.scoring.core.scoring.config.ScoringConfig;
 import com.scoring.core.scoring.model.CategoryScore;
 import com.scoring.core.scoring.service.SpecLoaderService;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -78,4 +80,83 @@ public class PathsScoringServiceTest {
                 scoringConfig.getWeights().getCategoryMinimumPercentage() * scoringConfig.getWeights().getPathsAndOperations()
                 : "Score should be greater than 0 with default rules";
     }
+
+    @Test
+    public void testPathsScoringOverlappingPaths() {
+        scoringConfig.getValidation().getPath().setEnforceNamingConventions(false);
+        scoringConfig.getValidation().getPath().setEnforceCrudOperationConventions(false);
+
+        io.swagger.v3.oas.models.Paths paths = new io.swagger.v3.oas.models.Paths();
+        paths.addPathItem("/users/{id}", pathItemWithGet());
+        paths.addPathItem("/users/me", pathItemWithGet());
+        paths.addPathItem("/users/{userId}/orders", pathItemWithGet());
+        paths.addPathItem("/users/{id}/orders", pathItemWithGet());
+        OpenAPI spec = new OpenAPI();
+        spec.setPaths(paths);
+
+        CategoryScore score = pathsScoringService.scoreCategory(spec);
+
+        assert score.score() == scoringConfig.getWeights().getPathsAndOperations() -
+                scoringConfig.getValidation().getPath().getPenaltyForRedundantPaths() :
+                "Overlapping paths should be penalized once";
+        assert score.issues().stream().anyMatch(issue ->
+                issue.location().equals("#/paths//users/{id} - #/paths//users/me")) :
+                "Literal and parameter segments at the same position should overlap";
+        assert score.issues().stream().noneMatch(issue ->
+                issue.location().contains("/users/{userId}/orders - ")) :
+                "Paths differing only by parameter names should not be reported as overlapping";
+    }
+
+    @Test
+    public void testPathsScoringSimilarPaths() {
+        scoringConfig.getValidation().getPath().setEnforceNamingConventions(false);
+        scoringConfig.getValidation().getPath().setEnforceCrudOperationConventions(false);
+        scoringConfig.getValidation().getPath().setPathSimilarityThreshold(0.8);
+
+        io.swagger.v3.oas.models.Paths paths = new io.swagger.v3.oas.models.Paths();
+        paths.addPathItem("/user-profiles/{id}", pathItemWithGet());
+        paths.addPathItem("/userProfile/{id}", pathItemWithGet());
+        paths.addPathItem("/users", pathItemWithGet());
+        paths.addPathItem("/users/{id}", pathItemWithGet());
+        OpenAPI spec = new OpenAPI();
+        spec.setPaths(paths);
+
+        CategoryScore score = pathsScoringService.scoreCategory(spec);
+
+        assert score.score() == scoringConfig.getWeights().getPathsAndOperations() -
+                scoringConfig.getValidation().getPath().getPenaltyForRedundantPaths() :
+                "Near-duplicate paths should be penalized once";
+        assert score.issues().stream().anyMatch(issue ->
+                issue.location().equals("#/paths//user-profiles/{id}") &&
+                issue.description().contains("/userProfile/{id}")) :
+                "Paths differing only in separators and plurals should be reported as near-duplicates";
+        assert score.issues().stream().noneMatch(issue ->
+                issue.location().equals("#/paths//users")) :
+                "Collection and item paths should not be reported as near-duplicates";
+    }
+
+    @Test
+    public void testPathsScoringReorderedSegmentsAreNotSimilar() {
+        scoringConfig.getValidation().getPath().setEnforceNamingConventions(false);
+        scoringConfig.getValidation().getPath().setEnforceCrudOperationConventions(false);
+        scoringConfig.getValidation().getPath().setPathSimilarityThreshold(0.8);
+
+        io.swagger.v3.oas.models.Paths paths = new io.swagger.v3.oas.models.Paths();
+        paths.addPathItem("/users/{id}/orders", pathItemWithGet());
+        paths.addPathItem("/orders/{id}/users", pathItemWithGet());
+        OpenAPI spec = new OpenAPI();
+        spec.setPaths(paths);
+
+        CategoryScore score = pathsScoringService.scoreCategory(spec);
+
+        assert score.score() == scoringConfig.getWeights().getPathsAndOperations() :
+                "Paths with the same segments in a different order should not be penalized";
+        assert score.issues().isEmpty() : "Paths with reordered segments should not be reported as near-duplicates";
+    }
+
+    private PathItem pathItemWithGet() {
+        PathItem pathItem = new PathItem();
+        pathItem.setGet(new Operation());
+        return pathItem;
+    }
 }
@@ -3,7 +3,9 @@ package com.scoring.core.scoring.service.category;
 import com.scoring.core.scoring.config.ScoringConfig;
 import com.scoring.core.scoring.model.CategoryScore;
 import com.scoring.core.scoring.service.SpecLoaderService;
+import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +14,7 @@ import org.springframework.test.context.TestPropertySource;
 
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Set;
 
 @SpringBootTest
 @TestPropertySource("classpath:application.properties")
@@ -75,4 +78,36 @@ public class SchemaScoringServiceTest {
                 scoringConfig.getWeights().getCategoryMinimumPercentage() * scoringConfig.getWeights().getSchemaAndTypes() :
                 "Score should be greater than the minimum percentage of the schema and types weight";
     }
+
+    @Test
+    public void testSchemaScoringResolvesTypesAndReferences() {
+        Schema<?> address = new Schema<>();
+        address.setTypes(Set.of("object"));
+        address.addProperty("city", new Schema<>().type("string"));
+
+        Schema<?> user = new Schema<>();
+        user.setTypes(Set.of("object"));
+        user.addProperty("name", new Schema<>().types(Set.of("string")));
+        user.addProperty("address", new Schema<>().$ref("#/components/schemas/Address"));
+        user.addProperty("manager", new Schema<>().$ref("#/components/schemas/Missing"));
+
+        OpenAPI spec = new OpenAPI();
+        spec.setPaths(new io.swagger.v3.oas.models.Paths());
+        spec.setComponents(new Components()
+                .addSchemas("User", user)
+                .addSchemas("Address", address));
+
+        CategoryScore score = schemaScoringService.scoreCategory(spec);
+
+        assert score.issues().stream().noneMatch(issue ->
+                issue.location().endsWith("/properties/name") || issue.location().endsWith("/properties/address")) :
+                "OAS 3.1 types and component references should resolve to valid data types";
+        assert score.issues().stream().noneMatch(issue ->
+                issue.location().equals("#/components/schemas/User") || issue.location().equals("#/components/schemas/Address")) :
+                "Component schemas declaring OAS 3.1 types should not be reported as missing a type";
+        assert score.issues().stream().anyMatch(issue ->
+                issue.location().equals("#/components/schemas/User/properties/manager") &&
+                issue.severity() == CategoryScore.Severity.HIGH) :
+                "Dangling references should be reported as missing a data type";
+    }
 }
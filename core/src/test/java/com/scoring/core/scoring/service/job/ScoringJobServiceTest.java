@@ -0,0 +1,63 @@
+package com.scoring.core.scoring.service.job;
+
+import com.scoring.core.scoring.model.JobStatus;
+import com.scoring.core.scoring.model.ScoringMode;
+import com.scoring.core.scoring.service.SpecLoaderService;
+import com.scoring.core.scoring.service.SpecTree;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest
+@TestPropertySource("classpath:application.properties")
+public class ScoringJobServiceTest {
+    private static final String SPEC = """
+            {"openapi": "3.0.1", "info": {"title": "Users", "version": "1.0"},
+             "paths": {"/users": {"get": {"responses": {"200": {"description": "Users"}}}}}}
+            """;
+
+    @Autowired
+    private ScoringJobService scoringJobService;
+
+    @Autowired
+    private SpecLoaderService specLoaderService;
+
+    @Test
+    public void testScoringJobSucceeds() throws Exception {
+        JobStatus submitted = scoringJobService.submit(body(SPEC), ScoringMode.FULL);
+        assert submitted.id() != null : "Submitted jobs should have an id";
+
+        ScoringJob job = scoringJobService.find(submitted.id());
+        assert job != null : "Submitted jobs should be retained";
+
+        JobStatus finished = job.completion().get(30, TimeUnit.SECONDS);
+        assert finished.state() == JobStatus.State.SUCCEEDED : "Valid specs should be scored";
+        assert finished.score() != null : "Succeeded jobs should carry their score";
+        assert job.status().equals(finished) : "Polling should return the final status";
+    }
+
+    @Test
+    public void testScoringJobFailsForInvalidSpec() throws Exception {
+        // Well-formed JSON that is not a valid spec; malformed bodies are rejected before they are queued
+        JobStatus submitted = scoringJobService.submit(
+                body("{\"openapi\": \"3.0.1\", \"info\": \"Users\", \"paths\": {}}"), ScoringMode.FULL);
+
+        JobStatus finished = scoringJobService.find(submitted.id()).completion().get(30, TimeUnit.SECONDS);
+        assert finished.state() == JobStatus.State.FAILED : "Invalid specs should fail the job";
+        assert finished.error() != null : "Failed jobs should carry an error";
+    }
+
+    @Test
+    public void testUnknownJobIsNotFound() {
+        assert scoringJobService.find("missing") == null : "Unknown jobs should not be found";
+    }
+
+    private SpecTree body(String spec) {
+        return specLoaderService.readBody(new ByteArrayInputStream(spec.getBytes(StandardCharsets.UTF_8)));
+    }
+}